@@ -0,0 +1,74 @@
+package main.java.com.example.demo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of creating actors, and of taking a projectile from its pool instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActorConstructionBenchmark {
+
+	private static final double X_POSITION = 600;
+	private static final double Y_POSITION = 300;
+	private static final long SEED = 42;
+
+	private final GameRandom random = new GameRandom(SEED);
+	private final ProjectilePools pools = new ProjectilePools();
+
+	/**
+	 * Creates an enemy plane.
+	 *
+	 * @return the new plane.
+	 */
+	@Benchmark
+	public EnemyPlane newEnemyPlane() {
+		return new EnemyPlane(X_POSITION, Y_POSITION, random);
+	}
+
+	/**
+	 * Creates a boss.
+	 *
+	 * @return the new boss.
+	 */
+	@Benchmark
+	public Boss newBoss() {
+		return new Boss(random);
+	}
+
+	/**
+	 * Creates a user projectile without the pool.
+	 *
+	 * @return the new projectile.
+	 */
+	@Benchmark
+	public UserProjectile newUserProjectile() {
+		return new UserProjectile(X_POSITION, Y_POSITION);
+	}
+
+	/**
+	 * Takes a user projectile from its pool and returns it straight away, as firing and despawning do.
+	 *
+	 * @return the pooled projectile.
+	 */
+	@Benchmark
+	public UserProjectile pooledUserProjectile() {
+		UserProjectile projectile = UserProjectile.obtain(pools, X_POSITION, Y_POSITION);
+		projectile.recycle();
+		return projectile;
+	}
+}
@@ -0,0 +1,44 @@
+package main.java.com.example.demo;
+
+/**
+ * A world for the benchmarks: it keeps a fixed number of enemy planes on the field and is never won or lost,
+ * so every measured tick does the same amount of work.
+ */
+class BenchmarkWorld extends GameWorld {
+
+	private static final int PLAYER_INITIAL_HEALTH = Integer.MAX_VALUE; // The player survives any run
+	private static final long SEED = 42;
+
+	private final int enemyCount;
+
+	/**
+	 * Constructs a benchmark world the size of the game window.
+	 *
+	 * @param enemyCount the number of enemy planes kept on the field.
+	 */
+	BenchmarkWorld(int enemyCount) {
+		super(SCREEN_HEIGHT, SCREEN_WIDTH, PLAYER_INITIAL_HEALTH, SEED);
+		this.enemyCount = enemyCount;
+	}
+
+	/**
+	 * Tops the field back up to the configured number of enemy planes.
+	 */
+	@Override
+	protected void spawnEnemyUnits() {
+		GameRandom random = getRandom();
+		for (int i = getCurrentNumberOfEnemies(); i < enemyCount; i++) {
+			addEnemyUnit(new EnemyPlane(random.nextDouble() * SCREEN_WIDTH, random.nextDouble() * getEnemyMaximumYPosition(), random));
+		}
+	}
+
+	/**
+	 * The benchmark world has no goal.
+	 *
+	 * @return always {@code false}.
+	 */
+	@Override
+	protected boolean hasReachedGoal() {
+		return false;
+	}
+}
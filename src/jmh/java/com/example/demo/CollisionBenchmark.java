@@ -0,0 +1,66 @@
+package main.java.com.example.demo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GameWorld#handleCollisions(List, List)} between a list of projectiles and a list of enemy planes
+ * of the same size, spread at random over the playing field, with and without the spatial hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+	private static final long SEED = 42;
+
+	@Param({"10", "100", "1000", "10000"})
+	private int size;
+
+	@Param({"true", "false"})
+	private boolean spatialHash;
+
+	private BenchmarkWorld world;
+	private List<ActiveActorDestructible> projectiles;
+	private List<ActiveActorDestructible> enemies;
+
+	/**
+	 * Places the projectiles and planes. They are never moved, so every invocation checks the same pairs.
+	 */
+	@Setup
+	public void setUp() {
+		GameRandom random = new GameRandom(SEED);
+		world = new BenchmarkWorld(0);
+		world.setSpatialHashEnabled(spatialHash);
+		projectiles = new ArrayList<>(size);
+		enemies = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			projectiles.add(new UserProjectile(random.nextDouble() * GameWorld.SCREEN_WIDTH, random.nextDouble() * GameWorld.SCREEN_HEIGHT));
+			enemies.add(new EnemyPlane(random.nextDouble() * GameWorld.SCREEN_WIDTH, random.nextDouble() * GameWorld.SCREEN_HEIGHT, random));
+		}
+	}
+
+	/**
+	 * Checks every projectile against every plane it could touch and applies damage on contact.
+	 */
+	@Benchmark
+	public void handleCollisions() {
+		world.handleCollisions(projectiles, enemies);
+	}
+}
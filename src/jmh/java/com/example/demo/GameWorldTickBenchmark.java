@@ -0,0 +1,59 @@
+package main.java.com.example.demo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one full game tick, the work {@link LevelParent} does once per simulation step,
+ * with the player firing every tick and a fixed number of enemies on the field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameWorldTickBenchmark {
+
+	private static final int WARM_UP_TICKS = 200; // Enough for projectiles to fill the field
+
+	@Param({"5", "50", "500"})
+	private int enemyCount;
+
+	private BenchmarkWorld world;
+
+	/**
+	 * Creates the world and runs it until the number of live projectiles is steady.
+	 */
+	@Setup
+	public void setUp() {
+		world = new BenchmarkWorld(enemyCount);
+		for (int i = 0; i < WARM_UP_TICKS; i++) {
+			world.fireUserProjectile();
+			world.tick();
+		}
+	}
+
+	/**
+	 * Fires a projectile and advances the world by one tick.
+	 *
+	 * @return the number of live actors, so the tick cannot be optimized away.
+	 */
+	@Benchmark
+	public int tick() {
+		world.fireUserProjectile();
+		world.tick();
+		return world.getLiveActorCount();
+	}
+}
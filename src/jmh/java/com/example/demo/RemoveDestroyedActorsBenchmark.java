@@ -0,0 +1,85 @@
+package main.java.com.example.demo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link GameWorld#removeDestroyedActors(ActorRegistry)} on a registry in which a given share of the actors
+ * has been destroyed. The registry is refilled before every invocation, so the sizes are kept large enough
+ * for the per-invocation setup to be small next to the measured work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RemoveDestroyedActorsBenchmark {
+
+	private static final long SEED = 42;
+
+	@Param({"100", "1000", "10000"})
+	private int size;
+
+	@Param({"0.0", "0.1", "0.5", "0.9"})
+	private double destroyRatio;
+
+	private BenchmarkWorld world;
+	private List<ActiveActorDestructible> template;
+	private boolean[] destroyed;
+	private ActorRegistry actors;
+
+	/**
+	 * Creates the planes and picks which of them are destroyed.
+	 */
+	@Setup
+	public void setUp() {
+		GameRandom random = new GameRandom(SEED);
+		world = new BenchmarkWorld(0);
+		template = new ArrayList<>(size);
+		destroyed = new boolean[size];
+		for (int i = 0; i < size; i++) {
+			template.add(new EnemyPlane(random.nextDouble() * GameWorld.SCREEN_WIDTH, random.nextDouble() * GameWorld.SCREEN_HEIGHT, random));
+			destroyed[i] = random.nextDouble() < destroyRatio;
+		}
+		actors = new ActorRegistry();
+	}
+
+	/**
+	 * Refills the registry and restores the destroyed flags of the planes removed by the previous invocation.
+	 */
+	@Setup(Level.Invocation)
+	public void refill() {
+		actors.clear();
+		for (int i = 0; i < size; i++) {
+			ActiveActorDestructible actor = template.get(i);
+			actor.setDestroyed(destroyed[i]);
+			actors.add(actor);
+		}
+	}
+
+	/**
+	 * Removes the destroyed planes from the registry.
+	 *
+	 * @return the number of planes left, so the removal cannot be optimized away.
+	 */
+	@Benchmark
+	public int removeDestroyedActors() {
+		world.removeDestroyedActors(actors);
+		return actors.size();
+	}
+}
@@ -1,17 +1,39 @@
 package main.java.com.example.demo;
 
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
+import java.nio.ByteBuffer;
 
 /**
  * The ActiveActor class serves as an abstract base class for all game actors that
- * have graphical representations and can update their positions dynamically.
- * It extends the JavaFX ImageView to manage the visual representation of the actor.
+ * can update their positions dynamically.
+ * It holds the actor's plain simulation state: which sprite it is drawn with, where it is and how large it is.
+ * Actors do not depend on JavaFX; an {@link ActorRenderer} draws them once per frame when a scene is shown,
+ * so the game rules can also run headless.
  */
-public abstract class ActiveActor extends ImageView {
+public abstract class ActiveActor {
 
 	private static final String IMAGE_LOCATION = "/com/example/demo/images/"; // Path to the images folder
 
+	private final String imageName;
+	private final int imageHeight;
+
+	// Position, split the same way as a node's layout and translate properties
+	private double layoutX;
+	private double layoutY;
+	private double translateX;
+	private double translateY;
+
+	// Position at the start of the current tick, for interpolated rendering
+	private double previousX;
+	private double previousY;
+
+	// Cached axis-aligned bounding box, refreshed once per tick by updateBounds()
+	private final double width;
+	private final double height;
+	private double minX;
+	private double minY;
+	private double maxX;
+	private double maxY;
+
 	/**
 	 * Constructs an ActiveActor instance with a specific image, size, and initial position.
 	 *
@@ -21,11 +43,24 @@ public abstract class ActiveActor extends ImageView {
 	 * @param initialYPos  The initial y-coordinate of the actor.
 	 */
 	public ActiveActor(String imageName, int imageHeight, double initialXPos, double initialYPos) {
-		this.setImage(new Image(getClass().getResource(IMAGE_LOCATION + imageName).toExternalForm()));
-		this.setLayoutX(initialXPos);
-		this.setLayoutY(initialYPos);
-		this.setFitHeight(imageHeight);
-		this.setPreserveRatio(true); // Ensures the image maintains its aspect ratio
+		this.imageName = imageName;
+		this.imageHeight = imageHeight;
+		this.layoutX = initialXPos;
+		this.layoutY = initialYPos;
+		this.height = imageHeight;
+		this.width = imageHeight * SpriteMetrics.aspectRatio(getImagePath(imageName)); // Ensures the image maintains its aspect ratio
+		updateBounds();
+		capturePreviousPosition();
+	}
+
+	/**
+	 * Resolves the classpath location of an actor image.
+	 *
+	 * @param imageName The name of the image file in the images folder.
+	 * @return the absolute resource path of the image.
+	 */
+	public static String getImagePath(String imageName) {
+		return IMAGE_LOCATION + imageName;
 	}
 
 	/**
@@ -34,13 +69,237 @@ public abstract class ActiveActor extends ImageView {
 	 */
 	public abstract void updatePosition();
 
+	/**
+	 * Recomputes the cached bounding box from the actor's layout position, translation and size.
+	 * Called once per tick after the actor has moved, and whenever it is placed somewhere new.
+	 */
+	public void updateBounds() {
+		minX = layoutX + translateX;
+		minY = layoutY + translateY;
+		maxX = minX + width;
+		maxY = minY + height;
+	}
+
+	/**
+	 * Remembers the actor's current position as the position it had before this tick's movement.
+	 * Called at the start of every tick, and when the actor is placed somewhere new so it does not
+	 * appear to slide there from its old position.
+	 */
+	public void capturePreviousPosition() {
+		previousX = layoutX + translateX;
+		previousY = layoutY + translateY;
+	}
+
+	/**
+	 * Writes the actor's position to a {@link WorldSnapshot}. Subclasses append the rest of their state.
+	 *
+	 * @param out the buffer the snapshot is written to.
+	 */
+	void writeState(ByteBuffer out) {
+		out.putDouble(layoutX);
+		out.putDouble(layoutY);
+		out.putDouble(translateX);
+		out.putDouble(translateY);
+	}
+
+	/**
+	 * Restores the state written by {@link #writeState(ByteBuffer)}. The actor is placed there directly
+	 * rather than interpolated from where it was.
+	 *
+	 * @param in the buffer the snapshot is read from.
+	 */
+	void readState(ByteBuffer in) {
+		layoutX = in.getDouble();
+		layoutY = in.getDouble();
+		translateX = in.getDouble();
+		translateY = in.getDouble();
+		updateBounds();
+		capturePreviousPosition();
+	}
+
+	/**
+	 * Interpolates the actor's x-coordinate between the previous and the current tick.
+	 *
+	 * @param alpha how far between the two ticks to sample, from 0 (previous) to 1 (current).
+	 * @return the interpolated x-coordinate.
+	 */
+	public double getInterpolatedX(double alpha) {
+		return previousX + (layoutX + translateX - previousX) * alpha;
+	}
+
+	/**
+	 * Interpolates the actor's y-coordinate between the previous and the current tick.
+	 *
+	 * @param alpha how far between the two ticks to sample, from 0 (previous) to 1 (current).
+	 * @return the interpolated y-coordinate.
+	 */
+	public double getInterpolatedY(double alpha) {
+		return previousY + (layoutY + translateY - previousY) * alpha;
+	}
+
+	/**
+	 * Checks whether this actor's cached bounding box intersects another actor's.
+	 * Touching edges count as an intersection, as with JavaFX {@code Bounds.intersects}.
+	 * This allocates nothing.
+	 *
+	 * @param other The actor to test against.
+	 * @return true if the two bounding boxes overlap, false otherwise.
+	 */
+	public boolean intersects(ActiveActor other) {
+		return other.maxX >= minX && other.maxY >= minY && other.minX <= maxX && other.minY <= maxY;
+	}
+
+	/**
+	 * Retrieves the left edge of the cached bounding box.
+	 *
+	 * @return the minimum x-coordinate.
+	 */
+	public double getMinX() {
+		return minX;
+	}
+
+	/**
+	 * Retrieves the top edge of the cached bounding box.
+	 *
+	 * @return the minimum y-coordinate.
+	 */
+	public double getMinY() {
+		return minY;
+	}
+
+	/**
+	 * Retrieves the right edge of the cached bounding box.
+	 *
+	 * @return the maximum x-coordinate.
+	 */
+	public double getMaxX() {
+		return maxX;
+	}
+
+	/**
+	 * Retrieves the bottom edge of the cached bounding box.
+	 *
+	 * @return the maximum y-coordinate.
+	 */
+	public double getMaxY() {
+		return maxY;
+	}
+
+	/**
+	 * Retrieves the name of the image the actor is drawn with.
+	 *
+	 * @return the image file name in the images folder.
+	 */
+	public String getImageName() {
+		return imageName;
+	}
+
+	/**
+	 * Retrieves the height the actor's image is drawn at.
+	 *
+	 * @return the image height in pixels.
+	 */
+	public int getImageHeight() {
+		return imageHeight;
+	}
+
+	/**
+	 * Retrieves the width of the actor, derived from its image height and aspect ratio.
+	 *
+	 * @return the width in pixels.
+	 */
+	public double getWidth() {
+		return width;
+	}
+
+	/**
+	 * Retrieves the height of the actor.
+	 *
+	 * @return the height in pixels.
+	 */
+	public double getHeight() {
+		return height;
+	}
+
+	/**
+	 * Retrieves the x-coordinate the actor was placed at.
+	 *
+	 * @return the layout x-coordinate.
+	 */
+	public double getLayoutX() {
+		return layoutX;
+	}
+
+	/**
+	 * Places the actor at a new x-coordinate.
+	 *
+	 * @param layoutX the layout x-coordinate.
+	 */
+	public void setLayoutX(double layoutX) {
+		this.layoutX = layoutX;
+	}
+
+	/**
+	 * Retrieves the y-coordinate the actor was placed at.
+	 *
+	 * @return the layout y-coordinate.
+	 */
+	public double getLayoutY() {
+		return layoutY;
+	}
+
+	/**
+	 * Places the actor at a new y-coordinate.
+	 *
+	 * @param layoutY the layout y-coordinate.
+	 */
+	public void setLayoutY(double layoutY) {
+		this.layoutY = layoutY;
+	}
+
+	/**
+	 * Retrieves how far the actor has moved horizontally from its layout position.
+	 *
+	 * @return the horizontal translation.
+	 */
+	public double getTranslateX() {
+		return translateX;
+	}
+
+	/**
+	 * Sets how far the actor has moved horizontally from its layout position.
+	 *
+	 * @param translateX the horizontal translation.
+	 */
+	public void setTranslateX(double translateX) {
+		this.translateX = translateX;
+	}
+
+	/**
+	 * Retrieves how far the actor has moved vertically from its layout position.
+	 *
+	 * @return the vertical translation.
+	 */
+	public double getTranslateY() {
+		return translateY;
+	}
+
+	/**
+	 * Sets how far the actor has moved vertically from its layout position.
+	 *
+	 * @param translateY the vertical translation.
+	 */
+	public void setTranslateY(double translateY) {
+		this.translateY = translateY;
+	}
+
 	/**
 	 * Moves the actor horizontally by a specified amount.
 	 *
 	 * @param horizontalMove The distance to move the actor along the x-axis.
 	 */
 	protected void moveHorizontally(double horizontalMove) {
-		this.setTranslateX(getTranslateX() + horizontalMove);
+		this.translateX += horizontalMove;
 	}
 
 	/**
@@ -49,6 +308,6 @@ public abstract class ActiveActor extends ImageView {
 	 * @param verticalMove The distance to move the actor along the y-axis.
 	 */
 	protected void moveVertically(double verticalMove) {
-		this.setTranslateY(getTranslateY() + verticalMove);
+		this.translateY += verticalMove;
 	}
 }
@@ -3,12 +3,17 @@ package main.java.com.example.demo;
 /**
  * The ActiveActorDestructible class is an abstract extension of ActiveActor that
  * implements the Destructible interface. It represents a game actor that can
- * take damage and be destroyed.
+ * take damage and be destroyed. A live actor belongs to one of its world's {@link ActorRegistry} lists,
+ * which it notifies when it is destroyed.
  */
 public abstract class ActiveActorDestructible extends ActiveActor implements Destructible {
 
 	private boolean isDestroyed; // Indicates whether the actor has been destroyed
 
+	// Membership of an ActorRegistry, maintained by the registry
+	private ActorRegistry registry;
+	private int registryIndex;
+
 	/**
 	 * Constructs an ActiveActorDestructible instance with a specific image, size, and initial position.
 	 *
@@ -50,11 +55,14 @@ public abstract class ActiveActorDestructible extends ActiveActor implements Des
 	}
 
 	/**
-	 * Sets the destroyed status of the actor.
+	 * Sets the destroyed status of the actor. Queues the actor for removal from its registry when it is first destroyed.
 	 *
 	 * @param isDestroyed A boolean indicating whether the actor is destroyed.
 	 */
 	protected void setDestroyed(boolean isDestroyed) {
+		if (isDestroyed && !this.isDestroyed && registry != null) {
+			registry.actorDestroyed(this);
+		}
 		this.isDestroyed = isDestroyed;
 	}
 
@@ -66,4 +74,42 @@ public abstract class ActiveActorDestructible extends ActiveActor implements Des
 	public boolean isDestroyed() {
 		return isDestroyed;
 	}
+
+	/**
+	 * Records which registry the actor belongs to and where. Called only by {@link ActorRegistry}.
+	 *
+	 * @param registry the registry, or {@code null} when the actor leaves its registry.
+	 * @param index    the actor's index in the registry.
+	 */
+	void attach(ActorRegistry registry, int index) {
+		this.registry = registry;
+		this.registryIndex = index;
+	}
+
+	/**
+	 * Records that the actor has moved within its registry. Called only by {@link ActorRegistry}.
+	 *
+	 * @param index the actor's new index.
+	 */
+	void setRegistryIndex(int index) {
+		this.registryIndex = index;
+	}
+
+	/**
+	 * Retrieves the registry the actor belongs to.
+	 *
+	 * @return the registry, or {@code null} if the actor is in none.
+	 */
+	ActorRegistry getRegistry() {
+		return registry;
+	}
+
+	/**
+	 * Retrieves the actor's index in its registry.
+	 *
+	 * @return the index; meaningless if the actor is in no registry.
+	 */
+	int getRegistryIndex() {
+		return registryIndex;
+	}
 }
@@ -0,0 +1,190 @@
+package main.java.com.example.demo;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * One of a world's live actor lists, stored as a dense array.
+ * Every actor remembers its index in the registry it belongs to, and tells the registry when it is destroyed,
+ * so the registry always knows which of its actors are due for removal. {@link #removeDestroyed(RemovalHandler)}
+ * then swap-removes exactly those actors by their stored index: cleanup costs O(removed) instead of a scan of
+ * the whole list, and it allocates nothing. Swap-removal does not keep the order of the remaining actors.
+ * The registry is a read-only {@link java.util.List} apart from {@link #add(ActiveActorDestructible)} and {@link #clear()}.
+ */
+public class ActorRegistry extends AbstractList<ActiveActorDestructible> implements RandomAccess {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Receives each actor as it is removed from the registry.
+	 */
+	@FunctionalInterface
+	public interface RemovalHandler {
+		void actorRemoved(ActiveActorDestructible actor);
+	}
+
+	private ActiveActorDestructible[] actors;
+	private int size;
+	private ActiveActorDestructible[] destroyed;
+	private int destroyedCount;
+
+	/**
+	 * Constructs an empty registry.
+	 */
+	public ActorRegistry() {
+		this.actors = new ActiveActorDestructible[INITIAL_CAPACITY];
+		this.destroyed = new ActiveActorDestructible[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Adds an actor to the end of the registry. An actor can belong to one registry at a time.
+	 *
+	 * @param actor the actor to add.
+	 * @return always {@code true}.
+	 * @throws IllegalArgumentException if the actor already belongs to a registry.
+	 */
+	@Override
+	public boolean add(ActiveActorDestructible actor) {
+		if (actor.getRegistry() != null) {
+			throw new IllegalArgumentException("Actor is already registered: " + actor);
+		}
+		if (size == actors.length) {
+			actors = Arrays.copyOf(actors, size * 2);
+		}
+		actor.attach(this, size);
+		actors[size++] = actor;
+		if (actor.isDestroyed()) {
+			actorDestroyed(actor);
+		}
+		return true;
+	}
+
+	/**
+	 * Retrieves the actor at an index.
+	 *
+	 * @param index the index, from 0 to {@code size() - 1}.
+	 * @return the actor.
+	 */
+	@Override
+	public ActiveActorDestructible get(int index) {
+		if (index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+		}
+		return actors[index];
+	}
+
+	/**
+	 * Counts the actors in the registry, including destroyed ones not yet removed.
+	 *
+	 * @return the number of actors.
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Runs an action on every actor, without creating an iterator.
+	 *
+	 * @param action the action to run.
+	 */
+	@Override
+	public void forEach(Consumer<? super ActiveActorDestructible> action) {
+		for (int i = 0; i < size; i++) {
+			action.accept(actors[i]);
+		}
+	}
+
+	/**
+	 * Removes every actor destroyed since the last call. Called once per tick.
+	 * The actors are removed from the highest index down, so the order left behind depends only on which actors
+	 * were destroyed, not on the order they were destroyed in.
+	 *
+	 * @param handler receives each removed actor, after it has left the registry.
+	 * @return the number of actors removed.
+	 */
+	public int removeDestroyed(RemovalHandler handler) {
+		sortDestroyed();
+		int removed = destroyedCount;
+		for (int i = 0; i < destroyedCount; i++) {
+			ActiveActorDestructible actor = destroyed[i];
+			destroyed[i] = null;
+			if (actor.getRegistry() != this) {
+				removed--; // Queued twice; already removed
+				continue;
+			}
+			swapRemove(actor);
+			handler.actorRemoved(actor);
+		}
+		destroyedCount = 0;
+		return removed;
+	}
+
+	/**
+	 * Counts the actors that are destroyed but not yet removed.
+	 *
+	 * @return the number of pending removals.
+	 */
+	public int getDestroyedCount() {
+		return destroyedCount;
+	}
+
+	/**
+	 * Removes every actor without notifying anyone.
+	 */
+	@Override
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			actors[i].attach(null, 0);
+			actors[i] = null;
+		}
+		Arrays.fill(destroyed, 0, destroyedCount, null);
+		size = 0;
+		destroyedCount = 0;
+	}
+
+	/**
+	 * Queues an actor of this registry for removal. Called by the actor when it is destroyed.
+	 *
+	 * @param actor the destroyed actor.
+	 */
+	void actorDestroyed(ActiveActorDestructible actor) {
+		if (destroyedCount == destroyed.length) {
+			destroyed = Arrays.copyOf(destroyed, destroyedCount * 2);
+		}
+		destroyed[destroyedCount++] = actor;
+	}
+
+	/**
+	 * Sorts the actors queued for removal by their index, highest first. An insertion sort, since only a handful
+	 * of actors are destroyed in a tick. Actors queued twice and already removed keep whatever index they last had;
+	 * they are skipped anyway.
+	 */
+	private void sortDestroyed() {
+		for (int i = 1; i < destroyedCount; i++) {
+			ActiveActorDestructible actor = destroyed[i];
+			int j = i - 1;
+			while (j >= 0 && destroyed[j].getRegistryIndex() < actor.getRegistryIndex()) {
+				destroyed[j + 1] = destroyed[j];
+				j--;
+			}
+			destroyed[j + 1] = actor;
+		}
+	}
+
+	/**
+	 * Removes an actor by moving the last actor into its slot.
+	 *
+	 * @param actor the actor to remove.
+	 */
+	private void swapRemove(ActiveActorDestructible actor) {
+		int index = actor.getRegistryIndex();
+		ActiveActorDestructible last = actors[--size];
+		actors[index] = last;
+		last.setRegistryIndex(index);
+		actors[size] = null;
+		actor.attach(null, 0);
+	}
+}
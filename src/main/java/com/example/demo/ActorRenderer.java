@@ -0,0 +1,207 @@
+package main.java.com.example.demo;
+
+import javafx.scene.Group;
+import javafx.scene.image.ImageView;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Draws the actors of a {@link GameWorld} into a JavaFX scene graph.
+ * The renderer creates an {@link ImageView} when an actor enters the world, releases it when the actor leaves,
+ * and places every node once per frame, interpolated between the actor's previous and current tick positions
+ * so motion stays smooth when the display refreshes faster than the simulation ticks.
+ * Released nodes are kept per sprite and reused, so recycled projectiles do not allocate new nodes either.
+ * Nodes are not added to or removed from the scene as the world changes. The changes are buffered and applied
+ * as one bulk removal and one bulk addition at the start of the next frame, so the scene graph sees at most two
+ * list changes per frame. A node that is added and removed within the same frame never touches the scene at all.
+ */
+public class ActorRenderer implements WorldListener, SpritePreloader {
+
+	private final Group root;
+	private final Map<ActiveActor, ImageView> nodes;
+	private final Map<String, Deque<ImageView>> idleNodes;
+	private final Set<ImageView> pendingAdds;
+	private final Set<ImageView> pendingRemoves;
+	private int lastFrameMutations;
+	private int lastFrameCancelled;
+	private int cancelledMutations;
+	private final BiConsumer<ActiveActor, ImageView> interpolatedSync;
+	private double renderAlpha;
+
+	/**
+	 * Constructs a renderer that adds actor nodes to the given group.
+	 *
+	 * @param root the group actors are drawn into.
+	 */
+	public ActorRenderer(Group root) {
+		this.root = root;
+		this.nodes = new IdentityHashMap<>();
+		this.idleNodes = new HashMap<>();
+		this.pendingAdds = new LinkedHashSet<>(); // Keeps spawn order, which is drawing order
+		this.pendingRemoves = new HashSet<>();
+		this.interpolatedSync = (actor, node) -> syncNode(actor, node, renderAlpha);
+	}
+
+	/**
+	 * Starts drawing a world: creates nodes for the actors it already holds and listens for later changes.
+	 *
+	 * @param world the world to draw.
+	 */
+	public void attach(GameWorld world) {
+		world.setListener(this);
+		world.getFriendlyUnits().forEach(this::actorAdded);
+		world.getEnemyUnits().forEach(this::actorAdded);
+		world.getUserProjectiles().forEach(this::actorAdded);
+		world.getEnemyProjectiles().forEach(this::actorAdded);
+	}
+
+	/**
+	 * Applies the buffered scene changes, then places every drawn actor's node. Called once per frame after the world has ticked.
+	 *
+	 * @param alpha how far the frame falls between the previous and the current tick, from 0 to 1.
+	 */
+	public void render(double alpha) {
+		applyPendingMutations();
+		renderAlpha = alpha;
+		nodes.forEach(interpolatedSync);
+	}
+
+	/**
+	 * Creates or reuses a node for a new actor and queues it to be added to the scene.
+	 * A reused node whose removal is still queued simply stays in the scene.
+	 *
+	 * @param actor the new actor.
+	 */
+	@Override
+	public void actorAdded(ActiveActorDestructible actor) {
+		ImageView node = obtainNode(actor);
+		syncNode(actor, node, 1);
+		nodes.put(actor, node);
+		if (pendingRemoves.remove(node)) {
+			cancelledMutations += 2;
+		} else {
+			pendingAdds.add(node);
+		}
+	}
+
+	/**
+	 * Queues a departed actor's node to be removed from the scene and keeps it for reuse.
+	 * A node whose addition is still queued is simply never added.
+	 *
+	 * @param actor the removed actor.
+	 */
+	@Override
+	public void actorRemoved(ActiveActorDestructible actor) {
+		ImageView node = nodes.remove(actor);
+		if (node != null) {
+			if (pendingAdds.remove(node)) {
+				cancelledMutations += 2;
+			} else {
+				pendingRemoves.add(node);
+			}
+			idleNodes.computeIfAbsent(actor.getImageName(), name -> new ArrayDeque<>()).push(node);
+		}
+	}
+
+	/**
+	 * Decodes an actor image into the shared {@link SpriteCache}, so creating its first node is a cache lookup.
+	 *
+	 * @param imageName   the name of the image file in the images folder.
+	 * @param imageHeight the height the image is drawn at.
+	 */
+	@Override
+	public void preload(String imageName, int imageHeight) {
+		SpriteCache.getInstance().preload(ActiveActor.getImagePath(imageName), imageHeight);
+	}
+
+	/**
+	 * Forgets every drawn actor. The caller is responsible for clearing the group itself.
+	 */
+	public void clear() {
+		nodes.clear();
+		idleNodes.clear();
+		pendingAdds.clear();
+		pendingRemoves.clear();
+	}
+
+	/**
+	 * Retrieves the number of node additions and removals applied to the scene in the last frame.
+	 *
+	 * @return the scene mutations of the last frame.
+	 */
+	public int getLastFrameMutations() {
+		return lastFrameMutations;
+	}
+
+	/**
+	 * Retrieves the number of node additions and removals that cancelled out in the last frame and never reached the scene.
+	 *
+	 * @return the mutations saved in the last frame.
+	 */
+	public int getLastFrameCancelledMutations() {
+		return lastFrameCancelled;
+	}
+
+	/**
+	 * Counts the actor nodes currently in the scene.
+	 *
+	 * @return the number of drawn actors.
+	 */
+	public int getNodeCount() {
+		return nodes.size();
+	}
+
+	/**
+	 * Applies the buffered node removals and additions to the scene, each as a single list change.
+	 */
+	private void applyPendingMutations() {
+		lastFrameMutations = pendingRemoves.size() + pendingAdds.size();
+		lastFrameCancelled = cancelledMutations;
+		cancelledMutations = 0;
+		if (!pendingRemoves.isEmpty()) {
+			root.getChildren().removeAll(pendingRemoves);
+			pendingRemoves.clear();
+		}
+		if (!pendingAdds.isEmpty()) {
+			root.getChildren().addAll(pendingAdds);
+			pendingAdds.clear();
+		}
+	}
+
+	/**
+	 * Takes an idle node for the actor's sprite, or creates one from the sprite cache.
+	 *
+	 * @param actor the actor that needs a node.
+	 * @return a node showing the actor's sprite.
+	 */
+	private ImageView obtainNode(ActiveActor actor) {
+		Deque<ImageView> idle = idleNodes.get(actor.getImageName());
+		if (idle != null && !idle.isEmpty()) {
+			return idle.pop();
+		}
+		ImageView node = new ImageView(SpriteCache.getInstance().getImage(ActiveActor.getImagePath(actor.getImageName()), actor.getImageHeight()));
+		node.setFitHeight(actor.getImageHeight());
+		node.setPreserveRatio(true); // Ensures the image maintains its aspect ratio
+		return node;
+	}
+
+	/**
+	 * Places a node at its actor's interpolated position.
+	 *
+	 * @param actor the actor.
+	 * @param node  the node drawing the actor.
+	 * @param alpha how far between the actor's previous and current position to place the node.
+	 */
+	private static void syncNode(ActiveActor actor, ImageView node, double alpha) {
+		node.setTranslateX(actor.getInterpolatedX(alpha));
+		node.setTranslateY(actor.getInterpolatedY(alpha));
+	}
+}
@@ -0,0 +1,40 @@
+package main.java.com.example.demo;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads the JVM's per-thread allocation counter, used to verify that hot paths of the game loop do not allocate.
+ * On JVMs without the HotSpot management extension every reading is {@code -1}.
+ */
+public final class AllocationCounter {
+
+	private static final com.sun.management.ThreadMXBean THREAD_BEAN = resolveThreadBean();
+
+	private AllocationCounter() {
+	}
+
+	/**
+	 * Retrieves the total number of bytes allocated so far by the calling thread.
+	 *
+	 * @return the allocated byte count, or {@code -1} if allocation cannot be measured.
+	 */
+	public static long currentThreadAllocatedBytes() {
+		return THREAD_BEAN != null ? THREAD_BEAN.getCurrentThreadAllocatedBytes() : -1;
+	}
+
+	/**
+	 * Looks up the HotSpot thread bean and enables allocation measurement on it.
+	 *
+	 * @return the thread bean, or {@code null} if allocation measurement is unsupported.
+	 */
+	private static com.sun.management.ThreadMXBean resolveThreadBean() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+			if (bean.isThreadAllocatedMemorySupported()) {
+				bean.setThreadAllocatedMemoryEnabled(true);
+				return bean;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,201 @@
+package main.java.com.example.demo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Plays many seeded games of a level at once, headless, and reports the win rate, the ticks taken to clear the
+ * level, the score distribution and the simulation throughput. Each game runs on one worker thread with its own
+ * world, random sources and projectile pools; games share only the read-only level definition, so throughput
+ * grows with the number of cores.
+ *
+ * <pre>
+ * java -cp target/classes main.java.com.example.demo.BatchRunner [--level ID] [--games N] [--seed N]
+ *     [--input idle|random] [--threads N] [--warmup N] [--max-ticks N]
+ * </pre>
+ * The game seeds are drawn from {@code --seed}, so a batch with the same options plays the same games on any
+ * number of threads.
+ */
+public class BatchRunner {
+
+	private static final int DEFAULT_GAMES = 1000;
+	private static final int DEFAULT_WARMUP_GAMES = 100; // Run and discarded first, so the JIT has compiled the tick
+	private static final long DEFAULT_MAX_TICKS = 3_600_000L / GameWorld.TICK_MILLIS; // One hour of simulated time
+	private static final double NANOS_PER_SECOND = 1e9;
+	private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+	/**
+	 * Runs a batch from the command line and prints its report.
+	 *
+	 * @param args the options described in the class comment.
+	 * @throws InterruptedException if the batch is interrupted.
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		String levelId = null;
+		int games = DEFAULT_GAMES;
+		long seed = GameRandom.newSeed();
+		String input = "random";
+		int threads = Runtime.getRuntime().availableProcessors();
+		int warmup = DEFAULT_WARMUP_GAMES;
+		long maxTicks = DEFAULT_MAX_TICKS;
+		for (int i = 0; i < args.length; i += 2) {
+			if (i + 1 >= args.length) {
+				usage(args[i] + " needs a value");
+			}
+			String value = args[i + 1];
+			switch (args[i]) {
+				case "--level" -> levelId = value;
+				case "--games" -> games = Integer.parseInt(value);
+				case "--seed" -> seed = Long.parseLong(value);
+				case "--input" -> input = value;
+				case "--threads" -> threads = Integer.parseInt(value);
+				case "--warmup" -> warmup = Integer.parseInt(value);
+				case "--max-ticks" -> maxTicks = Long.parseLong(value);
+				default -> usage("Unknown option " + args[i]);
+			}
+		}
+		if (!"idle".equals(input) && !"random".equals(input)) {
+			usage("A batch takes idle or random input");
+		}
+		if (games < 1 || threads < 1 || warmup < 0) {
+			usage("A batch needs at least one game and one thread, and no negative warmup");
+		}
+		if (levelId == null) {
+			levelId = LevelDefinition.loadIndex().get(0);
+		}
+
+		LevelDefinition definition = LevelDefinition.load(levelId);
+		System.out.println("Level " + levelId + ", " + games + " games from seed " + seed + ", input " + input
+				+ ", " + threads + " threads");
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			run(pool, definition, seed + 1, warmup, input, maxTicks);
+			long start = System.nanoTime();
+			List<HeadlessRunner.Result> results = run(pool, definition, seed, games, input, maxTicks);
+			report(results, System.nanoTime() - start, threads);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays a batch of games on a pool of worker threads.
+	 *
+	 * @param pool       the worker threads.
+	 * @param definition the level to play.
+	 * @param seed       the seed the game seeds are drawn from.
+	 * @param games      the number of games.
+	 * @param input      {@code idle} or {@code random}.
+	 * @param maxTicks   the most ticks to simulate per game.
+	 * @return the results, in the order of the game seeds.
+	 * @throws InterruptedException if the batch is interrupted.
+	 * @throws IllegalStateException if a game fails.
+	 */
+	public static List<HeadlessRunner.Result> run(ForkJoinPool pool, LevelDefinition definition, long seed, int games,
+			String input, long maxTicks) throws InterruptedException {
+		GameRandom seeds = new GameRandom(seed);
+		List<Callable<HeadlessRunner.Result>> tasks = new ArrayList<>(games);
+		for (int i = 0; i < games; i++) {
+			long gameSeed = seeds.nextLong();
+			tasks.add(() -> HeadlessRunner.run(definition, gameSeed, HeadlessRunner.createPolicy(input, gameSeed), maxTicks));
+		}
+		List<HeadlessRunner.Result> results = new ArrayList<>(games);
+		for (Future<HeadlessRunner.Result> result : pool.invokeAll(tasks)) {
+			try {
+				results.add(result.get());
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("A game failed", e.getCause());
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * Prints the win rate, ticks to clear, score distribution and throughput of a batch.
+	 *
+	 * @param results     the games played.
+	 * @param wallNanos   the wall-clock time the batch took.
+	 * @param threads     the number of worker threads.
+	 */
+	private static void report(List<HeadlessRunner.Result> results, long wallNanos, int threads) {
+		int won = 0;
+		int lost = 0;
+		long totalTicks = 0;
+		long gameCpuNanos = 0;
+		long allocatedBytes = 0;
+		long[] clearTicks = new long[results.size()];
+		long[] scores = new long[results.size()];
+		long[] ticksPerSecond = new long[results.size()];
+		for (int i = 0; i < results.size(); i++) {
+			HeadlessRunner.Result result = results.get(i);
+			if (result.getStatus() == GameWorld.Status.WON) {
+				clearTicks[won++] = result.getTicks();
+			} else if (result.getStatus() == GameWorld.Status.LOST) {
+				lost++;
+			}
+			scores[i] = result.getScore();
+			ticksPerSecond[i] = Math.round(result.getTicksPerSecond());
+			totalTicks += result.getTicks();
+			gameCpuNanos += result.getCpuNanos();
+			allocatedBytes += result.getAllocatedBytes();
+		}
+		int unfinished = results.size() - won - lost;
+
+		System.out.printf("Won %d, lost %d, unfinished %d: win rate %.1f%%%n",
+				won, lost, unfinished, 100.0 * won / Math.max(1, results.size()));
+		if (won > 0) {
+			System.out.println("Ticks to clear: " + summarize(Arrays.copyOf(clearTicks, won)));
+		}
+		System.out.println("Score: " + summarize(scores));
+		System.out.println("Ticks/s per game: " + summarize(ticksPerSecond));
+		// CPU time spent inside games over wall time: reaches the thread count when games scale perfectly
+		System.out.printf("Batch: %d ticks in %.2f s: %.0f ticks/s, %.2fx speedup on %d threads%n",
+				totalTicks, wallNanos / NANOS_PER_SECOND, totalTicks * NANOS_PER_SECOND / Math.max(1, wallNanos),
+				(double) gameCpuNanos / Math.max(1, wallNanos), threads);
+		System.out.printf("Allocated %.1f MB: %.1f MB/s%n",
+				allocatedBytes / BYTES_PER_MEGABYTE, allocatedBytes * NANOS_PER_SECOND / Math.max(1, wallNanos) / BYTES_PER_MEGABYTE);
+	}
+
+	/**
+	 * Describes a distribution by its mean, spread and percentiles.
+	 *
+	 * @param values the values; sorted in place.
+	 * @return a single-line summary.
+	 */
+	private static String summarize(long[] values) {
+		Arrays.sort(values);
+		double mean = Arrays.stream(values).average().orElse(0);
+		double variance = Arrays.stream(values).mapToDouble(value -> (value - mean) * (value - mean)).average().orElse(0);
+		return String.format("mean %.1f, stddev %.1f, min %d, p10 %d, p50 %d, p90 %d, max %d",
+				mean, Math.sqrt(variance), values[0], percentile(values, 10), percentile(values, 50),
+				percentile(values, 90), values[values.length - 1]);
+	}
+
+	/**
+	 * Picks a percentile from sorted values by the nearest-rank method.
+	 *
+	 * @param sorted     the values, in ascending order.
+	 * @param percentile the percentile, from 0 to 100.
+	 * @return the value at that percentile.
+	 */
+	private static long percentile(long[] sorted, int percentile) {
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+	/**
+	 * Prints the usage and exits.
+	 *
+	 * @param problem what was wrong with the command line.
+	 */
+	private static void usage(String problem) {
+		System.err.println(problem);
+		System.err.println("Usage: BatchRunner [--level ID] [--games N] [--seed N] [--input idle|random] [--threads N] [--warmup N] [--max-ticks N]");
+		System.exit(2);
+	}
+}
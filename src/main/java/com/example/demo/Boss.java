@@ -1,11 +1,12 @@
 package main.java.com.example.demo;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
  * Represents the boss character in the game. The boss moves vertically
  * following a predefined pattern, fires projectiles, and can activate a shield
- * to block incoming damage.
+ * to block incoming damage. Its move pattern, firing and shield are drawn from its world's {@link GameRandom}.
  */
 public class Boss extends FighterPlane {
 
@@ -29,6 +30,7 @@ public class Boss extends FighterPlane {
 
 	// Instance variables
 	private final List<Integer> movePattern;
+	private final GameRandom random;
 	private boolean isShielded;
 	private int fireCooldownCounter;
 	private int consecutiveMovesInSameDirection;
@@ -38,9 +40,12 @@ public class Boss extends FighterPlane {
 	/**
 	 * Constructs a Boss object with default properties, including its image,
 	 * size, health, and movement pattern.
+	 *
+	 * @param random the random source of the world the boss belongs to.
 	 */
-	public Boss() {
+	public Boss(GameRandom random) {
 		super(IMAGE_NAME, IMAGE_HEIGHT, INITIAL_X_POSITION, INITIAL_Y_POSITION, HEALTH);
+		this.random = random;
 		movePattern = new ArrayList<>();
 		consecutiveMovesInSameDirection = 0;
 		indexOfCurrentMove = 0;
@@ -78,14 +83,14 @@ public class Boss extends FighterPlane {
 	 * Fires a projectile if the boss meets the firing conditions, such as cooldown
 	 * elapsed and probability threshold.
 	 *
-	 * @return A BossProjectile instance if the boss fires, or null if not.
+	 * @param pools The projectile pools of the boss's world.
+	 * @return A pooled BossProjectile instance if the boss fires, or null if not.
 	 */
 	@Override
-	public ActiveActorDestructible fireProjectile() {
+	public ActiveActorDestructible fireProjectile(ProjectilePools pools) {
 		if (canFireProjectile()) {
 			fireCooldownCounter = 0;
-			BossProjectile projectile = new BossProjectile(getProjectileInitialPosition());
-			return projectile;
+			return BossProjectile.obtain(pools, getProjectileInitialPosition());
 		}
 		return null;
 	}
@@ -101,6 +106,48 @@ public class Boss extends FighterPlane {
 		}
 	}
 
+	/**
+	 * Writes the boss's position, health, shield, firing cooldown and place in its move pattern to a snapshot.
+	 *
+	 * @param out the buffer the snapshot is written to.
+	 */
+	@Override
+	void writeState(ByteBuffer out) {
+		super.writeState(out);
+		out.put((byte) (isShielded ? 1 : 0));
+		out.putShort((short) framesWithShieldActivated);
+		out.putInt(fireCooldownCounter);
+		out.put((byte) consecutiveMovesInSameDirection);
+		out.put((byte) indexOfCurrentMove);
+		out.put((byte) movePattern.size());
+		for (int i = 0; i < movePattern.size(); i++) {
+			out.put((byte) (int) movePattern.get(i));
+		}
+	}
+
+	/**
+	 * Restores the boss's position, health, shield, firing cooldown and move pattern from a snapshot.
+	 *
+	 * @param in the buffer the snapshot is read from.
+	 * @throws IllegalArgumentException if the snapshot's move pattern has a different length.
+	 */
+	@Override
+	void readState(ByteBuffer in) {
+		super.readState(in);
+		isShielded = in.get() != 0;
+		framesWithShieldActivated = in.getShort();
+		fireCooldownCounter = in.getInt();
+		consecutiveMovesInSameDirection = in.get();
+		indexOfCurrentMove = in.get();
+		int moves = in.get();
+		if (moves != movePattern.size()) {
+			throw new IllegalArgumentException("Boss move pattern has " + moves + " moves, expected " + movePattern.size());
+		}
+		for (int i = 0; i < moves; i++) {
+			movePattern.set(i, (int) in.get());
+		}
+	}
+
 	/**
 	 * Initializes the boss's movement pattern as a shuffled list of velocities
 	 * to control its vertical movement.
@@ -111,7 +158,7 @@ public class Boss extends FighterPlane {
 			movePattern.add(-VERTICAL_VELOCITY);
 			movePattern.add(ZERO);
 		}
-		Collections.shuffle(movePattern);
+		random.shuffle(movePattern);
 	}
 
 	/**
@@ -124,7 +171,7 @@ public class Boss extends FighterPlane {
 			if (framesWithShieldActivated >= MAX_FRAMES_WITH_SHIELD) {
 				deactivateShield();
 			}
-		} else if (Math.random() < BOSS_SHIELD_PROBABILITY) {
+		} else if (random.nextDouble() < BOSS_SHIELD_PROBABILITY) {
 			activateShield();
 		}
 	}
@@ -139,7 +186,7 @@ public class Boss extends FighterPlane {
 		int currentMove = movePattern.get(indexOfCurrentMove);
 		consecutiveMovesInSameDirection++;
 		if (consecutiveMovesInSameDirection == MAX_FRAMES_WITH_SAME_MOVE) {
-			Collections.shuffle(movePattern);
+			random.shuffle(movePattern);
 			consecutiveMovesInSameDirection = 0;
 			indexOfCurrentMove++;
 		}
@@ -156,7 +203,7 @@ public class Boss extends FighterPlane {
 	 * @return true if the boss can fire, false otherwise.
 	 */
 	private boolean canFireProjectile() {
-		return fireCooldownCounter >= FIRE_COOLDOWN_FRAMES && Math.random() < BOSS_FIRE_RATE;
+		return fireCooldownCounter >= FIRE_COOLDOWN_FRAMES && random.nextDouble() < BOSS_FIRE_RATE;
 	}
 
 	/**
@@ -174,6 +221,7 @@ public class Boss extends FighterPlane {
 	private void activateShield() {
 		isShielded = true;
 		framesWithShieldActivated = 0;
+		publish(TelemetryRing.Event.SHIELD_UP, 0);
 	}
 
 	/**
@@ -181,6 +229,7 @@ public class Boss extends FighterPlane {
 	 */
 	private void deactivateShield() {
 		isShielded = false;
+		publish(TelemetryRing.Event.SHIELD_DOWN, 0);
 	}
 
 	/**
@@ -191,4 +240,13 @@ public class Boss extends FighterPlane {
 	public boolean isShieldActive() {
 		return isShielded;
 	}
+
+	/**
+	 * Tells the preloader about the Boss sprite.
+	 *
+	 * @param preloader receives the sprite.
+	 */
+	static void preload(SpritePreloader preloader) {
+		preloader.preload(IMAGE_NAME, IMAGE_HEIGHT);
+	}
 }
@@ -1,6 +1,5 @@
 package main.java.com.example.demo;
 
-import javafx.application.Platform;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
 import javafx.scene.text.Font;
@@ -8,7 +7,8 @@ import javafx.scene.text.Font;
 /**
  * Manages the display of the boss's health or shield status on the game UI.
  * This class creates and updates a health display component dynamically
- * based on the boss's health and shield status.
+ * based on the boss's health and shield status. Updates are made directly,
+ * since they are always called on the JavaFX application thread.
  */
 public class BossHealthDisplay {
 
@@ -56,14 +56,14 @@ public class BossHealthDisplay {
      * @param health The current health value of the boss.
      */
     public void updateHealth(int health) {
-        Platform.runLater(() -> healthLabel.setText("Boss Health: " + health));
+        healthLabel.setText("Boss Health: " + health);
     }
 
     /**
      * Updates the health display to indicate that the boss's shield is active.
      */
     public void displayShieldOn() {
-        Platform.runLater(() -> healthLabel.setText("Shield On"));
+        healthLabel.setText("Shield On");
     }
 
     /**
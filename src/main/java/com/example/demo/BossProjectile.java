@@ -37,4 +37,24 @@ public class BossProjectile extends Projectile {
 	public void updateActor() {
 		updatePosition();
 	}
+
+	/**
+	 * Tells the preloader about the BossProjectile sprite.
+	 *
+	 * @param preloader receives the sprite.
+	 */
+	static void preload(SpritePreloader preloader) {
+		preloader.preload(IMAGE_NAME, IMAGE_HEIGHT);
+	}
+
+	/**
+	 * Takes a boss projectile from the world's pool and places it at the given vertical position.
+	 *
+	 * @param pools       The projectile pools of the world firing the projectile.
+	 * @param initialYPos The initial vertical position of the projectile.
+	 * @return a live BossProjectile.
+	 */
+	static BossProjectile obtain(ProjectilePools pools, double initialYPos) {
+		return pools.getBossProjectiles().acquire(INITIAL_X_POSITION, initialYPos);
+	}
 }
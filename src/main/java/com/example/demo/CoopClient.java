@@ -0,0 +1,445 @@
+package main.java.com.example.demo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+
+/**
+ * The client's end of co-op play. The client flies the second player's plane: every tick it sends its controls
+ * to the {@link CoopHost} and moves its own plane straight away rather than waiting a round trip for the host.
+ * When a state from the host arrives, the client's world is put into it, and the commands the host had not yet
+ * applied are replayed onto the plane, so the prediction only shows when the host disagreed with it.
+ * Everything but the client's own plane is shown as the host last sent it.
+ */
+public class CoopClient implements AutoCloseable {
+
+	private static final int INITIAL_STATE_CAPACITY = 4096;
+
+	private final DatagramChannel channel;
+	private final SocketAddress host;
+	private final ByteBuffer packet;
+
+	// States received, by tick, to decode deltas against
+	private final byte[][] states;
+	private final ByteBuffer[] stateBuffers;
+	private final int[] stateLengths;
+	private final long[] stateTicks;
+	private long newestTick;
+	private int newestSlot;
+	private long hostLastCommand;
+
+	// The state being put together from its fragments
+	private byte[] payload;
+	private int payloadLength;
+	private long payloadTick;
+	private long payloadBaseTick;
+	private int payloadFragments;
+	private long missingFragments; // A bit for each fragment still to come
+
+	// The state the world was last put into, to put it back if a newer one does not read
+	private ByteBuffer lastRead;
+	private int lastReadLength;
+
+	// Commands sent, by sequence number, kept for resending and replaying
+	private final byte[] commands;
+	private long lastCommand;
+	private int velocity;
+	private boolean firePending;
+
+	// Traffic and prediction counters
+	private long bytesSent;
+	private long bytesReceived;
+	private long statesReceived;
+	private double totalCorrection;
+	private double maxCorrection;
+
+	/**
+	 * Opens a socket for talking to a host.
+	 *
+	 * @param hostName the host's name or address.
+	 * @param port     the host's UDP port.
+	 * @throws IOException if the socket cannot be opened.
+	 */
+	public CoopClient(String hostName, int port) throws IOException {
+		this.channel = DatagramChannel.open();
+		channel.configureBlocking(false);
+		channel.bind(null);
+		this.host = new InetSocketAddress(hostName, port);
+		this.packet = ByteBuffer.allocate(CoopProtocol.MAX_PACKET_BYTES);
+		this.states = new byte[CoopProtocol.HISTORY][];
+		this.stateBuffers = new ByteBuffer[CoopProtocol.HISTORY];
+		for (int i = 0; i < CoopProtocol.HISTORY; i++) {
+			states[i] = new byte[INITIAL_STATE_CAPACITY];
+			stateBuffers[i] = ByteBuffer.wrap(states[i]);
+		}
+		this.stateLengths = new int[CoopProtocol.HISTORY];
+		this.stateTicks = new long[CoopProtocol.HISTORY];
+		Arrays.fill(stateTicks, CoopProtocol.NONE);
+		this.newestTick = CoopProtocol.NONE;
+		this.hostLastCommand = CoopProtocol.NONE;
+		this.payload = new byte[INITIAL_STATE_CAPACITY];
+		this.payloadTick = CoopProtocol.NONE;
+		this.lastRead = ByteBuffer.allocate(INITIAL_STATE_CAPACITY);
+		this.lastReadLength = -1;
+		this.commands = new byte[CoopProtocol.HISTORY];
+		this.lastCommand = CoopProtocol.NONE;
+	}
+
+	/**
+	 * Applies a press or release of one of the second player's controls. Firing is sent with the next command,
+	 * and the projectile appears when the host's state brings it.
+	 *
+	 * @param control the control.
+	 * @param pressed true for a press, false for a release.
+	 */
+	public void applyInput(InputControl control, boolean pressed) {
+		switch (control) {
+			case UP:
+				velocity = pressed ? -1 : 0;
+				break;
+			case DOWN:
+				velocity = pressed ? 1 : 0;
+				break;
+			case FIRE:
+				firePending |= pressed;
+				break;
+		}
+	}
+
+	/**
+	 * Plays one tick on the client: sends this tick's command, moves the second player's plane as predicted,
+	 * then takes in whatever states the host has sent since the last tick. Call in place of the world's tick.
+	 *
+	 * @param world the client's world, of the host's level and with a second player.
+	 */
+	public void update(GameWorld world) {
+		UserPlane player = world.getSecondPlayer();
+		byte command = CoopProtocol.encodeCommand(velocity, firePending);
+		firePending = false;
+		lastCommand++;
+		commands[(int) (lastCommand % CoopProtocol.HISTORY)] = command;
+		int levelHash = world.getLevelId().hashCode();
+		sendInput(levelHash);
+		if (world.getStatus() == GameWorld.Status.IN_PROGRESS) {
+			predict(player, command);
+		}
+		if (receiveStates(levelHash)) {
+			reconcile(world, player);
+		}
+	}
+
+	/**
+	 * Checks whether any state has come from the host yet.
+	 *
+	 * @return true once the host has answered.
+	 */
+	public boolean isConnected() {
+		return newestTick != CoopProtocol.NONE;
+	}
+
+	/**
+	 * Retrieves the host tick of the newest state received.
+	 *
+	 * @return the tick, or -1 before the host has answered.
+	 */
+	public long getNewestTick() {
+		return newestTick;
+	}
+
+	/**
+	 * Retrieves the bytes sent to the host so far.
+	 *
+	 * @return the UDP payload bytes sent.
+	 */
+	public long getBytesSent() {
+		return bytesSent;
+	}
+
+	/**
+	 * Retrieves the bytes received from the host so far.
+	 *
+	 * @return the UDP payload bytes received.
+	 */
+	public long getBytesReceived() {
+		return bytesReceived;
+	}
+
+	/**
+	 * Counts the state packets taken in so far; late and repeated ones are not counted.
+	 *
+	 * @return the number of states received.
+	 */
+	public long getStatesReceived() {
+		return statesReceived;
+	}
+
+	/**
+	 * Retrieves how far, in all, the host's states have moved the predicted plane.
+	 *
+	 * @return the sum of the corrections in pixels.
+	 */
+	public double getTotalCorrection() {
+		return totalCorrection;
+	}
+
+	/**
+	 * Retrieves the largest single correction of the predicted plane.
+	 *
+	 * @return the correction in pixels.
+	 */
+	public double getMaxCorrection() {
+		return maxCorrection;
+	}
+
+	/**
+	 * Closes the socket.
+	 *
+	 * @throws IOException if the socket cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Sends the newest commands to the host, together with the newest state tick received.
+	 *
+	 * @param levelHash the hash of the level's ID.
+	 */
+	private void sendInput(int levelHash) {
+		int count = (int) Math.min(CoopProtocol.COMMANDS_PER_INPUT, lastCommand + 1);
+		packet.clear();
+		packet.put(CoopProtocol.INPUT);
+		packet.putInt(levelHash);
+		packet.putLong(newestTick);
+		packet.putLong(lastCommand);
+		packet.put((byte) count);
+		for (long sequence = lastCommand - count + 1; sequence <= lastCommand; sequence++) {
+			packet.put(commands[(int) (sequence % CoopProtocol.HISTORY)]);
+		}
+		packet.flip();
+		try {
+			bytesSent += channel.send(packet, host);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Co-op client cannot send", e);
+		}
+	}
+
+	/**
+	 * Moves the second player's plane one tick as a command says.
+	 *
+	 * @param player  the second player's plane.
+	 * @param command the command.
+	 */
+	private static void predict(UserPlane player, byte command) {
+		CoopProtocol.applyVelocity(player, command);
+		player.capturePreviousPosition();
+		player.updateActor();
+		player.updateBounds();
+	}
+
+	/**
+	 * Drains the host's state packets, decoding each newer one into the state history. Packets from anyone but the
+	 * host, from another level, or that do not decode are dropped.
+	 *
+	 * @param levelHash the hash of the level's ID; packets from another level are ignored.
+	 * @return true if a newer state arrived.
+	 */
+	private boolean receiveStates(int levelHash) {
+		boolean received = false;
+		try {
+			SocketAddress sender;
+			while ((sender = channel.receive(packet.clear())) != null) {
+				packet.flip();
+				bytesReceived += packet.remaining();
+				if (!host.equals(sender)) {
+					continue;
+				}
+				try {
+					received |= readState(levelHash);
+				} catch (IllegalArgumentException e) {
+					// Malformed delta; dropped
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Co-op client cannot receive", e);
+		}
+		return received;
+	}
+
+	/**
+	 * Reads the state packet in the packet buffer, if it is a well-formed one for this level newer than any so far,
+	 * and takes in its state once the packet completes it.
+	 *
+	 * @param levelHash the hash of the level's ID.
+	 * @return true if a state was taken in.
+	 * @throws IllegalArgumentException if the state is a malformed delta.
+	 */
+	private boolean readState(int levelHash) {
+		if (packet.remaining() < CoopProtocol.STATE_HEADER_BYTES || packet.get() != CoopProtocol.STATE
+				|| packet.getInt() != levelHash) {
+			return false;
+		}
+		long tick = packet.getLong();
+		long baseTick = packet.getLong();
+		long appliedCommand = packet.getLong();
+		int fragment = packet.get() & 0xFF;
+		int fragments = packet.get() & 0xFF;
+		int size = packet.remaining();
+		if (tick <= newestTick || baseTick < CoopProtocol.NONE || baseTick >= tick
+				|| fragments > CoopProtocol.MAX_FRAGMENTS || fragment >= fragments
+				|| (fragment < fragments - 1 && size != CoopProtocol.FRAGMENT_BYTES)) {
+			return false; // Only the last fragment may be short
+		}
+		if (!assemble(tick, baseTick, fragment, fragments) || !decode(tick, baseTick)) {
+			return false;
+		}
+		newestTick = tick;
+		newestSlot = (int) (tick % CoopProtocol.HISTORY);
+		hostLastCommand = appliedCommand;
+		statesReceived++;
+		return true;
+	}
+
+	/**
+	 * Adds the fragment in the packet buffer to the state being put together, starting over when the fragment is
+	 * of a newer state. While a state is incomplete, fragments of older states and repeated ones are dropped.
+	 *
+	 * @param tick      the state's host tick.
+	 * @param baseTick  the tick the state is a delta from, or {@link CoopProtocol#NONE} for a whole state.
+	 * @param fragment  the fragment's index.
+	 * @param fragments the state's fragment count.
+	 * @return true if the fragment completed the state.
+	 */
+	private boolean assemble(long tick, long baseTick, int fragment, int fragments) {
+		if (tick < payloadTick) {
+			return false;
+		}
+		if (tick > payloadTick || baseTick != payloadBaseTick || fragments != payloadFragments) {
+			payloadTick = tick;
+			payloadBaseTick = baseTick;
+			payloadFragments = fragments;
+			missingFragments = fragments == Long.SIZE ? -1L : (1L << fragments) - 1;
+		}
+		long bit = 1L << fragment;
+		if ((missingFragments & bit) == 0) {
+			return false;
+		}
+		int offset = fragment * CoopProtocol.FRAGMENT_BYTES;
+		int size = packet.remaining();
+		if (payload.length < offset + size) {
+			payload = Arrays.copyOf(payload, Math.min(Math.max(offset + size, payload.length * 2), CoopProtocol.MAX_STATE_BYTES));
+		}
+		packet.get(payload, offset, size);
+		if (fragment == fragments - 1) {
+			payloadLength = offset + size;
+		}
+		missingFragments &= ~bit;
+		if (missingFragments != 0) {
+			return false;
+		}
+		payloadTick = CoopProtocol.NONE; // Complete, so it holds back no older state
+		return true;
+	}
+
+	/**
+	 * Decodes the state just put together into the history slot for its tick.
+	 *
+	 * @param tick     the state's host tick.
+	 * @param baseTick the tick the state is a delta from, or {@link CoopProtocol#NONE} for a whole state.
+	 * @return true if the state was decoded, false if its base is no longer kept.
+	 * @throws IllegalArgumentException if the delta is malformed or makes a state larger than any host sends.
+	 */
+	private boolean decode(long tick, long baseTick) {
+		int slot = (int) (tick % CoopProtocol.HISTORY);
+		int baseSlot = (int) (baseTick % CoopProtocol.HISTORY);
+		if (baseTick != CoopProtocol.NONE && (stateTicks[baseSlot] != baseTick || baseSlot == slot)) {
+			return false;
+		}
+		stateTicks[slot] = CoopProtocol.NONE; // Until the slot holds the new state in full
+		if (baseTick == CoopProtocol.NONE) {
+			ensureCapacity(slot, payloadLength);
+			System.arraycopy(payload, 0, states[slot], 0, payloadLength);
+			stateLengths[slot] = payloadLength;
+		} else {
+			int length = StateDelta.readLength(payload, 0, payloadLength);
+			if (length > CoopProtocol.MAX_STATE_BYTES) {
+				throw new IllegalArgumentException("Delta makes a state of " + length + " bytes");
+			}
+			int baseLength = stateLengths[baseSlot];
+			ensureCapacity(slot, Math.max(baseLength, length));
+			System.arraycopy(states[baseSlot], 0, states[slot], 0, baseLength);
+			stateLengths[slot] = StateDelta.apply(payload, 0, payloadLength, states[slot], baseLength);
+		}
+		stateTicks[slot] = tick;
+		return true;
+	}
+
+	/**
+	 * Puts the world into the newest state from the host, then replays the commands the host had not yet applied
+	 * onto the second player's plane, and measures how far that moved the plane from its prediction. Once the
+	 * level is over the host's state is shown as it is.
+	 *
+	 * @param world  the client's world.
+	 * @param player the second player's plane.
+	 */
+	private void reconcile(GameWorld world, UserPlane player) {
+		double predictedY = player.getLayoutY() + player.getTranslateY();
+		if (!readNewestState(world)) {
+			return;
+		}
+		if (world.getStatus() != GameWorld.Status.IN_PROGRESS) {
+			return; // The level is over, so the plane no longer moves
+		}
+		for (long sequence = Math.max(hostLastCommand + 1, lastCommand - CoopProtocol.HISTORY + 1); sequence <= lastCommand; sequence++) {
+			predict(player, commands[(int) (sequence % CoopProtocol.HISTORY)]);
+		}
+		double correction = Math.abs(player.getLayoutY() + player.getTranslateY() - predictedY);
+		totalCorrection += correction;
+		maxCorrection = Math.max(maxCorrection, correction);
+	}
+
+	/**
+	 * Puts the world into the newest state from the host. A state that does not read, which only a broken or
+	 * impostor host would send, is dropped, and the world put back into the last state that did read.
+	 *
+	 * @param world the client's world.
+	 * @return true if the world is in the newest state.
+	 */
+	private boolean readNewestState(GameWorld world) {
+		if (lastReadLength < 0) {
+			lastRead = world.encodeState(lastRead.clear()); // The world as it started, until a state from the host reads
+			lastReadLength = lastRead.position();
+		}
+		int length = stateLengths[newestSlot];
+		try {
+			world.readState(stateBuffers[newestSlot].clear().limit(length));
+		} catch (RuntimeException e) {
+			world.readState(lastRead.clear().limit(lastReadLength));
+			return false;
+		}
+		if (lastRead.capacity() < length) {
+			lastRead = ByteBuffer.allocate(Math.max(length, lastRead.capacity() * 2));
+		}
+		System.arraycopy(states[newestSlot], 0, lastRead.array(), 0, length);
+		lastReadLength = length;
+		return true;
+	}
+
+	/**
+	 * Makes sure a history slot can hold a state of the given length.
+	 *
+	 * @param slot   the history slot.
+	 * @param length the state length.
+	 */
+	private void ensureCapacity(int slot, int length) {
+		if (states[slot].length < length) {
+			states[slot] = new byte[Math.max(length, states[slot].length * 2)];
+			stateBuffers[slot] = ByteBuffer.wrap(states[slot]);
+		}
+	}
+}
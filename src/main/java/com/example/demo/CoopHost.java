@@ -0,0 +1,319 @@
+package main.java.com.example.demo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+
+/**
+ * The host's end of co-op play. The host runs the authoritative world; between its ticks it applies one command
+ * per tick from the client's input packets to the second player's plane, and after each tick it sends the client
+ * the world's state. The state is sent as a {@link StateDelta} from the last state the client acknowledged,
+ * which the host keeps in a short history, or whole when the client has acknowledged nothing still in it.
+ * The socket is non-blocking, so a quiet or missing client never stalls the host's game loop.
+ */
+public class CoopHost implements AutoCloseable {
+
+	private static final int MAX_COMMAND_BACKLOG = 4; // Older unapplied commands are skipped, so input lag cannot build up
+	private static final int INITIAL_STATE_CAPACITY = 4096;
+	private static final int FINAL_STATE_REPEATS = 3; // The state that ends the level is sent more than once
+
+	private final DatagramChannel channel;
+	private final ByteBuffer packet;
+	private SocketAddress client;
+
+	// States sent, by tick, to encode deltas against
+	private final byte[][] states;
+	private final ByteBuffer[] stateBuffers;
+	private final int[] stateLengths;
+	private final long[] stateTicks;
+	private long acknowledgedTick;
+	private byte[] delta;
+
+	// Client commands, by sequence number
+	private final byte[] commands;
+	private long lastCommandReceived;
+	private long lastCommandApplied;
+
+	// Traffic counters
+	private long bytesSent;
+	private long bytesReceived;
+	private long statesSent;
+	private long wholeStatesSent;
+	private long statesTooLarge;
+
+	/**
+	 * Opens the host's socket.
+	 *
+	 * @param port the UDP port to listen on, or 0 for any free port.
+	 * @throws IOException if the socket cannot be opened.
+	 */
+	public CoopHost(int port) throws IOException {
+		this.channel = DatagramChannel.open();
+		channel.configureBlocking(false);
+		channel.bind(new InetSocketAddress(port));
+		this.packet = ByteBuffer.allocate(CoopProtocol.MAX_PACKET_BYTES);
+		this.states = new byte[CoopProtocol.HISTORY][];
+		this.stateBuffers = new ByteBuffer[CoopProtocol.HISTORY];
+		for (int i = 0; i < CoopProtocol.HISTORY; i++) {
+			states[i] = new byte[INITIAL_STATE_CAPACITY];
+			stateBuffers[i] = ByteBuffer.wrap(states[i]);
+		}
+		this.stateLengths = new int[CoopProtocol.HISTORY];
+		this.stateTicks = new long[CoopProtocol.HISTORY];
+		Arrays.fill(stateTicks, CoopProtocol.NONE);
+		this.acknowledgedTick = CoopProtocol.NONE;
+		this.delta = new byte[INITIAL_STATE_CAPACITY];
+		this.commands = new byte[CoopProtocol.HISTORY];
+		this.lastCommandReceived = CoopProtocol.NONE;
+		this.lastCommandApplied = CoopProtocol.NONE;
+	}
+
+	/**
+	 * Reads the client's input packets, then applies the client's next command to the second player's plane.
+	 * Without a new command the plane keeps moving as it was and does not fire, and once the level is over
+	 * commands are ignored. Call before each tick.
+	 *
+	 * @param world the host's world, with a second player.
+	 */
+	public void beforeTick(GameWorld world) {
+		receiveInputs(world.getLevelId().hashCode());
+		if (lastCommandApplied == lastCommandReceived || world.getStatus() != GameWorld.Status.IN_PROGRESS) {
+			return;
+		}
+		lastCommandApplied = Math.max(lastCommandApplied + 1, lastCommandReceived - MAX_COMMAND_BACKLOG + 1);
+		byte command = commands[(int) (lastCommandApplied % CoopProtocol.HISTORY)];
+		UserPlane player = world.getSecondPlayer();
+		CoopProtocol.applyVelocity(player, command);
+		if (CoopProtocol.isFiring(command)) {
+			world.applyInput(player, InputControl.FIRE, true);
+		}
+	}
+
+	/**
+	 * Keeps the world's state after a tick and sends it to the client, if one has been heard from.
+	 * The state that ends the level is sent a few times, so the client is sure to learn how it ended.
+	 *
+	 * @param world the host's world.
+	 */
+	public void afterTick(GameWorld world) {
+		int slot = (int) (world.getTickCount() % CoopProtocol.HISTORY);
+		encode(world, slot);
+		if (client == null || acknowledgedTick >= world.getTickCount()) {
+			return; // No one to send to, or the level is over and the client already has its final state
+		}
+		int repeats = world.getStatus() == GameWorld.Status.IN_PROGRESS ? 1 : FINAL_STATE_REPEATS;
+		for (int i = 0; i < repeats; i++) {
+			sendState(world, slot);
+		}
+	}
+
+	/**
+	 * Checks whether a client has sent any input yet.
+	 *
+	 * @return true once a client has joined.
+	 */
+	public boolean isClientConnected() {
+		return client != null;
+	}
+
+	/**
+	 * Retrieves the port the host listens on.
+	 *
+	 * @return the local UDP port.
+	 */
+	public int getPort() {
+		try {
+			return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Retrieves the bytes sent to the client so far.
+	 *
+	 * @return the UDP payload bytes sent.
+	 */
+	public long getBytesSent() {
+		return bytesSent;
+	}
+
+	/**
+	 * Retrieves the bytes received from the client so far.
+	 *
+	 * @return the UDP payload bytes received.
+	 */
+	public long getBytesReceived() {
+		return bytesReceived;
+	}
+
+	/**
+	 * Counts the states sent so far, however many packets each took.
+	 *
+	 * @return the number of states.
+	 */
+	public long getStatesSent() {
+		return statesSent;
+	}
+
+	/**
+	 * Counts the states sent whole rather than as a delta.
+	 *
+	 * @return the number of whole states sent.
+	 */
+	public long getWholeStatesSent() {
+		return wholeStatesSent;
+	}
+
+	/**
+	 * Counts the states not sent because they were larger than {@link CoopProtocol#MAX_STATE_BYTES}.
+	 *
+	 * @return the number of states dropped.
+	 */
+	public long getStatesTooLarge() {
+		return statesTooLarge;
+	}
+
+	/**
+	 * Closes the socket.
+	 *
+	 * @throws IOException if the socket cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Drains the client's input packets: remembers which state the client has received and the commands it sent.
+	 * The first sender of a valid input packet becomes the client; packets from anyone else, from another level,
+	 * or that do not decode are dropped.
+	 *
+	 * @param levelHash the hash of the level's ID; packets from another level are ignored.
+	 */
+	private void receiveInputs(int levelHash) {
+		try {
+			SocketAddress sender;
+			while ((sender = channel.receive(packet.clear())) != null) {
+				packet.flip();
+				bytesReceived += packet.remaining();
+				if (client != null && !client.equals(sender)) {
+					continue;
+				}
+				try {
+					readInput(sender, levelHash);
+				} catch (BufferUnderflowException e) {
+					// Malformed packet; dropped
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Co-op host cannot receive", e);
+		}
+	}
+
+	/**
+	 * Reads the input packet in the packet buffer, if it is a well-formed one for this level.
+	 *
+	 * @param sender    where the packet came from, taken as the client if none is known yet.
+	 * @param levelHash the hash of the level's ID.
+	 * @throws BufferUnderflowException if the packet is shorter than it claims.
+	 */
+	private void readInput(SocketAddress sender, int levelHash) {
+		if (packet.remaining() < CoopProtocol.INPUT_HEADER_BYTES || packet.get() != CoopProtocol.INPUT
+				|| packet.getInt() != levelHash) {
+			return;
+		}
+		long acknowledged = packet.getLong();
+		long lastCommand = packet.getLong();
+		int count = packet.get();
+		if (acknowledged < CoopProtocol.NONE || count < 0 || count > CoopProtocol.COMMANDS_PER_INPUT
+				|| count > packet.remaining() || lastCommand < count - 1) {
+			return; // Sequence numbers start at 0, so no command can come before it
+		}
+		client = sender;
+		acknowledgedTick = Math.max(acknowledgedTick, acknowledged);
+		long firstCommand = lastCommand - count + 1;
+		for (int i = 0; i < count; i++) {
+			long sequence = firstCommand + i;
+			byte command = packet.get();
+			if (sequence > lastCommandReceived && sequence > lastCommand - CoopProtocol.HISTORY) {
+				commands[(int) (sequence % CoopProtocol.HISTORY)] = command;
+			}
+		}
+		lastCommandReceived = Math.max(lastCommandReceived, lastCommand);
+	}
+
+	/**
+	 * Encodes the world into a slot of the state history, growing the slot first if the world has outgrown it.
+	 *
+	 * @param world the world.
+	 * @param slot  the history slot for the world's tick.
+	 */
+	private void encode(GameWorld world, int slot) {
+		stateBuffers[slot] = world.encodeState(stateBuffers[slot].clear());
+		states[slot] = stateBuffers[slot].array();
+		stateLengths[slot] = stateBuffers[slot].position();
+		stateTicks[slot] = world.getTickCount();
+	}
+
+	/**
+	 * Sends the state in a history slot, as a delta from the client's acknowledged state if it is still kept and the
+	 * delta is smaller, split over as many packets as it takes. A state larger than
+	 * {@link CoopProtocol#MAX_STATE_BYTES} is not sent, only counted.
+	 *
+	 * @param world the world the state is of.
+	 * @param slot  the history slot of the state.
+	 */
+	private void sendState(GameWorld world, int slot) {
+		long tick = stateTicks[slot];
+		int length = stateLengths[slot];
+		if (length > CoopProtocol.MAX_STATE_BYTES) {
+			statesTooLarge++;
+			return;
+		}
+		byte[] payload = states[slot];
+		int payloadLength = length;
+		long baseTick = CoopProtocol.NONE;
+		int baseSlot = (int) (acknowledgedTick % CoopProtocol.HISTORY);
+		if (acknowledgedTick != CoopProtocol.NONE && acknowledgedTick < tick && stateTicks[baseSlot] == acknowledgedTick) {
+			if (delta.length < length) {
+				delta = new byte[length];
+			}
+			int deltaLength = StateDelta.encode(states[baseSlot], stateLengths[baseSlot], states[slot], length,
+					delta, 0, length - 1);
+			if (deltaLength >= 0) {
+				payload = delta;
+				payloadLength = deltaLength;
+				baseTick = acknowledgedTick;
+			}
+		}
+		if (baseTick == CoopProtocol.NONE) {
+			wholeStatesSent++;
+		}
+		int fragments = Math.max(1, (payloadLength + CoopProtocol.FRAGMENT_BYTES - 1) / CoopProtocol.FRAGMENT_BYTES);
+		for (int fragment = 0; fragment < fragments; fragment++) {
+			int offset = fragment * CoopProtocol.FRAGMENT_BYTES;
+			packet.clear();
+			packet.put(CoopProtocol.STATE);
+			packet.putInt(world.getLevelId().hashCode());
+			packet.putLong(tick);
+			packet.putLong(baseTick);
+			packet.putLong(lastCommandApplied);
+			packet.put((byte) fragment);
+			packet.put((byte) fragments);
+			packet.put(payload, offset, Math.min(CoopProtocol.FRAGMENT_BYTES, payloadLength - offset));
+			packet.flip();
+			try {
+				bytesSent += channel.send(packet, client);
+			} catch (IOException e) {
+				throw new UncheckedIOException("Co-op host cannot send", e);
+			}
+		}
+		statesSent++;
+	}
+}
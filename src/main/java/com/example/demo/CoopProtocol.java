@@ -0,0 +1,83 @@
+package main.java.com.example.demo;
+
+/**
+ * The UDP packets of co-op play. The host sends a state after every tick and the client an input packet
+ * every tick; a lost packet is never resent, because the next one carries everything it did.
+ *
+ * <p>A state packet holds the type, the level's ID hash, the host tick, the tick of the state it is a delta
+ * from ({@link #NONE} for a whole state), the last client command the host applied, the packet's fragment index
+ * and the state's fragment count, then its fragment of the state itself: the world encoded as for a
+ * {@link WorldSnapshot}, or a {@link StateDelta} from the client's last acknowledged state. A state too large for
+ * one packet is split into full {@link #FRAGMENT_BYTES} fragments and a last, shorter one; losing any of them
+ * loses the state. An input packet holds the type, the level's ID hash, the last state tick the client received, the
+ * sequence number of its newest command and the count of commands that follow, oldest first.
+ */
+final class CoopProtocol {
+
+	static final int MAX_PACKET_BYTES = 65507; // Largest UDP payload
+	static final byte STATE = 1;
+	static final byte INPUT = 2;
+	static final long NONE = -1; // No tick or command yet
+	static final int HISTORY = 32; // States kept to decode deltas against, and commands kept until the host applies them
+	static final int COMMANDS_PER_INPUT = 8; // Each input packet repeats the newest commands, so a lost packet loses no input
+	static final int STATE_HEADER_BYTES = 31;
+	static final int INPUT_HEADER_BYTES = 22;
+	static final int FRAGMENT_BYTES = MAX_PACKET_BYTES - STATE_HEADER_BYTES;
+	static final int MAX_FRAGMENTS = 64; // One bit each in the client's record of the fragments still to come
+	static final int MAX_STATE_BYTES = MAX_FRAGMENTS * FRAGMENT_BYTES; // Larger states are not sent
+
+	// Bits of a command: the second player's controls for one tick
+	private static final int VELOCITY_MASK = 3;
+	private static final int FIRE_BIT = 4;
+
+	/**
+	 * Prevents instantiation; the protocol is a set of constants.
+	 */
+	private CoopProtocol() {
+	}
+
+	/**
+	 * Packs one tick of the second player's controls into a command.
+	 *
+	 * @param velocity -1 to move up, 1 to move down, 0 to hold still.
+	 * @param fire     true to fire this tick.
+	 * @return the command.
+	 */
+	static byte encodeCommand(int velocity, boolean fire) {
+		return (byte) ((velocity + 1) | (fire ? FIRE_BIT : 0));
+	}
+
+	/**
+	 * Unpacks the movement of a command.
+	 *
+	 * @param command the command.
+	 * @return -1 to move up, 1 to move down, 0 to hold still.
+	 */
+	static int getVelocity(byte command) {
+		return (command & VELOCITY_MASK) - 1;
+	}
+
+	/**
+	 * Unpacks whether a command fires.
+	 *
+	 * @param command the command.
+	 * @return true if the plane fires this tick.
+	 */
+	static boolean isFiring(byte command) {
+		return (command & FIRE_BIT) != 0;
+	}
+
+	/**
+	 * Sets a plane moving as a command says.
+	 *
+	 * @param player  the plane.
+	 * @param command the command.
+	 */
+	static void applyVelocity(UserPlane player, byte command) {
+		switch (getVelocity(command)) {
+			case -1 -> player.moveUp();
+			case 1 -> player.moveDown();
+			default -> player.stop();
+		}
+	}
+}
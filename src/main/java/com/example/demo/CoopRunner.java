@@ -0,0 +1,131 @@
+package main.java.com.example.demo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Plays a co-op game over the loopback interface with no JavaFX toolkit: a host world and a client world of the
+ * same level, in one thread, talking through a real {@link CoopHost} and {@link CoopClient}. Both players are
+ * driven by random input. When the host's game ends it reports the traffic each way per tick, how many states
+ * went whole rather than as deltas, the time spent on synchronisation per tick, how far the client's prediction
+ * was corrected, and whether the client ended in exactly the host's state.
+ *
+ * <pre>
+ * java -cp target/classes main.java.com.example.demo.CoopRunner [--level ID] [--seed N] [--max-ticks N]
+ * </pre>
+ */
+public class CoopRunner {
+
+	private static final long DEFAULT_MAX_TICKS = 3_600_000L / GameWorld.TICK_MILLIS; // One hour of simulated time
+	private static final int SETTLE_TICKS = 5; // Client updates after the game ends, for the final state to arrive
+	private static final double NANOS_PER_MICRO = 1e3;
+	private static final int INITIAL_STATE_CAPACITY = 4096;
+
+	/**
+	 * Runs a co-op game over loopback and prints its report.
+	 *
+	 * @param args the options described in the class comment.
+	 * @throws IOException if the sockets cannot be opened.
+	 */
+	public static void main(String[] args) throws IOException {
+		String levelId = null;
+		long seed = GameRandom.newSeed();
+		long maxTicks = DEFAULT_MAX_TICKS;
+		for (int i = 0; i < args.length; i++) {
+			String value = i + 1 < args.length ? args[i + 1] : null;
+			if (value == null) {
+				usage(args[i] + " needs a value");
+			}
+			switch (args[i]) {
+				case "--level" -> levelId = value;
+				case "--seed" -> seed = Long.parseLong(value);
+				case "--max-ticks" -> maxTicks = Long.parseLong(value);
+				default -> usage("Unknown option " + args[i]);
+			}
+			i++;
+		}
+		if (levelId == null) {
+			levelId = LevelDefinition.loadIndex().get(0);
+		}
+		System.out.println("Level " + levelId + ", seed " + seed + ", co-op over loopback");
+
+		LevelDefinition definition = LevelDefinition.load(levelId);
+		GameWorld hostWorld = new WaveWorld(definition, GameWorld.SCREEN_HEIGHT, GameWorld.SCREEN_WIDTH, seed);
+		GameWorld clientWorld = new WaveWorld(definition, GameWorld.SCREEN_HEIGHT, GameWorld.SCREEN_WIDTH, seed);
+		hostWorld.addSecondPlayer();
+		clientWorld.addSecondPlayer();
+		hostWorld.getProfiler().setEnabled(false);
+		clientWorld.getProfiler().setEnabled(false);
+		InputPolicy hostInput = HeadlessRunner.createPolicy("random", seed);
+		RandomInputPolicy clientInput = new RandomInputPolicy(seed + 2);
+
+		long tickNanos = 0;
+		long hostSyncNanos = 0;
+		long clientNanos = 0;
+		try (CoopHost host = new CoopHost(0); CoopClient client = new CoopClient("localhost", host.getPort())) {
+			BiConsumer<InputControl, Boolean> clientControls = client::applyInput;
+			long settleTicks = SETTLE_TICKS;
+			while (settleTicks > 0 && hostWorld.getTickCount() < maxTicks) {
+				long start = System.nanoTime();
+				if (hostWorld.getStatus() == GameWorld.Status.IN_PROGRESS) {
+					hostInput.applyDueInputs(hostWorld);
+				}
+				host.beforeTick(hostWorld);
+				long ticked = System.nanoTime();
+				hostWorld.tick();
+				long synced = System.nanoTime();
+				host.afterTick(hostWorld);
+				long end = System.nanoTime();
+				clientInput.applyDueInputs(clientControls);
+				client.update(clientWorld);
+				clientNanos += System.nanoTime() - end;
+				hostSyncNanos += ticked - start + end - synced;
+				tickNanos += synced - ticked;
+				if (hostWorld.getStatus() != GameWorld.Status.IN_PROGRESS) {
+					settleTicks--;
+				}
+			}
+
+			long ticks = Math.max(1, hostWorld.getTickCount());
+			String outcome = hostWorld.getStatus() == GameWorld.Status.IN_PROGRESS ? "UNFINISHED" : hostWorld.getStatus().toString();
+			System.out.printf("Outcome %s after %d ticks: score %d, %d kills%n",
+					outcome, hostWorld.getTickCount(), hostWorld.getScore(), hostWorld.getUser().getNumberOfKills());
+			System.out.printf("Host to client: %.1f bytes/tick, %d states, %d sent whole, %d too large to send%n",
+					(double) host.getBytesSent() / ticks, host.getStatesSent(), host.getWholeStatesSent(), host.getStatesTooLarge());
+			System.out.printf("Client to host: %.1f bytes/tick%n", (double) client.getBytesSent() / ticks);
+			System.out.printf("Per tick: simulation %.1f us, host sync %.1f us, client update %.1f us%n",
+					tickNanos / NANOS_PER_MICRO / ticks, hostSyncNanos / NANOS_PER_MICRO / ticks, clientNanos / NANOS_PER_MICRO / ticks);
+			System.out.printf("Prediction corrections: %.1f px in all, %.1f px at most%n",
+					client.getTotalCorrection(), client.getMaxCorrection());
+			boolean identical = client.getNewestTick() == hostWorld.getTickCount()
+					&& Arrays.equals(encode(hostWorld), encode(clientWorld));
+			System.out.println("Client state " + (identical ? "matches" : "DIFFERS FROM") + " the host's final state");
+		}
+		hostWorld.clear();
+		clientWorld.clear();
+	}
+
+	/**
+	 * Encodes a world's state, for comparing the two ends.
+	 *
+	 * @param world the world.
+	 * @return the encoded state.
+	 */
+	private static byte[] encode(GameWorld world) {
+		ByteBuffer buffer = world.encodeState(ByteBuffer.allocate(INITIAL_STATE_CAPACITY));
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+
+	/**
+	 * Prints the usage and exits.
+	 *
+	 * @param problem what was wrong with the command line.
+	 */
+	private static void usage(String problem) {
+		System.err.println(problem);
+		System.err.println("Usage: CoopRunner [--level ID] [--seed N] [--max-ticks N]");
+		System.exit(2);
+	}
+}
@@ -4,6 +4,7 @@ package main.java.com.example.demo;
  * Represents an enemy plane in the game.
  * Enemy planes move horizontally across the screen and can fire projectiles.
  * They are destructible entities with a specific health value.
+ * Whether a plane fires on a given tick is drawn from its world's {@link GameRandom}.
  */
 public class EnemyPlane extends FighterPlane {
 
@@ -15,14 +16,18 @@ public class EnemyPlane extends FighterPlane {
 	private static final int INITIAL_HEALTH = 1;
 	private static final double FIRE_RATE = .01;
 
+	private final GameRandom random;
+
 	/**
 	 * Constructs an EnemyPlane object with the given initial position.
 	 *
 	 * @param initialXPos the initial X-coordinate of the enemy plane.
 	 * @param initialYPos the initial Y-coordinate of the enemy plane.
+	 * @param random      the random source of the world the plane belongs to.
 	 */
-	public EnemyPlane(double initialXPos, double initialYPos) {
+	public EnemyPlane(double initialXPos, double initialYPos, GameRandom random) {
 		super(IMAGE_NAME, IMAGE_HEIGHT, initialXPos, initialYPos, INITIAL_HEALTH);
+		this.random = random;
 	}
 
 	/**
@@ -37,14 +42,15 @@ public class EnemyPlane extends FighterPlane {
 	/**
 	 * Fires a projectile from the enemy plane, based on a probabilistic fire rate.
 	 *
-	 * @return an instance of {@link EnemyProjectile} if the fire rate condition is met; otherwise, null.
+	 * @param pools the projectile pools of the plane's world.
+	 * @return a pooled {@link EnemyProjectile} if the fire rate condition is met; otherwise, null.
 	 */
 	@Override
-	public ActiveActorDestructible fireProjectile() {
-		if (Math.random() < FIRE_RATE) {
+	public ActiveActorDestructible fireProjectile(ProjectilePools pools) {
+		if (random.nextDouble() < FIRE_RATE) {
 			double projectileXPosition = getProjectileXPosition(PROJECTILE_X_POSITION_OFFSET);
 			double projectileYPostion = getProjectileYPosition(PROJECTILE_Y_POSITION_OFFSET);
-			return new EnemyProjectile(projectileXPosition, projectileYPostion);
+			return EnemyProjectile.obtain(pools, projectileXPosition, projectileYPostion);
 		}
 		return null;
 	}
@@ -56,4 +62,13 @@ public class EnemyPlane extends FighterPlane {
 	public void updateActor() {
 		updatePosition();
 	}
+
+	/**
+	 * Tells the preloader about the EnemyPlane sprite.
+	 *
+	 * @param preloader receives the sprite.
+	 */
+	static void preload(SpritePreloader preloader) {
+		preloader.preload(IMAGE_NAME, IMAGE_HEIGHT);
+	}
 }
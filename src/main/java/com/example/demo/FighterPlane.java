@@ -1,5 +1,7 @@
 package main.java.com.example.demo;
 
+import java.nio.ByteBuffer;
+
 /**
  * Represents a fighter plane in the game, serving as an abstract base class for user and enemy planes.
  * Fighter planes are destructible and can fire projectiles.
@@ -7,6 +9,8 @@ package main.java.com.example.demo;
 public abstract class FighterPlane extends ActiveActorDestructible {
 
 	private int health;
+	private TelemetryRing telemetry; // Where the plane's events go, if anywhere
+	private byte telemetrySource;
 
 	/**
 	 * Constructs a FighterPlane object with the specified properties.
@@ -24,11 +28,13 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 
 	/**
 	 * Fires a projectile from the fighter plane.
-	 * Subclasses must implement this method to specify the type of projectile fired.
+	 * Subclasses must implement this method to specify the type of projectile fired,
+	 * taking it from that type's {@link ProjectilePool} in the world's pools rather than constructing a new one.
 	 *
+	 * @param pools the projectile pools of the plane's world.
 	 * @return the projectile fired by the fighter plane.
 	 */
-	public abstract ActiveActorDestructible fireProjectile();
+	public abstract ActiveActorDestructible fireProjectile(ProjectilePools pools);
 
 	/**
 	 * Reduces the plane's health by 1 and destroys the plane if its health reaches zero.
@@ -36,11 +42,57 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 	@Override
 	public void takeDamage() {
 		health--;
+		publish(TelemetryRing.Event.DAMAGE, health);
 		if (healthAtZero()) {
 			this.destroy();
 		}
 	}
 
+	/**
+	 * Sends the plane's events to a telemetry ring from now on.
+	 *
+	 * @param telemetry the ring, or {@code null} to stop sending events.
+	 * @param source    what the plane is, one of the ring's {@code SOURCE_} constants.
+	 */
+	void setTelemetry(TelemetryRing telemetry, byte source) {
+		this.telemetry = telemetry;
+		this.telemetrySource = source;
+	}
+
+	/**
+	 * Publishes one of the plane's events, if it has a telemetry ring.
+	 *
+	 * @param event the event.
+	 * @param value the event's detail.
+	 */
+	protected void publish(TelemetryRing.Event event, int value) {
+		if (telemetry != null) {
+			telemetry.publish(event, telemetrySource, value);
+		}
+	}
+
+	/**
+	 * Writes the plane's position and health to a snapshot.
+	 *
+	 * @param out the buffer the snapshot is written to.
+	 */
+	@Override
+	void writeState(ByteBuffer out) {
+		super.writeState(out);
+		out.putShort((short) health);
+	}
+
+	/**
+	 * Restores the plane's position and health from a snapshot.
+	 *
+	 * @param in the buffer the snapshot is read from.
+	 */
+	@Override
+	void readState(ByteBuffer in) {
+		super.readState(in);
+		health = in.getShort();
+	}
+
 	/**
 	 * Calculates the X-coordinate for firing a projectile, applying an offset.
 	 *
@@ -0,0 +1,78 @@
+package main.java.com.example.demo;
+
+/**
+ * Watches how long frames take and logs how many entities were alive when the frame time first crossed the
+ * 60 fps and 30 fps budgets. Frame time is the interval between successive JavaFX pulses, so it covers the scene
+ * graph's CSS, layout and rendering as well as the game loop's own work: its ticks, syncing the scene and updating
+ * the HUD. The loop's share is logged alongside, to tell the two costs apart. Both are averaged over a window of
+ * frames, so a single garbage collection pause does not count as a crossing. Used by stress-test levels to find
+ * where the loop, the collision code and the scene graph stop keeping up.
+ */
+public class FrameBudgetMonitor {
+
+	private static final long NANOS_PER_MILLISECOND = 1_000_000L;
+	private static final long[] BUDGETS_NANOS = {16_666_667L, 33_333_333L}; // 60 fps and 30 fps
+	private static final double PULSE_JITTER = 1.05; // A frame that keeps up can still land a little after its budget
+	private static final int WINDOW = 30; // Frames averaged before comparing with a budget
+
+	private final long[] intervalNanos;
+	private final long[] workNanos;
+	private long intervalSumNanos;
+	private long workSumNanos;
+	private int nextSample;
+	private int samples;
+	private int budgetsCrossed;
+
+	/**
+	 * Constructs a monitor that has seen no frames.
+	 */
+	public FrameBudgetMonitor() {
+		this.intervalNanos = new long[WINDOW];
+		this.workNanos = new long[WINDOW];
+	}
+
+	/**
+	 * Records a frame and logs the world's entity counts if the average frame interval has just crossed a budget.
+	 *
+	 * @param interval   the time since the previous frame, or a negative value if there was none.
+	 * @param work       how long the game loop's own work in the frame took.
+	 * @param world      the world being drawn.
+	 * @param sceneNodes the number of actor nodes in the scene.
+	 */
+	public void recordFrame(long interval, long work, GameWorld world, int sceneNodes) {
+		if (interval < 0) {
+			return; // First frame after a start; nothing to measure from
+		}
+		intervalSumNanos += interval - intervalNanos[nextSample];
+		workSumNanos += work - workNanos[nextSample];
+		intervalNanos[nextSample] = interval;
+		workNanos[nextSample] = work;
+		nextSample = (nextSample + 1) % WINDOW;
+		if (samples < WINDOW) {
+			samples++;
+			return;
+		}
+		long averageNanos = intervalSumNanos / WINDOW;
+		while (budgetsCrossed < BUDGETS_NANOS.length && averageNanos > BUDGETS_NANOS[budgetsCrossed] * PULSE_JITTER) {
+			System.out.printf("Frame time crossed %.1f ms (average %.1f ms, %.1f ms in the game loop) after %.1f s: %d enemies, %d enemy projectiles, %d user projectiles, %d scene nodes%n",
+					(double) BUDGETS_NANOS[budgetsCrossed] / NANOS_PER_MILLISECOND,
+					(double) averageNanos / NANOS_PER_MILLISECOND,
+					(double) workSumNanos / WINDOW / NANOS_PER_MILLISECOND,
+					world.getElapsedMillis() / 1000.0,
+					world.getEnemyUnits().size(),
+					world.getEnemyProjectiles().size(),
+					world.getUserProjectiles().size(),
+					sceneNodes);
+			budgetsCrossed++;
+		}
+	}
+
+	/**
+	 * Counts the frame time budgets crossed so far.
+	 *
+	 * @return 0 while within 60 fps, 1 past the 60 fps budget, 2 past the 30 fps budget.
+	 */
+	public int getBudgetsCrossed() {
+		return budgetsCrossed;
+	}
+}
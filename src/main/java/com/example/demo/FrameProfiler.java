@@ -0,0 +1,136 @@
+package main.java.com.example.demo;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Times the phases of the game loop with {@link System#nanoTime()} and keeps a {@link PhaseHistogram} per phase.
+ * A phase is timed by taking a timestamp with {@link #start()} and passing it to {@link #lap(Phase, long)} when
+ * the phase ends; the lap returns the end time, which starts the next phase. Recording allocates nothing, so the
+ * profiler stays on by default. Set the system property {@code skybattle.profiler=off} to skip the clock reads.
+ */
+public class FrameProfiler {
+
+	/**
+	 * The timed phases: one per step of {@link GameWorld#tick()}, the whole tick, and the per-frame work of a level.
+	 */
+	public enum Phase {
+		SPAWN_ENEMY_UNITS,
+		UPDATE_ACTORS,
+		CULL_OFFSCREEN_ACTORS,
+		GENERATE_ENEMY_FIRE,
+		HANDLE_ENEMY_PENETRATION,
+		USER_PROJECTILE_COLLISIONS,
+		ENEMY_PROJECTILE_COLLISIONS,
+		PLANE_COLLISIONS,
+		REMOVE_DESTROYED_ACTORS,
+		UPDATE_SCORE_AND_STATUS,
+		TICK,
+		RENDER,
+		UPDATE_LEVEL_VIEW,
+		CHECK_GAME_OVER,
+		FRAME
+	}
+
+	private static final String PROFILER_PROPERTY = "skybattle.profiler"; // "off" disables timing
+	private static final Phase[] PHASES = Phase.values();
+
+	private final PhaseHistogram[] histograms;
+	private boolean enabled;
+
+	/**
+	 * Constructs a profiler, enabled unless the {@code skybattle.profiler} system property is {@code off}.
+	 */
+	public FrameProfiler() {
+		this.histograms = new PhaseHistogram[PHASES.length];
+		for (int i = 0; i < histograms.length; i++) {
+			histograms[i] = new PhaseHistogram();
+		}
+		this.enabled = !"off".equalsIgnoreCase(System.getProperty(PROFILER_PROPERTY));
+	}
+
+	/**
+	 * Takes the timestamp that starts a phase.
+	 *
+	 * @return the current time in nanoseconds, or 0 when the profiler is disabled.
+	 */
+	public long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Ends a phase, records its duration, and starts the next one.
+	 *
+	 * @param phase     the phase that just ended.
+	 * @param startTime the timestamp the phase started at.
+	 * @return the end time, to be passed to the next lap.
+	 */
+	public long lap(Phase phase, long startTime) {
+		if (!enabled) {
+			return 0;
+		}
+		long now = System.nanoTime();
+		histograms[phase.ordinal()].record(now - startTime);
+		return now;
+	}
+
+	/**
+	 * Ends a phase that does not run straight into another one.
+	 *
+	 * @param phase     the phase that just ended.
+	 * @param startTime the timestamp the phase started at.
+	 */
+	public void stop(Phase phase, long startTime) {
+		lap(phase, startTime);
+	}
+
+	/**
+	 * Retrieves the histogram of a phase.
+	 *
+	 * @param phase the phase.
+	 * @return the phase's durations.
+	 */
+	public PhaseHistogram getHistogram(Phase phase) {
+		return histograms[phase.ordinal()];
+	}
+
+	/**
+	 * Retrieves the histogram of every phase, in loop order.
+	 *
+	 * @return the histograms keyed by phase.
+	 */
+	public Map<Phase, PhaseHistogram> getHistograms() {
+		Map<Phase, PhaseHistogram> result = new EnumMap<>(Phase.class);
+		for (Phase phase : PHASES) {
+			result.put(phase, histograms[phase.ordinal()]);
+		}
+		return result;
+	}
+
+	/**
+	 * Forgets every recorded duration.
+	 */
+	public void reset() {
+		for (PhaseHistogram histogram : histograms) {
+			histogram.reset();
+		}
+	}
+
+	/**
+	 * Turns timing on or off.
+	 *
+	 * @param enabled whether phases are timed.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Checks whether phases are being timed.
+	 *
+	 * @return true if the profiler is enabled.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+}
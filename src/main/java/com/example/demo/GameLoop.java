@@ -0,0 +1,141 @@
+package main.java.com.example.demo;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * A fixed-timestep game loop driven by the display's pulse.
+ * Every frame, the time elapsed since the previous frame is added to an accumulator and the simulation
+ * is ticked once for every whole timestep it holds, so the game runs at the same speed at any frame rate.
+ * The leftover fraction of a timestep is passed to the render callback to interpolate between the
+ * previous and current simulation states. After a long stall at most {@code maxTicksPerFrame} ticks are
+ * run and the rest of the backlog is dropped, so the game slows down briefly instead of freezing.
+ */
+public class GameLoop extends AnimationTimer {
+
+	private static final long NANOS_PER_MILLISECOND = 1_000_000L;
+	private static final long NO_FRAME = -1;
+	private static final long UNTHROTTLED_FRAME_BUDGET_NANOS = 12 * NANOS_PER_MILLISECOND; // Leaves time to draw at 60 Hz
+
+	private final long tickNanos;
+	private final int maxTicksPerFrame;
+	private final Runnable tick;
+	private final DoubleConsumer render;
+	private long lastFrameNanos;
+	private long lastPulseNanos; // The previous frame's timestamp, kept in every mode
+	private long frameIntervalNanos;
+	private long frameStartNanos;
+	private long accumulatorNanos;
+	private long droppedTicks;
+	private boolean unthrottled;
+
+	/**
+	 * Constructs a game loop.
+	 *
+	 * @param tickMillis       the length of one simulation tick in milliseconds.
+	 * @param maxTicksPerFrame the most ticks run in a single frame while catching up.
+	 * @param tick             advances the simulation by one tick.
+	 * @param render           draws a frame, given how far between the previous and current tick it falls (0 to 1).
+	 */
+	public GameLoop(long tickMillis, int maxTicksPerFrame, Runnable tick, DoubleConsumer render) {
+		this.tickNanos = tickMillis * NANOS_PER_MILLISECOND;
+		this.maxTicksPerFrame = maxTicksPerFrame;
+		this.tick = tick;
+		this.render = render;
+		this.lastFrameNanos = NO_FRAME;
+		this.lastPulseNanos = NO_FRAME;
+		this.frameIntervalNanos = NO_FRAME;
+	}
+
+	/**
+	 * Runs the simulation ticks that are due and renders the frame.
+	 *
+	 * @param now the timestamp of the current frame in nanoseconds.
+	 */
+	@Override
+	public void handle(long now) {
+		frameStartNanos = System.nanoTime();
+		frameIntervalNanos = lastPulseNanos == NO_FRAME ? NO_FRAME : now - lastPulseNanos;
+		lastPulseNanos = now;
+		if (unthrottled) {
+			long deadline = System.nanoTime() + UNTHROTTLED_FRAME_BUDGET_NANOS;
+			do {
+				tick.run();
+			} while (System.nanoTime() < deadline);
+			render.accept(1);
+			return;
+		}
+		if (lastFrameNanos == NO_FRAME) {
+			lastFrameNanos = now;
+			render.accept(0);
+			return;
+		}
+		accumulatorNanos += now - lastFrameNanos;
+		lastFrameNanos = now;
+
+		int ticks = 0;
+		while (accumulatorNanos >= tickNanos && ticks < maxTicksPerFrame) {
+			tick.run();
+			accumulatorNanos -= tickNanos;
+			ticks++;
+		}
+		if (accumulatorNanos >= tickNanos) {
+			droppedTicks += accumulatorNanos / tickNanos;
+			accumulatorNanos %= tickNanos; // Too far behind: drop the backlog instead of spiralling
+		}
+		render.accept((double) accumulatorNanos / tickNanos);
+	}
+
+	/**
+	 * Stops the loop. Starting it again resumes without catching up on the time spent stopped.
+	 */
+	@Override
+	public void stop() {
+		super.stop();
+		lastFrameNanos = NO_FRAME;
+		lastPulseNanos = NO_FRAME;
+		frameIntervalNanos = NO_FRAME;
+		accumulatorNanos = 0;
+	}
+
+	/**
+	 * Switches between real-time ticking and ticking as fast as possible. Unthrottled, each frame spends most of
+	 * its time budget running ticks, which is how replays are fast-forwarded.
+	 *
+	 * @param unthrottled true to tick as fast as possible.
+	 */
+	public void setUnthrottled(boolean unthrottled) {
+		this.unthrottled = unthrottled;
+	}
+
+	/**
+	 * Retrieves when the loop started working on the current frame, so the render callback can tell how long the
+	 * frame's ticks and drawing took.
+	 *
+	 * @return the {@link System#nanoTime()} at the start of the current frame.
+	 */
+	public long getFrameStartNanos() {
+		return frameStartNanos;
+	}
+
+	/**
+	 * Retrieves the time from the previous frame's timestamp to the current one's. Unlike the time since
+	 * {@link #getFrameStartNanos()}, this covers the whole JavaFX pulse: the loop's own work, then CSS, layout and
+	 * rendering of the scene graph, and any wait for the next pulse.
+	 *
+	 * @return the frame interval in nanoseconds, or -1 on the first frame after starting.
+	 */
+	public long getFrameIntervalNanos() {
+		return frameIntervalNanos;
+	}
+
+	/**
+	 * Retrieves the number of ticks skipped because frames arrived too late to catch up.
+	 *
+	 * @return the dropped tick count.
+	 */
+	public long getDroppedTicks() {
+		return droppedTicks;
+	}
+}
@@ -1,6 +1,5 @@
 package main.java.com.example.demo;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 /**
@@ -18,7 +17,7 @@ public class GameOverImage extends ImageView {
 	 * @param yPosition the Y-coordinate where the image will be placed.
 	 */
 	public GameOverImage(double xPosition, double yPosition) {
-		setImage(new Image(getClass().getResource(IMAGE_NAME).toExternalForm()));
+		setImage(SpriteCache.getInstance().getImage(IMAGE_NAME));
 		setLayoutX(xPosition);
 		setLayoutY(yPosition);
 	}
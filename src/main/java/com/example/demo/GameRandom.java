@@ -0,0 +1,168 @@
+package main.java.com.example.demo;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * The random number source of a {@link GameWorld}: a xoshiro256** generator whose state is seeded through SplitMix64.
+ * Every world owns one, created from the level's seed and handed to each actor that makes random decisions,
+ * so the same seed and the same input always play out the same game. Unlike {@link Math#random()} it is not
+ * shared between threads and does no synchronization; a world and its generator must stay on one thread.
+ * {@link #split()} derives an independent generator, e.g. to seed several worlds from one root seed.
+ */
+public class GameRandom implements RandomGenerator {
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L; // SplitMix64 increment
+	private static final int STATE_WORDS = 4;
+
+	private final long seed;
+	private long s0;
+	private long s1;
+	private long s2;
+	private long s3;
+
+	/**
+	 * Constructs a generator from a seed. Equal seeds produce equal sequences.
+	 *
+	 * @param seed the seed.
+	 */
+	public GameRandom(long seed) {
+		this.seed = seed;
+		long x = seed;
+		s0 = mix(x += GOLDEN_GAMMA);
+		s1 = mix(x += GOLDEN_GAMMA);
+		s2 = mix(x += GOLDEN_GAMMA);
+		s3 = mix(x + GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Picks a seed for a new game from the clock, for when no seed has been given.
+	 *
+	 * @return a seed that differs between runs.
+	 */
+	public static long newSeed() {
+		return mix(System.nanoTime() ^ System.currentTimeMillis() * GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Returns the next 64 random bits and advances the state.
+	 *
+	 * @return a random long.
+	 */
+	@Override
+	public long nextLong() {
+		long result = Long.rotateLeft(s1 * 5, 7) * 9;
+		long t = s1 << 17;
+		s2 ^= s0;
+		s3 ^= s1;
+		s1 ^= s2;
+		s0 ^= s3;
+		s2 ^= t;
+		s3 = Long.rotateLeft(s3, 45);
+		return result;
+	}
+
+	/**
+	 * Derives a new generator whose sequence is independent of this one's. Advances this generator.
+	 *
+	 * @return the new generator.
+	 */
+	public GameRandom split() {
+		return new GameRandom(nextLong());
+	}
+
+	/**
+	 * Shuffles a list in place with the Fisher-Yates algorithm, drawing from this generator.
+	 *
+	 * @param list the list to shuffle.
+	 * @param <T>  the element type.
+	 */
+	public <T> void shuffle(List<T> list) {
+		for (int i = list.size() - 1; i > 0; i--) {
+			int j = nextInt(i + 1);
+			list.set(j, list.set(i, list.get(j)));
+		}
+	}
+
+	/**
+	 * Retrieves the seed the generator was created with.
+	 *
+	 * @return the seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Copies the current state, so the sequence can later be resumed with {@link #setState(long[])}.
+	 *
+	 * @param state receives the four state words.
+	 */
+	public void getState(long[] state) {
+		state[0] = s0;
+		state[1] = s1;
+		state[2] = s2;
+		state[3] = s3;
+	}
+
+	/**
+	 * Restores a state copied with {@link #getState(long[])}.
+	 *
+	 * @param state the four state words.
+	 * @throws IllegalArgumentException if the state is not four words or is all zero.
+	 */
+	public void setState(long[] state) {
+		if (state.length != STATE_WORDS || (state[0] | state[1] | state[2] | state[3]) == 0) {
+			throw new IllegalArgumentException("Invalid random state");
+		}
+		s0 = state[0];
+		s1 = state[1];
+		s2 = state[2];
+		s3 = state[3];
+	}
+
+	/**
+	 * Writes the current state to a {@link WorldSnapshot}, without allocating.
+	 *
+	 * @param out the buffer the snapshot is written to.
+	 */
+	void writeState(ByteBuffer out) {
+		out.putLong(s0);
+		out.putLong(s1);
+		out.putLong(s2);
+		out.putLong(s3);
+	}
+
+	/**
+	 * Restores a state written by {@link #writeState(ByteBuffer)}.
+	 *
+	 * @param in the buffer the snapshot is read from.
+	 * @throws IllegalArgumentException if the state is all zero.
+	 */
+	void readState(ByteBuffer in) {
+		long t0 = in.getLong();
+		long t1 = in.getLong();
+		long t2 = in.getLong();
+		long t3 = in.getLong();
+		if ((t0 | t1 | t2 | t3) == 0) {
+			throw new IllegalArgumentException("Invalid random state");
+		}
+		s0 = t0;
+		s1 = t1;
+		s2 = t2;
+		s3 = t3;
+	}
+
+	/**
+	 * Scrambles a value with the SplitMix64 finalizer.
+	 *
+	 * @param z the value.
+	 * @return the scrambled value.
+	 */
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
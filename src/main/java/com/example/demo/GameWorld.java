@@ -0,0 +1,973 @@
+package main.java.com.example.demo;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * The simulation core of a level: plain actor state, movement, spawning, collisions and scoring.
+ * A world does not depend on JavaFX and can be ticked without a stage or scene, as fast as the CPU allows.
+ * When a level is shown, {@link LevelParent} ticks the world and an {@link ActorRenderer} draws it.
+ * Subclasses define the level's spawning rules and when the level is won.
+ * All randomness comes from the world's seeded {@link GameRandom}, so a world ticked with the same seed
+ * and the same input always plays out the same way.
+ */
+public abstract class GameWorld {
+
+	/**
+	 * The state of play after a tick.
+	 */
+	public enum Status {
+		IN_PROGRESS,
+		WON,
+		LOST
+	}
+
+	// Constants
+	public static final int TICK_MILLIS = 50; // Simulated time per tick; speeds and cooldowns are per tick
+	public static final int SCREEN_WIDTH = 1300; // Size of the game window, which the levels are laid out for
+	public static final int SCREEN_HEIGHT = 750;
+	private static final double SCREEN_HEIGHT_ADJUSTMENT = 150;
+	private static final double CULL_MARGIN = 100;
+	private static final double COLLISION_CELL_SIZE = 128;
+	private static final String COLLISION_MODE_PROPERTY = "skybattle.collisions"; // "bruteforce" disables the spatial hash
+	private static final int POINTS_PER_KILL = 100;
+	private static final double SECOND_PLAYER_Y_POSITION = 450.0;
+
+	// Kinds of actor in a snapshot
+	private static final byte ENEMY_PLANE = 0;
+	private static final byte BOSS = 1;
+	private static final byte USER_PROJECTILE = 2;
+	private static final byte ENEMY_PROJECTILE = 3;
+	private static final byte BOSS_PROJECTILE = 4;
+
+	// Attributes for the playing field
+	private final double screenHeight;
+	private final double screenWidth;
+	private final double enemyMaximumYPosition;
+
+	// Game state tracking
+	private final UserPlane user;
+	private UserPlane secondPlayer; // The co-op partner's plane, if one has joined
+	private final GameRandom random;
+	private final ProjectilePools projectilePools;
+	private final ActorRegistry friendlyUnits;
+	private final ActorRegistry enemyUnits;
+	private final ActorRegistry userProjectiles;
+	private final ActorRegistry enemyProjectiles;
+	private final ViewportCuller viewportCuller;
+	private final SpatialHashGrid collisionGrid;
+	private final SpatialHashGrid.PairHandler collisionHandler;
+	private final ActorRegistry.RemovalHandler removalHandler;
+	private final FrameProfiler profiler;
+	private boolean spatialHashEnabled;
+	private long collisionAllocatedBytes;
+	private int currentNumberOfEnemies;
+	private int score;
+	private long tickCount;
+	private Status status;
+	private WorldListener listener;
+	private TelemetryRing telemetry; // Where gameplay events go, if anywhere
+
+	/**
+	 * Constructs a world for a playing field of the given size.
+	 *
+	 * @param screenHeight         the height of the playing field
+	 * @param screenWidth          the width of the playing field
+	 * @param playerInitialHealth  the initial health of the player
+	 * @param seed                 the seed of the world's random source
+	 */
+	protected GameWorld(double screenHeight, double screenWidth, int playerInitialHealth, long seed) {
+		this.screenHeight = screenHeight;
+		this.screenWidth = screenWidth;
+		this.enemyMaximumYPosition = screenHeight - SCREEN_HEIGHT_ADJUSTMENT;
+		this.user = new UserPlane(playerInitialHealth);
+		this.random = new GameRandom(seed);
+		this.projectilePools = new ProjectilePools();
+		this.friendlyUnits = new ActorRegistry();
+		this.enemyUnits = new ActorRegistry();
+		this.userProjectiles = new ActorRegistry();
+		this.enemyProjectiles = new ActorRegistry();
+		this.viewportCuller = new ViewportCuller(screenWidth, screenHeight, CULL_MARGIN);
+		this.collisionGrid = new SpatialHashGrid(screenWidth, screenHeight, COLLISION_CELL_SIZE);
+		this.collisionHandler = this::resolveCollision;
+		this.removalHandler = this::actorRemoved;
+		this.profiler = new FrameProfiler();
+		this.spatialHashEnabled = !"bruteforce".equalsIgnoreCase(System.getProperty(COLLISION_MODE_PROPERTY));
+		this.status = Status.IN_PROGRESS;
+		this.listener = WorldListener.NONE;
+
+		friendlyUnits.add(user);
+	}
+
+	// Abstract methods to be implemented by subclasses
+	protected abstract void spawnEnemyUnits();
+
+	protected abstract boolean hasReachedGoal();
+
+	/**
+	 * Advances the simulation by one tick: spawning, movement, firing, collisions, cleanup and scoring.
+	 * Does nothing once the level has been won or lost.
+	 */
+	public void tick() {
+		if (status != Status.IN_PROGRESS) {
+			return;
+		}
+		long tickStart = profiler.start();
+		long time = tickStart;
+		if (telemetry != null) {
+			telemetry.setTick(tickCount);
+			if (tickCount == 0) {
+				publishLevelEvent(TelemetryRing.Event.LEVEL_START);
+			}
+		}
+		capturePreviousPositions();
+		spawnEnemyUnits();
+		time = profiler.lap(FrameProfiler.Phase.SPAWN_ENEMY_UNITS, time);
+		updateActors();
+		time = profiler.lap(FrameProfiler.Phase.UPDATE_ACTORS, time);
+		cullOffscreenActors();
+		time = profiler.lap(FrameProfiler.Phase.CULL_OFFSCREEN_ACTORS, time);
+		generateEnemyFire();
+		time = profiler.lap(FrameProfiler.Phase.GENERATE_ENEMY_FIRE, time);
+		updateNumberOfEnemies();
+		handleEnemyPenetration();
+		time = profiler.lap(FrameProfiler.Phase.HANDLE_ENEMY_PENETRATION, time);
+		long allocatedBeforeCollisions = AllocationCounter.currentThreadAllocatedBytes();
+		handleUserProjectileCollisions();
+		time = profiler.lap(FrameProfiler.Phase.USER_PROJECTILE_COLLISIONS, time);
+		handleEnemyProjectileCollisions();
+		time = profiler.lap(FrameProfiler.Phase.ENEMY_PROJECTILE_COLLISIONS, time);
+		handlePlaneCollisions();
+		time = profiler.lap(FrameProfiler.Phase.PLANE_COLLISIONS, time);
+		collisionAllocatedBytes = AllocationCounter.currentThreadAllocatedBytes() - allocatedBeforeCollisions;
+		removeAllDestroyedActors();
+		time = profiler.lap(FrameProfiler.Phase.REMOVE_DESTROYED_ACTORS, time);
+		updateKillCount();
+		updateStatus();
+		tickCount++;
+		profiler.stop(FrameProfiler.Phase.UPDATE_SCORE_AND_STATUS, time);
+		profiler.stop(FrameProfiler.Phase.TICK, tickStart);
+	}
+
+	/**
+	 * Fires a projectile from the user plane and adds it to the world.
+	 */
+	public void fireUserProjectile() {
+		fireUserProjectile(user);
+	}
+
+	/**
+	 * Fires a projectile from one of the players' planes and adds it to the world. A destroyed plane does not fire.
+	 *
+	 * @param player the plane that fires.
+	 */
+	private void fireUserProjectile(UserPlane player) {
+		if (player.isDestroyed()) {
+			return;
+		}
+		ActiveActorDestructible projectile = player.fireProjectile(projectilePools);
+		userProjectiles.add(projectile);
+		listener.actorAdded(projectile);
+	}
+
+	/**
+	 * Applies a press or release of one of the player's controls. Levels queue key events and apply them
+	 * between ticks, so that recorded input replays onto exactly the same ticks.
+	 *
+	 * @param control the control.
+	 * @param pressed true for a press, false for a release.
+	 */
+	public void applyInput(InputControl control, boolean pressed) {
+		applyInput(user, control, pressed);
+	}
+
+	/**
+	 * Applies a press or release of one of the controls of the given player's plane.
+	 *
+	 * @param player  the plane, either the user's or the second player's.
+	 * @param control the control.
+	 * @param pressed true for a press, false for a release.
+	 */
+	public void applyInput(UserPlane player, InputControl control, boolean pressed) {
+		switch (control) {
+			case UP:
+				if (pressed) {
+					player.moveUp();
+				} else {
+					player.stop();
+				}
+				break;
+			case DOWN:
+				if (pressed) {
+					player.moveDown();
+				} else {
+					player.stop();
+				}
+				break;
+			case FIRE:
+				if (pressed) {
+					fireUserProjectile(player);
+				}
+				break;
+		}
+	}
+
+	/**
+	 * Adds a second player's plane for co-op play, below the user's and with the same health. Both players'
+	 * kills count towards the user's kill count and the shared score, and the level is lost once both planes
+	 * are destroyed. Call before the first tick; later calls return the existing plane.
+	 *
+	 * @return the second player's plane.
+	 */
+	public UserPlane addSecondPlayer() {
+		if (secondPlayer == null) {
+			secondPlayer = new UserPlane(user.getHealth(), SECOND_PLAYER_Y_POSITION);
+			secondPlayer.setInvulnerable(user.isInvulnerable());
+			secondPlayer.setTelemetry(telemetry, TelemetryRing.SOURCE_SECOND_PLAYER);
+			friendlyUnits.add(secondPlayer);
+			listener.actorAdded(secondPlayer);
+		}
+		return secondPlayer;
+	}
+
+	/**
+	 * Retrieves the second player's plane.
+	 *
+	 * @return the plane, or {@code null} outside co-op play.
+	 */
+	public UserPlane getSecondPlayer() {
+		return secondPlayer;
+	}
+
+	/**
+	 * Sets the listener notified when actors enter or leave the world.
+	 *
+	 * @param listener the listener, or {@code null} to stop notifying.
+	 */
+	public void setListener(WorldListener listener) {
+		this.listener = listener != null ? listener : WorldListener.NONE;
+	}
+
+	/**
+	 * Sets the ring the world's gameplay events are published to: kills, damage to planes, the boss's shield going up
+	 * and down, and the level starting, being won and being lost. Events are published on the thread that ticks the world.
+	 *
+	 * @param telemetry the ring, or {@code null} to stop publishing.
+	 */
+	public void setTelemetry(TelemetryRing telemetry) {
+		this.telemetry = telemetry;
+		user.setTelemetry(telemetry, TelemetryRing.SOURCE_USER);
+		if (secondPlayer != null) {
+			secondPlayer.setTelemetry(telemetry, TelemetryRing.SOURCE_SECOND_PLAYER);
+		}
+		for (int i = 0; i < enemyUnits.size(); i++) {
+			attachTelemetry(enemyUnits.get(i));
+		}
+	}
+
+	/**
+	 * Removes every actor from the world and returns live projectiles to their pools.
+	 */
+	public void clear() {
+		recycleProjectiles(userProjectiles);
+		recycleProjectiles(enemyProjectiles);
+		friendlyUnits.clear();
+		enemyUnits.clear();
+		userProjectiles.clear();
+		enemyProjectiles.clear();
+		currentNumberOfEnemies = 0;
+		score = 0;
+	}
+
+	/**
+	 * Writes the complete state of play to a {@link WorldSnapshot}: the level and number of players, score, tick count
+	 * and status, the players' planes, every other actor with its kind, the subclass's rules state and finally the
+	 * random source.
+	 *
+	 * @param out the buffer the snapshot is written to.
+	 */
+	void writeState(ByteBuffer out) {
+		out.putInt(getLevelId().hashCode());
+		out.put((byte) getPlayerCount());
+		out.putInt(score);
+		out.putLong(tickCount);
+		out.put((byte) status.ordinal());
+		writePlayer(out, user);
+		if (secondPlayer != null) {
+			writePlayer(out, secondPlayer);
+		}
+		writeActors(out, enemyUnits);
+		writeActors(out, userProjectiles);
+		writeActors(out, enemyProjectiles);
+		writeRulesState(out);
+		random.writeState(out);
+	}
+
+	/**
+	 * Writes the state of play as {@link #writeState(ByteBuffer)} does, moving to a buffer twice the size, with the
+	 * bytes before the state copied over, whenever the world has outgrown the one it has. Crowded worlds are rare,
+	 * so a buffer that is reused from tick to tick soon fits and stays that way.
+	 *
+	 * @param buffer a heap buffer whose array starts at its first byte, positioned where the state goes.
+	 * @return the buffer holding the state, positioned after it: the given one, or a larger one.
+	 */
+	ByteBuffer encodeState(ByteBuffer buffer) {
+		int start = buffer.position();
+		while (true) {
+			try {
+				writeState(buffer);
+				return buffer;
+			} catch (BufferOverflowException e) {
+				ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+				larger.put(buffer.array(), 0, start); // Whatever the caller wrote ahead of the state, such as a header
+				buffer = larger;
+			}
+		}
+	}
+
+	/**
+	 * Replaces the state of play with one written by {@link #writeState(ByteBuffer)}. The listener sees every
+	 * current actor leave and every restored actor enter, and live projectiles go back to their pools first,
+	 * so restored projectiles reuse them.
+	 *
+	 * @param in the buffer the snapshot is read from.
+	 * @throws IllegalArgumentException if the snapshot was taken in another level or with another number of players,
+	 *                                  in which case the world is unchanged, or if it holds an unknown kind of actor.
+	 */
+	void readState(ByteBuffer in) {
+		if (in.getInt() != getLevelId().hashCode()) {
+			throw new IllegalArgumentException("Snapshot was not taken in level " + getLevelId());
+		}
+		if (in.get() != getPlayerCount()) {
+			throw new IllegalArgumentException("Snapshot was not taken with " + getPlayerCount() + " players");
+		}
+		removeAllActors(friendlyUnits);
+		removeAllActors(enemyUnits);
+		removeAllActors(userProjectiles);
+		removeAllActors(enemyProjectiles);
+		score = in.getInt();
+		tickCount = in.getLong();
+		status = Status.values()[in.get()];
+		readPlayer(in, user);
+		if (secondPlayer != null) {
+			readPlayer(in, secondPlayer);
+		}
+		readActors(in, enemyUnits);
+		readActors(in, userProjectiles);
+		readActors(in, enemyProjectiles);
+		currentNumberOfEnemies = enemyUnits.size();
+		readRulesState(in);
+		random.readState(in); // Last, because constructing a boss shuffles its move pattern with the random source
+	}
+
+	/**
+	 * Lets subclasses write the state of their rules, such as wave progress and planned spawns, to a snapshot.
+	 * Worlds whose rules keep no state write nothing.
+	 *
+	 * @param out the buffer the snapshot is written to.
+	 */
+	protected void writeRulesState(ByteBuffer out) {
+	}
+
+	/**
+	 * Lets subclasses restore the state written by {@link #writeRulesState(ByteBuffer)}. Called after the
+	 * actors have been restored.
+	 *
+	 * @param in the buffer the snapshot is read from.
+	 */
+	protected void readRulesState(ByteBuffer in) {
+	}
+
+	/**
+	 * Writes whether a player's plane is destroyed, then its state.
+	 *
+	 * @param out    the buffer the snapshot is written to.
+	 * @param player the plane.
+	 */
+	private static void writePlayer(ByteBuffer out, UserPlane player) {
+		out.put((byte) (player.isDestroyed() ? 1 : 0));
+		player.writeState(out);
+	}
+
+	/**
+	 * Restores a player's plane written by {@link #writePlayer(ByteBuffer, UserPlane)}, and puts it back among the
+	 * friendly units unless it was destroyed.
+	 *
+	 * @param in     the buffer the snapshot is read from.
+	 * @param player the plane.
+	 */
+	private void readPlayer(ByteBuffer in, UserPlane player) {
+		boolean destroyed = in.get() != 0;
+		player.readState(in);
+		player.setDestroyed(destroyed);
+		if (!destroyed) {
+			friendlyUnits.add(player);
+			listener.actorAdded(player);
+		}
+	}
+
+	/**
+	 * Counts the players' planes in the world, destroyed or not.
+	 *
+	 * @return 2 in co-op play, 1 otherwise.
+	 */
+	private int getPlayerCount() {
+		return secondPlayer != null ? 2 : 1;
+	}
+
+	/**
+	 * Writes the number of actors in a list, then the kind and state of each.
+	 *
+	 * @param out    the buffer the snapshot is written to.
+	 * @param actors the actors to write.
+	 */
+	private static void writeActors(ByteBuffer out, List<ActiveActorDestructible> actors) {
+		out.putInt(actors.size());
+		for (int i = 0; i < actors.size(); i++) {
+			ActiveActorDestructible actor = actors.get(i);
+			out.put(kindOf(actor));
+			actor.writeState(out);
+		}
+	}
+
+	/**
+	 * Recreates the actors written by {@link #writeActors(ByteBuffer, List)} and adds them to a registry.
+	 *
+	 * @param in     the buffer the snapshot is read from.
+	 * @param actors the registry the actors belong in.
+	 */
+	private void readActors(ByteBuffer in, ActorRegistry actors) {
+		int count = in.getInt();
+		for (int i = 0; i < count; i++) {
+			ActiveActorDestructible actor = createActor(in.get());
+			actor.readState(in);
+			attachTelemetry(actor);
+			actors.add(actor);
+			listener.actorAdded(actor);
+		}
+	}
+
+	/**
+	 * Identifies the kind of an actor in a snapshot.
+	 *
+	 * @param actor the actor.
+	 * @return the actor's kind.
+	 * @throws IllegalStateException if the actor is of a kind snapshots do not know.
+	 */
+	private static byte kindOf(ActiveActorDestructible actor) {
+		if (actor instanceof EnemyPlane) {
+			return ENEMY_PLANE;
+		} else if (actor instanceof Boss) {
+			return BOSS;
+		} else if (actor instanceof UserProjectile) {
+			return USER_PROJECTILE;
+		} else if (actor instanceof EnemyProjectile) {
+			return ENEMY_PROJECTILE;
+		} else if (actor instanceof BossProjectile) {
+			return BOSS_PROJECTILE;
+		}
+		throw new IllegalStateException("Cannot snapshot " + actor.getClass().getSimpleName());
+	}
+
+	/**
+	 * Creates an actor of the given kind, to have its state read from a snapshot. Projectiles come from the world's pools.
+	 *
+	 * @param kind the actor's kind.
+	 * @return the new actor.
+	 * @throws IllegalArgumentException if the kind is unknown.
+	 */
+	private ActiveActorDestructible createActor(byte kind) {
+		switch (kind) {
+			case ENEMY_PLANE:
+				return new EnemyPlane(0, 0, random);
+			case BOSS:
+				return new Boss(random);
+			case USER_PROJECTILE:
+				return UserProjectile.obtain(projectilePools, 0, 0);
+			case ENEMY_PROJECTILE:
+				return EnemyProjectile.obtain(projectilePools, 0, 0);
+			case BOSS_PROJECTILE:
+				return BossProjectile.obtain(projectilePools, 0);
+			default:
+				throw new IllegalArgumentException("Unknown actor kind " + kind);
+		}
+	}
+
+	/**
+	 * Notifies the listener that every actor in a registry is leaving, returns projectiles to their pools and empties the registry.
+	 *
+	 * @param actors the registry to empty.
+	 */
+	private void removeAllActors(ActorRegistry actors) {
+		for (int i = 0; i < actors.size(); i++) {
+			actorRemoved(actors.get(i));
+		}
+		actors.clear();
+	}
+
+	/**
+	 * Lets subclasses tell the sprites their level spawns to a preloader. The user's projectile is always included.
+	 *
+	 * @param preloader receives the sprites.
+	 */
+	public void preloadSprites(SpritePreloader preloader) {
+		UserProjectile.preload(preloader);
+	}
+
+	/**
+	 * Generates enemy fire by spawning projectiles for each enemy.
+	 */
+	private void generateEnemyFire() {
+		for (int i = 0; i < enemyUnits.size(); i++) {
+			spawnEnemyProjectile(((FighterPlane) enemyUnits.get(i)).fireProjectile(projectilePools));
+		}
+	}
+
+	/**
+	 * Spawns a projectile for an enemy and adds it to the projectile list.
+	 *
+	 * @param projectile the projectile to be spawned
+	 */
+	private void spawnEnemyProjectile(ActiveActorDestructible projectile) {
+		if (projectile != null) {
+			enemyProjectiles.add(projectile);
+			listener.actorAdded(projectile);
+		}
+	}
+
+	/**
+	 * Updates the position and state of all active actors in the game.
+	 */
+	private void updateActors() {
+		friendlyUnits.forEach(plane -> plane.updateActor());
+		enemyUnits.forEach(enemy -> enemy.updateActor());
+		userProjectiles.forEach(projectile -> projectile.updateActor());
+		enemyProjectiles.forEach(projectile -> projectile.updateActor());
+		refreshBounds(friendlyUnits);
+		refreshBounds(enemyUnits);
+		refreshBounds(userProjectiles);
+		refreshBounds(enemyProjectiles);
+	}
+
+	/**
+	 * Records where every actor is before this tick moves it, for interpolated rendering.
+	 */
+	private void capturePreviousPositions() {
+		capturePreviousPositions(friendlyUnits);
+		capturePreviousPositions(enemyUnits);
+		capturePreviousPositions(userProjectiles);
+		capturePreviousPositions(enemyProjectiles);
+	}
+
+	/**
+	 * Records the current position of each of the given actors as its previous position.
+	 *
+	 * @param actors the actors about to move
+	 */
+	private void capturePreviousPositions(List<ActiveActorDestructible> actors) {
+		for (int i = 0; i < actors.size(); i++) {
+			actors.get(i).capturePreviousPosition();
+		}
+	}
+
+	/**
+	 * Refreshes the cached bounding boxes of the given actors after they have moved.
+	 *
+	 * @param actors the actors whose bounds are refreshed
+	 */
+	private void refreshBounds(List<ActiveActorDestructible> actors) {
+		for (int i = 0; i < actors.size(); i++) {
+			actors.get(i).updateBounds();
+		}
+	}
+
+	/**
+	 * Despawns projectiles that have flown out of the viewport, so they stop being updated and collision-checked.
+	 * Enemy planes are left to {@link #handleEnemyPenetration()}, which damages the user when they get through.
+	 */
+	private void cullOffscreenActors() {
+		viewportCuller.cull(userProjectiles);
+		viewportCuller.cull(enemyProjectiles);
+	}
+
+	/**
+	 * Removes all destroyed actors from their respective lists.
+	 */
+	private void removeAllDestroyedActors() {
+		removeDestroyedActors(friendlyUnits);
+		removeDestroyedActors(enemyUnits);
+		removeDestroyedActors(userProjectiles);
+		removeDestroyedActors(enemyProjectiles);
+	}
+
+	/**
+	 * Removes the actors destroyed this tick from the specified registry and notifies the listener.
+	 * Only the destroyed actors are visited, and nothing is allocated.
+	 * Package-private so the benchmarks can measure it on its own.
+	 *
+	 * @param actors the registry of actors to be updated
+	 * @return the number of actors removed
+	 */
+	int removeDestroyedActors(ActorRegistry actors) {
+		return actors.removeDestroyed(removalHandler);
+	}
+
+	/**
+	 * Notifies the listener that an actor has left the world, then returns it to its pool if it is a projectile.
+	 *
+	 * @param actor the removed actor
+	 */
+	private void actorRemoved(ActiveActorDestructible actor) {
+		listener.actorRemoved(actor);
+		if (actor instanceof Projectile) {
+			((Projectile) actor).recycle();
+		}
+	}
+
+	/**
+	 * Handles collisions between friendly and enemy planes.
+	 */
+	private void handlePlaneCollisions() {
+		handleCollisions(friendlyUnits, enemyUnits);
+	}
+
+	/**
+	 * Handles collisions between user projectiles and enemy units.
+	 */
+	private void handleUserProjectileCollisions() {
+		handleCollisions(userProjectiles, enemyUnits);
+	}
+
+	/**
+	 * Handles collisions between enemy projectiles and friendly units.
+	 */
+	private void handleEnemyProjectileCollisions() {
+		handleCollisions(enemyProjectiles, friendlyUnits);
+	}
+
+	/**
+	 * Detects and processes collisions between two lists of actors, applying damage to both parties.
+	 * By default a spatial hash limits the checks to actors in neighbouring cells; with the spatial hash
+	 * disabled every pair is checked, which gives the same result and serves as a reference.
+	 * Package-private so the benchmarks can measure it on its own.
+	 *
+	 * @param actors1 the first list of actors
+	 * @param actors2 the second list of actors
+	 */
+	void handleCollisions(List<ActiveActorDestructible> actors1, List<ActiveActorDestructible> actors2) {
+		if (spatialHashEnabled) {
+			collisionGrid.build(actors2);
+			collisionGrid.forEachCandidatePair(actors1, collisionHandler);
+		} else {
+			for (int i = 0; i < actors2.size(); i++) {
+				for (int j = 0; j < actors1.size(); j++) {
+					resolveCollision(actors2.get(i), actors1.get(j));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Applies damage to both actors if their cached bounding boxes intersect.
+	 *
+	 * @param actor      the actor from the second collision list
+	 * @param otherActor the actor from the first collision list
+	 */
+	private void resolveCollision(ActiveActorDestructible actor, ActiveActorDestructible otherActor) {
+		if (actor.intersects(otherActor)) {
+			actor.takeDamage();
+			otherActor.takeDamage();
+		}
+	}
+
+	/**
+	 * Handles enemies that penetrate the user's defenses, reducing the user's health and destroying the enemy.
+	 * In co-op play the second player takes the damage once the user's plane is destroyed.
+	 */
+	private void handleEnemyPenetration() {
+		for (int i = 0; i < enemyUnits.size(); i++) {
+			ActiveActorDestructible enemy = enemyUnits.get(i);
+			if (enemyHasPenetratedDefenses(enemy)) {
+				(user.isDestroyed() && secondPlayer != null ? secondPlayer : user).takeDamage();
+				enemy.destroy();
+			}
+		}
+	}
+
+	/**
+	 * Updates the kill count and increments the score for each enemy destroyed.
+	 */
+	private void updateKillCount() {
+		int newKills = currentNumberOfEnemies - enemyUnits.size();
+		for (int i = 0; i < newKills; i++) {
+			user.incrementKillCount();
+			score += POINTS_PER_KILL;
+		}
+	}
+
+	/**
+	 * Checks if an enemy has penetrated the user's defenses.
+	 *
+	 * @param enemy the enemy to check
+	 * @return true if the enemy has moved beyond the screen bounds, false otherwise
+	 */
+	private boolean enemyHasPenetratedDefenses(ActiveActorDestructible enemy) {
+		return Math.abs(enemy.getTranslateX()) > screenWidth;
+	}
+
+	/**
+	 * Decides whether the level has been lost or won after this tick.
+	 */
+	private void updateStatus() {
+		if (user.isDestroyed() && (secondPlayer == null || secondPlayer.isDestroyed())) {
+			status = Status.LOST;
+			publishLevelEvent(TelemetryRing.Event.LEVEL_LOST);
+		} else if (hasReachedGoal()) {
+			status = Status.WON;
+			publishLevelEvent(TelemetryRing.Event.LEVEL_WON);
+		}
+	}
+
+	/**
+	 * Publishes an event of the level as a whole, with the level's ID hash, if the world has a telemetry ring.
+	 *
+	 * @param event the level event.
+	 */
+	private void publishLevelEvent(TelemetryRing.Event event) {
+		if (telemetry != null) {
+			telemetry.publish(event, TelemetryRing.SOURCE_LEVEL, getLevelId().hashCode());
+		}
+	}
+
+	/**
+	 * Sends an enemy plane's events to the world's telemetry ring. Other actors publish no events.
+	 *
+	 * @param actor the actor entering the world.
+	 */
+	private void attachTelemetry(ActiveActorDestructible actor) {
+		if (actor instanceof FighterPlane) {
+			((FighterPlane) actor).setTelemetry(telemetry, actor instanceof Boss ? TelemetryRing.SOURCE_BOSS : TelemetryRing.SOURCE_ENEMY);
+		}
+	}
+
+	/**
+	 * Returns every projectile in the given list to its pool.
+	 *
+	 * @param projectiles the list of projectiles that are no longer in the world
+	 */
+	private void recycleProjectiles(List<ActiveActorDestructible> projectiles) {
+		for (ActiveActorDestructible projectile : projectiles) {
+			((Projectile) projectile).recycle();
+		}
+	}
+
+	/**
+	 * Adds a new enemy unit to the game.
+	 *
+	 * @param enemy the {@code ActiveActorDestructible} enemy to add.
+	 */
+	protected void addEnemyUnit(ActiveActorDestructible enemy) {
+		attachTelemetry(enemy);
+		enemyUnits.add(enemy);
+		listener.actorAdded(enemy);
+	}
+
+	/**
+	 * Gets the current number of enemy units present in the game.
+	 *
+	 * @return the number of enemies in the {@code enemyUnits} list.
+	 */
+	protected int getCurrentNumberOfEnemies() {
+		return enemyUnits.size();
+	}
+
+	/**
+	 * Updates the count of active enemy units in the game.
+	 */
+	private void updateNumberOfEnemies() {
+		currentNumberOfEnemies = enemyUnits.size();
+	}
+
+	/**
+	 * Identifies the level the world plays, so a snapshot is only restored into a world of the same level.
+	 * Subclasses played from a level definition return its ID.
+	 *
+	 * @return the level's ID; by default the world's class name.
+	 */
+	public String getLevelId() {
+		return getClass().getSimpleName();
+	}
+
+	/**
+	 * Retrieves the projectile pools this world's planes fire from.
+	 *
+	 * @return the world's projectile pools.
+	 */
+	public ProjectilePools getProjectilePools() {
+		return projectilePools;
+	}
+
+	/**
+	 * Retrieves the world's random source, to be passed to actors that make random decisions.
+	 *
+	 * @return the world's {@code GameRandom}.
+	 */
+	public GameRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Retrieves the profiler timing this world's tick phases. A level records its per-frame phases into it too.
+	 *
+	 * @return the world's frame profiler.
+	 */
+	public FrameProfiler getProfiler() {
+		return profiler;
+	}
+
+	/**
+	 * Retrieves the user's plane in the game.
+	 *
+	 * @return the {@code UserPlane} representing the player's character.
+	 */
+	public UserPlane getUser() {
+		return user;
+	}
+
+	/**
+	 * Retrieves the friendly units, starting with the user's plane.
+	 *
+	 * @return the live friendly units.
+	 */
+	public List<ActiveActorDestructible> getFriendlyUnits() {
+		return friendlyUnits;
+	}
+
+	/**
+	 * Retrieves the enemy units.
+	 *
+	 * @return the live enemy units.
+	 */
+	public List<ActiveActorDestructible> getEnemyUnits() {
+		return enemyUnits;
+	}
+
+	/**
+	 * Retrieves the projectiles fired by the user.
+	 *
+	 * @return the live user projectiles.
+	 */
+	public List<ActiveActorDestructible> getUserProjectiles() {
+		return userProjectiles;
+	}
+
+	/**
+	 * Retrieves the projectiles fired by enemies.
+	 *
+	 * @return the live enemy projectiles.
+	 */
+	public List<ActiveActorDestructible> getEnemyProjectiles() {
+		return enemyProjectiles;
+	}
+
+	/**
+	 * Retrieves the player's score.
+	 *
+	 * @return the score.
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Retrieves the number of ticks simulated so far.
+	 *
+	 * @return the tick count.
+	 */
+	public long getTickCount() {
+		return tickCount;
+	}
+
+	/**
+	 * Retrieves the simulated time at the start of the current tick.
+	 *
+	 * @return the ticks simulated so far, in milliseconds.
+	 */
+	public long getElapsedMillis() {
+		return tickCount * TICK_MILLIS;
+	}
+
+	/**
+	 * Retrieves the state of play after the last tick.
+	 *
+	 * @return the world status.
+	 */
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * Retrieves the culler that despawns off-screen actors, for configuring its margin or reading its counters.
+	 *
+	 * @return the world's {@code ViewportCuller}.
+	 */
+	public ViewportCuller getViewportCuller() {
+		return viewportCuller;
+	}
+
+	/**
+	 * Switches between the spatial hash broad phase and brute-force pairwise collision checks.
+	 * The default comes from the {@code skybattle.collisions} system property.
+	 *
+	 * @param spatialHashEnabled {@code true} to use the spatial hash, {@code false} to check every pair.
+	 */
+	public void setSpatialHashEnabled(boolean spatialHashEnabled) {
+		this.spatialHashEnabled = spatialHashEnabled;
+	}
+
+	/**
+	 * Retrieves the number of bytes the game thread allocated during the last tick's collision phase.
+	 *
+	 * @return the allocated byte count, or a negative value if the JVM cannot measure allocation.
+	 */
+	public long getCollisionAllocatedBytes() {
+		return collisionAllocatedBytes;
+	}
+
+	/**
+	 * Counts the actors currently alive in the world.
+	 *
+	 * @return the combined size of the friendly, enemy and projectile lists.
+	 */
+	public int getLiveActorCount() {
+		return friendlyUnits.size() + enemyUnits.size() + userProjectiles.size() + enemyProjectiles.size();
+	}
+
+	/**
+	 * Retrieves the maximum Y position an enemy can spawn at.
+	 *
+	 * @return the maximum Y-coordinate for enemy placement.
+	 */
+	protected double getEnemyMaximumYPosition() {
+		return enemyMaximumYPosition;
+	}
+
+	/**
+	 * Retrieves the width of the playing field.
+	 *
+	 * @return the screen width as a double.
+	 */
+	public double getScreenWidth() {
+		return screenWidth;
+	}
+
+	/**
+	 * Retrieves the height of the playing field.
+	 *
+	 * @return the screen height as a double.
+	 */
+	public double getScreenHeight() {
+		return screenHeight;
+	}
+}
@@ -0,0 +1,260 @@
+package main.java.com.example.demo;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+
+/**
+ * Plays a level's rules from the command line, with no JavaFX toolkit, stage or scene, as fast as the CPU allows.
+ * The player is driven by an {@link InputPolicy}: a recorded replay, random input, or none. When the run ends it
+ * reports the outcome, the simulation speed in ticks per second and how much the game thread allocated.
+ *
+ * <pre>
+ * java -cp target/classes main.java.com.example.demo.HeadlessRunner [--level ID] [--seed N]
+ *     [--input idle|random|REPLAY_FILE] [--max-ticks N]
+ * </pre>
+ * A replay file fixes the level and the seed it was recorded with. Without {@code --max-ticks} a run stops after
+ * an hour of simulated time, so endless levels finish too.
+ */
+public class HeadlessRunner {
+
+	private static final long DEFAULT_MAX_TICKS = 3_600_000L / GameWorld.TICK_MILLIS; // One hour of simulated time
+	private static final double NANOS_PER_SECOND = 1e9;
+	private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	/**
+	 * The outcome and cost of one headless run.
+	 */
+	public static final class Result {
+		private final GameWorld.Status status;
+		private final long ticks;
+		private final int score;
+		private final int kills;
+		private final long elapsedNanos;
+		private final long cpuNanos;
+		private final long allocatedBytes;
+
+		private Result(GameWorld.Status status, long ticks, int score, int kills, long elapsedNanos, long cpuNanos, long allocatedBytes) {
+			this.status = status;
+			this.ticks = ticks;
+			this.score = score;
+			this.kills = kills;
+			this.elapsedNanos = elapsedNanos;
+			this.cpuNanos = cpuNanos;
+			this.allocatedBytes = allocatedBytes;
+		}
+
+		/**
+		 * Retrieves how the level ended.
+		 *
+		 * @return WON or LOST, or IN_PROGRESS if the run hit its tick limit.
+		 */
+		public GameWorld.Status getStatus() {
+			return status;
+		}
+
+		/**
+		 * Retrieves the number of ticks simulated.
+		 *
+		 * @return the tick count.
+		 */
+		public long getTicks() {
+			return ticks;
+		}
+
+		/**
+		 * Retrieves the player's final score.
+		 *
+		 * @return the score.
+		 */
+		public int getScore() {
+			return score;
+		}
+
+		/**
+		 * Retrieves the player's kills.
+		 *
+		 * @return the kill count.
+		 */
+		public int getKills() {
+			return kills;
+		}
+
+		/**
+		 * Retrieves the wall-clock time the run took.
+		 *
+		 * @return the elapsed time in nanoseconds.
+		 */
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		/**
+		 * Retrieves the CPU time the game thread spent on the run, which unlike the wall-clock time does not grow
+		 * when games share a core.
+		 *
+		 * @return the CPU time in nanoseconds, or 0 if the JVM cannot measure it.
+		 */
+		public long getCpuNanos() {
+			return cpuNanos;
+		}
+
+		/**
+		 * Retrieves the bytes the game thread allocated during the run.
+		 *
+		 * @return the allocated bytes, or 0 if the JVM cannot count them.
+		 */
+		public long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+
+		/**
+		 * Computes the simulation speed.
+		 *
+		 * @return the ticks simulated per wall-clock second.
+		 */
+		public double getTicksPerSecond() {
+			return ticks * NANOS_PER_SECOND / Math.max(1, elapsedNanos);
+		}
+
+		/**
+		 * Computes the allocation rate.
+		 *
+		 * @return the bytes allocated per wall-clock second.
+		 */
+		public double getAllocatedBytesPerSecond() {
+			return allocatedBytes * NANOS_PER_SECOND / Math.max(1, elapsedNanos);
+		}
+	}
+
+	/**
+	 * Runs a level from the command line and prints its report.
+	 *
+	 * @param args the options described in the class comment.
+	 * @throws IOException if the replay file cannot be read.
+	 */
+	public static void main(String[] args) throws IOException {
+		String levelId = null;
+		Long seed = null;
+		String input = "random";
+		long maxTicks = DEFAULT_MAX_TICKS;
+		for (int i = 0; i < args.length; i++) {
+			String value = i + 1 < args.length ? args[i + 1] : null;
+			switch (args[i]) {
+				case "--level" -> levelId = value;
+				case "--seed" -> seed = value != null ? Long.parseLong(value) : null;
+				case "--input" -> input = value;
+				case "--max-ticks" -> maxTicks = value != null ? Long.parseLong(value) : -1;
+				default -> usage("Unknown option " + args[i]);
+			}
+			if (value == null) {
+				usage(args[i] + " needs a value");
+			}
+			i++;
+		}
+
+		InputPolicy policy;
+		if ("idle".equals(input) || "random".equals(input)) {
+			if (levelId == null) {
+				levelId = LevelDefinition.loadIndex().get(0);
+			}
+			if (seed == null) {
+				seed = GameRandom.newSeed();
+			}
+			policy = createPolicy(input, seed);
+		} else {
+			Replay replay = Replay.read(Path.of(input));
+			levelId = replay.getLevelName();
+			seed = replay.getSeed();
+			policy = new ReplayPlayer(replay);
+		}
+
+		System.out.println("Level " + levelId + ", seed " + seed + ", input " + input);
+		Result result = run(LevelDefinition.load(levelId), seed, policy, maxTicks, TelemetryWriter.getSharedRing());
+		report(result);
+	}
+
+	/**
+	 * Plays a level until it is won or lost or the tick limit is reached.
+	 *
+	 * @param definition the level to play.
+	 * @param seed       the seed of the level's world.
+	 * @param policy     drives the player.
+	 * @param maxTicks   the most ticks to simulate.
+	 * @return the outcome and cost of the run.
+	 */
+	public static Result run(LevelDefinition definition, long seed, InputPolicy policy, long maxTicks) {
+		return run(definition, seed, policy, maxTicks, null);
+	}
+
+	/**
+	 * Plays a level until it is won or lost or the tick limit is reached, publishing its gameplay events.
+	 *
+	 * @param definition the level to play.
+	 * @param seed       the seed of the level's world.
+	 * @param policy     drives the player.
+	 * @param maxTicks   the most ticks to simulate.
+	 * @param telemetry  the ring the events go to, or {@code null} for none; only this thread may publish to it.
+	 * @return the outcome and cost of the run.
+	 */
+	public static Result run(LevelDefinition definition, long seed, InputPolicy policy, long maxTicks, TelemetryRing telemetry) {
+		GameWorld world = new WaveWorld(definition, GameWorld.SCREEN_HEIGHT, GameWorld.SCREEN_WIDTH, seed);
+		world.setTelemetry(telemetry);
+		world.getProfiler().setEnabled(false);
+		long allocatedBefore = AllocationCounter.currentThreadAllocatedBytes();
+		long cpuBefore = THREADS.getCurrentThreadCpuTime();
+		long start = System.nanoTime();
+		while (world.getStatus() == GameWorld.Status.IN_PROGRESS && world.getTickCount() < maxTicks) {
+			policy.applyDueInputs(world);
+			world.tick();
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		long cpuNanos = THREADS.getCurrentThreadCpuTime() - cpuBefore;
+		long allocatedBytes = AllocationCounter.currentThreadAllocatedBytes() - allocatedBefore;
+		Result result = new Result(world.getStatus(), world.getTickCount(), world.getScore(),
+				world.getUser().getNumberOfKills(), elapsedNanos, cpuNanos, allocatedBytes);
+		world.clear();
+		return result;
+	}
+
+	/**
+	 * Creates a policy that generates input, seeded from the game so a rerun with the same seed plays the same way.
+	 *
+	 * @param input    {@code idle} or {@code random}.
+	 * @param gameSeed the seed of the game's world.
+	 * @return the input policy.
+	 */
+	static InputPolicy createPolicy(String input, long gameSeed) {
+		return "idle".equals(input) ? InputPolicy.IDLE : new RandomInputPolicy(gameSeed + 1);
+	}
+
+	/**
+	 * Prints a run's outcome, speed and allocation rate.
+	 *
+	 * @param result the run to report.
+	 */
+	private static void report(Result result) {
+		String outcome = result.getStatus() == GameWorld.Status.IN_PROGRESS ? "UNFINISHED" : result.getStatus().toString();
+		System.out.printf("Outcome %s after %d ticks (%.1f s simulated): score %d, %d kills%n",
+				outcome, result.getTicks(), result.getTicks() * GameWorld.TICK_MILLIS / 1000.0, result.getScore(), result.getKills());
+		System.out.printf("Ran %d ticks in %.1f ms: %.0f ticks/s, %.0fx real time%n",
+				result.getTicks(), result.getElapsedNanos() / 1e6, result.getTicksPerSecond(),
+				result.getTicksPerSecond() * GameWorld.TICK_MILLIS / 1000.0);
+		System.out.printf("Allocated %.1f MB: %.1f MB/s, %.0f bytes/tick%n",
+				result.getAllocatedBytes() / BYTES_PER_MEGABYTE, result.getAllocatedBytesPerSecond() / BYTES_PER_MEGABYTE,
+				(double) result.getAllocatedBytes() / Math.max(1, result.getTicks()));
+	}
+
+	/**
+	 * Prints the usage and exits.
+	 *
+	 * @param problem what was wrong with the command line.
+	 */
+	private static void usage(String problem) {
+		System.err.println(problem);
+		System.err.println("Usage: HeadlessRunner [--level ID] [--seed N] [--input idle|random|REPLAY_FILE] [--max-ticks N]");
+		System.exit(2);
+	}
+}
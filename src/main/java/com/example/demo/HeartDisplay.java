@@ -1,6 +1,5 @@
 package main.java.com.example.demo;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 
@@ -50,13 +49,22 @@ public class HeartDisplay {
 	 */
 	private void initializeHearts() {
 		for (int i = 0; i < numberOfHeartsToDisplay; i++) {
-			ImageView heart = new ImageView(new Image(getClass().getResource(HEART_IMAGE_NAME).toExternalForm()));
-			heart.setFitHeight(HEART_HEIGHT);
-			heart.setPreserveRatio(true);
-			container.getChildren().add(heart);
+			container.getChildren().add(createHeart());
 		}
 	}
 
+	/**
+	 * Creates one heart image.
+	 *
+	 * @return the heart's {@link ImageView}.
+	 */
+	private ImageView createHeart() {
+		ImageView heart = new ImageView(SpriteCache.getInstance().getImage(HEART_IMAGE_NAME, HEART_HEIGHT));
+		heart.setFitHeight(HEART_HEIGHT);
+		heart.setPreserveRatio(true);
+		return heart;
+	}
+
 	/**
 	 * Removes one heart from the display, starting from the leftmost heart.
 	 * If no hearts remain, this method does nothing.
@@ -67,6 +75,31 @@ public class HeartDisplay {
 		}
 	}
 
+	/**
+	 * Removes hearts from the left until at most the given number remain, as a single change to the container.
+	 *
+	 * @param heartsRemaining the number of hearts to keep.
+	 */
+	public void removeHeartsDownTo(int heartsRemaining) {
+		int excess = container.getChildren().size() - Math.max(heartsRemaining, 0);
+		if (excess > 0) {
+			container.getChildren().remove(INDEX_OF_FIRST_ITEM, excess);
+		}
+	}
+
+	/**
+	 * Shows exactly the given number of hearts, removing hearts from the left or adding them back as needed.
+	 * Health only grows when a saved game is restored.
+	 *
+	 * @param hearts the number of hearts to show.
+	 */
+	public void setHearts(int hearts) {
+		removeHeartsDownTo(hearts);
+		while (container.getChildren().size() < hearts) {
+			container.getChildren().add(createHeart());
+		}
+	}
+
 	/**
 	 * Retrieves the container holding the heart images.
 	 *
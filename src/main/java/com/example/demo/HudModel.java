@@ -0,0 +1,134 @@
+package main.java.com.example.demo;
+
+/**
+ * The values shown on a level's HUD, with change tracking.
+ * A level writes the current values into the model once per frame; setters that do not change a value are ignored,
+ * and {@link LevelView#updateHud(HudModel)} only touches the nodes whose values are marked dirty.
+ * This keeps steady frames from rewriting labels or the heart row, and the layout passes that would follow.
+ */
+public class HudModel {
+
+	// Dirty flags, one per value
+	static final int SCORE = 1;
+	static final int PLAYER_HEALTH = 1 << 1;
+	static final int BOSS_HEALTH = 1 << 2;
+	static final int SHIELD = 1 << 3;
+
+	private static final int UNSET = -1; // Forces the first write of every value through
+
+	private int score = UNSET;
+	private int playerHealth = UNSET;
+	private int bossHealth = UNSET;
+	private boolean shieldActive;
+	private int dirty;
+
+	/**
+	 * Sets the player's score.
+	 *
+	 * @param score the current score.
+	 */
+	public void setScore(int score) {
+		if (score != this.score) {
+			this.score = score;
+			dirty |= SCORE;
+		}
+	}
+
+	/**
+	 * Sets the player's remaining health.
+	 *
+	 * @param playerHealth the current health.
+	 */
+	public void setPlayerHealth(int playerHealth) {
+		if (playerHealth != this.playerHealth) {
+			this.playerHealth = playerHealth;
+			dirty |= PLAYER_HEALTH;
+		}
+	}
+
+	/**
+	 * Sets the boss's remaining health.
+	 *
+	 * @param bossHealth the current boss health.
+	 */
+	public void setBossHealth(int bossHealth) {
+		if (bossHealth != this.bossHealth) {
+			this.bossHealth = bossHealth;
+			dirty |= BOSS_HEALTH;
+		}
+	}
+
+	/**
+	 * Sets whether the boss's shield is up.
+	 *
+	 * @param shieldActive true if the shield is active.
+	 */
+	public void setShieldActive(boolean shieldActive) {
+		if (shieldActive != this.shieldActive) {
+			this.shieldActive = shieldActive;
+			dirty |= SHIELD;
+		}
+	}
+
+	/**
+	 * Checks whether any of the given values changed since the HUD was last updated.
+	 *
+	 * @param flags one or more of the dirty flags.
+	 * @return true if any of them changed.
+	 */
+	public boolean isDirty(int flags) {
+		return (dirty & flags) != 0;
+	}
+
+	/**
+	 * Checks whether anything changed since the HUD was last updated.
+	 *
+	 * @return true if the HUD needs updating.
+	 */
+	public boolean isDirty() {
+		return dirty != 0;
+	}
+
+	/**
+	 * Marks every value as shown. Called once the HUD has been updated.
+	 */
+	public void clearDirty() {
+		dirty = 0;
+	}
+
+	/**
+	 * Retrieves the player's score.
+	 *
+	 * @return the score.
+	 */
+	public int getScore() {
+		return score;
+	}
+
+	/**
+	 * Retrieves the player's remaining health.
+	 *
+	 * @return the player's health.
+	 */
+	public int getPlayerHealth() {
+		return playerHealth;
+	}
+
+	/**
+	 * Retrieves the boss's remaining health.
+	 *
+	 * @return the boss's health.
+	 */
+	public int getBossHealth() {
+		return bossHealth;
+	}
+
+	/**
+	 * Checks whether the boss's shield is up.
+	 *
+	 * @return true if the shield is active.
+	 */
+	public boolean isShieldActive() {
+		return shieldActive;
+	}
+}
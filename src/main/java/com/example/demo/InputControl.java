@@ -0,0 +1,49 @@
+package main.java.com.example.demo;
+
+/**
+ * The player's controls, independent of the keys they are bound to.
+ * A press or release of a control is encoded as a small integer, which is how input is queued between ticks
+ * and stored in replay files.
+ */
+public enum InputControl {
+	UP,
+	DOWN,
+	FIRE;
+
+	private static final InputControl[] CONTROLS = values();
+
+	/**
+	 * Encodes a press or release of this control.
+	 *
+	 * @param pressed true for a press, false for a release.
+	 * @return the event code.
+	 */
+	public int encode(boolean pressed) {
+		return ordinal() << 1 | (pressed ? 1 : 0);
+	}
+
+	/**
+	 * Decodes the control of an event code.
+	 *
+	 * @param code the event code.
+	 * @return the control the event is for.
+	 * @throws IllegalArgumentException if the code does not name a control.
+	 */
+	public static InputControl decode(int code) {
+		int ordinal = code >>> 1;
+		if (code < 0 || ordinal >= CONTROLS.length) {
+			throw new IllegalArgumentException("Unknown input event code: " + code);
+		}
+		return CONTROLS[ordinal];
+	}
+
+	/**
+	 * Checks whether an event code is a press.
+	 *
+	 * @param code the event code.
+	 * @return true for a press, false for a release.
+	 */
+	public static boolean isPress(int code) {
+		return (code & 1) != 0;
+	}
+}
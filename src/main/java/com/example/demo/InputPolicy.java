@@ -0,0 +1,21 @@
+package main.java.com.example.demo;
+
+/**
+ * Decides the player's input when no one is at the keyboard. Headless runs consult a policy right before every
+ * tick; a {@link ReplayPlayer} plays recorded input back, a {@link RandomInputPolicy} makes it up.
+ */
+public interface InputPolicy {
+
+	/**
+	 * A policy that never touches the controls.
+	 */
+	InputPolicy IDLE = world -> {
+	};
+
+	/**
+	 * Applies the input for the world's next tick. Called right before {@link GameWorld#tick()}.
+	 *
+	 * @param world the world being played.
+	 */
+	void applyDueInputs(GameWorld world);
+}
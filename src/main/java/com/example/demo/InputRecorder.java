@@ -0,0 +1,102 @@
+package main.java.com.example.demo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Records the player's input during a level, stamped with the tick it was applied on, and writes it out as a
+ * replay file together with the level's seed. Since a world is deterministic for a given seed and input,
+ * playing the file back with a {@link ReplayPlayer} reproduces the level exactly.
+ * Events are held in memory in the file's compact form: a varint tick delta and a one-byte event code each.
+ */
+public class InputRecorder {
+
+	static final int MAGIC = 0x534B5952; // "SKYR"
+	static final int VERSION = 1;
+
+	private final String levelName;
+	private final long seed;
+	private final ByteArrayOutputStream events;
+	private int eventCount;
+	private long lastTick;
+
+	/**
+	 * Constructs a recorder for one level.
+	 *
+	 * @param levelName the name of the level being played.
+	 * @param seed      the seed the level's world was created with.
+	 */
+	public InputRecorder(String levelName, long seed) {
+		this.levelName = levelName;
+		this.seed = seed;
+		this.events = new ByteArrayOutputStream();
+	}
+
+	/**
+	 * Records a press or release applied before the given tick.
+	 *
+	 * @param tick    the number of the tick the input was applied before.
+	 * @param control the control.
+	 * @param pressed true for a press, false for a release.
+	 * @throws IllegalArgumentException if the tick is earlier than the last recorded one.
+	 */
+	public void record(long tick, InputControl control, boolean pressed) {
+		if (tick < lastTick) {
+			throw new IllegalArgumentException("Input recorded out of order at tick " + tick);
+		}
+		writeVarLong(events, tick - lastTick);
+		events.write(control.encode(pressed));
+		lastTick = tick;
+		eventCount++;
+	}
+
+	/**
+	 * Writes the replay file.
+	 *
+	 * @param file    the file to write.
+	 * @param endTick the tick count the level ended at.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void write(Path file, long endTick) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeUTF(levelName);
+			out.writeLong(seed);
+			writeVarLong(out, eventCount);
+			events.writeTo(out);
+			writeVarLong(out, Math.max(endTick - lastTick, 0));
+		}
+	}
+
+	/**
+	 * Retrieves the number of recorded events.
+	 *
+	 * @return the event count.
+	 */
+	public int getEventCount() {
+		return eventCount;
+	}
+
+	/**
+	 * Writes an unsigned LEB128 varint.
+	 *
+	 * @param out   the stream to write to.
+	 * @param value the non-negative value.
+	 */
+	static void writeVarLong(OutputStream out, long value) {
+		try {
+			while ((value & ~0x7FL) != 0) {
+				out.write((int) (value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			out.write((int) value);
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to write replay data", e);
+		}
+	}
+}
@@ -0,0 +1,332 @@
+package main.java.com.example.demo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Compiles the text level definitions in {@code src/main/levels} into the binary files read by
+ * {@link LevelDefinition}. Runs as part of the build, after compilation.
+ *
+ * <p>Each {@code <id>.level} file defines the level with that ID, one directive per line; blank lines and
+ * lines starting with {@code #} are ignored:
+ * <pre>
+ * next LevelTwo
+ * background background1.jpg
+ * player-health 5
+ * wave planes max-enemies=5 spawn-interval=150 kills=10
+ * wave boss
+ * wave ramp start-enemies=10 max-enemies=4000 ramp-seconds=240 curve=quadratic spawn-interval=2
+ * </pre>
+ * {@code next} is optional on the last level. Waves are played in the order they are listed; the
+ * {@code spawn-interval} of a wave is the mean simulated time between spawns, in milliseconds. A ramp never
+ * ends, so it must be the last wave; its curve is {@code linear}, {@code quadratic} or {@code exponential}.
+ * {@code player-invulnerable} stops the player taking damage, and {@code standalone} keeps a level, such as a
+ * stress test, out of the campaign: it is only reached by starting the game on it.
+ * The campaign level that no other level links to is where the game starts; the compiler rejects broken links,
+ * levels that cannot be reached from the start, and malformed directives, so a bad level fails the build.
+ */
+public class LevelCompiler {
+
+	private static final String SOURCE_FILE_EXTENSION = ".level";
+
+	/**
+	 * A level as written in its text file.
+	 */
+	private static final class Source {
+		private final String id;
+		private String nextLevelId = "";
+		private String backgroundImageName;
+		private int playerInitialHealth;
+		private int flags;
+		private boolean standalone;
+		private final List<Wave> waves = new ArrayList<>();
+
+		private Source(String id) {
+			this.id = id;
+		}
+	}
+
+	/**
+	 * Compiles every level in the source directory into the output directory.
+	 *
+	 * @param args the source directory and the output directory.
+	 * @throws IOException if a file cannot be read or written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: LevelCompiler <source dir> <output dir>");
+			System.exit(2);
+		}
+		List<String> levelIds = compile(Path.of(args[0]), Path.of(args[1]));
+		System.out.println("Compiled " + levelIds.size() + " levels: " + String.join(", ", levelIds));
+	}
+
+	/**
+	 * Compiles every level in the source directory into the output directory and writes the level index.
+	 *
+	 * @param sourceDir the directory holding the {@code .level} files.
+	 * @param outputDir the directory the {@code .lvl} files and the index are written to.
+	 * @return the level IDs in campaign order, followed by the standalone levels.
+	 * @throws IOException if a file cannot be read or written.
+	 * @throws IllegalArgumentException if a level is malformed or the levels do not form one campaign.
+	 */
+	public static List<String> compile(Path sourceDir, Path outputDir) throws IOException {
+		Map<String, Source> sources = new TreeMap<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(sourceDir, "*" + SOURCE_FILE_EXTENSION)) {
+			for (Path file : files) {
+				Source source = parse(file);
+				sources.put(source.id, source);
+			}
+		}
+		List<String> campaign = orderCampaign(sources);
+
+		Files.createDirectories(outputDir);
+		for (Source source : sources.values()) {
+			Files.write(outputDir.resolve(source.id + LevelDefinition.LEVEL_FILE_EXTENSION), encode(source));
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeShort(campaign.size());
+			for (String levelId : campaign) {
+				out.writeUTF(levelId);
+			}
+		}
+		Files.write(outputDir.resolve(LevelDefinition.INDEX_FILE_NAME), bytes.toByteArray());
+		return campaign;
+	}
+
+	/**
+	 * Parses a level's text file.
+	 *
+	 * @param file the {@code .level} file.
+	 * @return the parsed level.
+	 * @throws IOException if the file cannot be read.
+	 * @throws IllegalArgumentException if a directive is malformed or a required one is missing.
+	 */
+	private static Source parse(Path file) throws IOException {
+		String fileName = file.getFileName().toString();
+		Source source = new Source(fileName.substring(0, fileName.length() - SOURCE_FILE_EXTENSION.length()));
+		List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i).trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] words = line.split("\\s+");
+			String where = fileName + ":" + (i + 1);
+			switch (words[0]) {
+				case "next" -> source.nextLevelId = argument(words, where);
+				case "background" -> source.backgroundImageName = argument(words, where);
+				case "player-health" -> source.playerInitialHealth = parseInt(argument(words, where), 1, Byte.MAX_VALUE, where);
+				case "player-invulnerable" -> source.flags |= LevelDefinition.PLAYER_INVULNERABLE;
+				case "standalone" -> source.standalone = true;
+				case "wave" -> {
+					if ((source.flags & LevelDefinition.ENDLESS) != 0) {
+						throw new IllegalArgumentException(where + ": no wave can follow a ramp");
+					}
+					source.waves.add(parseWave(words, where, source));
+				}
+				default -> throw new IllegalArgumentException(where + ": unknown directive " + words[0]);
+			}
+		}
+		if (source.backgroundImageName == null || source.playerInitialHealth == 0 || source.waves.isEmpty()) {
+			throw new IllegalArgumentException(fileName + ": needs background, player-health and at least one wave");
+		}
+		return source;
+	}
+
+	/**
+	 * Parses a wave directive and records which kinds of enemies the level uses.
+	 *
+	 * @param words  the words of the directive.
+	 * @param where  the file and line, for error messages.
+	 * @param source the level the wave belongs to.
+	 * @return the wave.
+	 * @throws IllegalArgumentException if the wave is malformed.
+	 */
+	private static Wave parseWave(String[] words, String where, Source source) {
+		Wave wave = new Wave();
+		String kind = argument(words, where);
+		if ("planes".equals(kind)) {
+			if (words.length != 5) {
+				throw new IllegalArgumentException(where + ": expected wave planes max-enemies=<n> spawn-interval=<ms> kills=<n>");
+			}
+			int maxEnemies = parseInt(option(words[2], "max-enemies", where), 1, Short.MAX_VALUE, where);
+			int spawnIntervalMillis = parseInt(option(words[3], "spawn-interval", where), 1, Integer.MAX_VALUE, where);
+			int kills = parseInt(option(words[4], "kills", where), 1, Short.MAX_VALUE, where);
+			wave.setPlanes(maxEnemies, spawnIntervalMillis, kills);
+			source.flags |= LevelDefinition.HAS_PLANES;
+		} else if ("ramp".equals(kind)) {
+			if (words.length != 7) {
+				throw new IllegalArgumentException(where + ": expected wave ramp start-enemies=<n> max-enemies=<n> ramp-seconds=<s> curve=<curve> spawn-interval=<ms>");
+			}
+			int startEnemies = parseInt(option(words[2], "start-enemies", where), 1, Short.MAX_VALUE, where);
+			int maxEnemies = parseInt(option(words[3], "max-enemies", where), startEnemies + 1, Short.MAX_VALUE, where);
+			int rampSeconds = parseInt(option(words[4], "ramp-seconds", where), 1, Integer.MAX_VALUE / 1000, where);
+			Wave.Curve curve;
+			try {
+				curve = Wave.Curve.valueOf(option(words[5], "curve", where).toUpperCase());
+			} catch (IllegalArgumentException e) {
+				throw new IllegalArgumentException(where + ": unknown curve " + words[5], e);
+			}
+			int spawnIntervalMillis = parseInt(option(words[6], "spawn-interval", where), 1, Integer.MAX_VALUE, where);
+			wave.setRamp(startEnemies, maxEnemies, rampSeconds * 1000, curve, spawnIntervalMillis);
+			source.flags |= LevelDefinition.HAS_PLANES | LevelDefinition.ENDLESS;
+		} else if ("boss".equals(kind)) {
+			if (words.length != 2) {
+				throw new IllegalArgumentException(where + ": wave boss takes no options");
+			}
+			wave.setBoss();
+			source.flags |= LevelDefinition.HAS_BOSS;
+		} else {
+			throw new IllegalArgumentException(where + ": unknown wave kind " + kind);
+		}
+		return wave;
+	}
+
+	/**
+	 * Orders the levels from the start level along their next-level links, then lists the standalone levels.
+	 *
+	 * @param sources the levels by ID.
+	 * @return the level IDs in campaign order, followed by the standalone levels.
+	 * @throws IllegalArgumentException if a link is broken, there is not exactly one start level, or a level cannot be reached.
+	 */
+	private static List<String> orderCampaign(Map<String, Source> sources) {
+		Set<String> linked = new HashSet<>();
+		List<String> standalone = new ArrayList<>();
+		for (Source source : sources.values()) {
+			if (source.standalone) {
+				standalone.add(source.id);
+			}
+			if (!source.nextLevelId.isEmpty()) {
+				Source next = sources.get(source.nextLevelId);
+				if (next == null) {
+					throw new IllegalArgumentException(source.id + " links to unknown level " + source.nextLevelId);
+				}
+				if (source.standalone || next.standalone) {
+					throw new IllegalArgumentException(source.id + " links to " + next.id + ", but standalone levels take no links");
+				}
+				linked.add(source.nextLevelId);
+			}
+		}
+		List<String> starts = new ArrayList<>(sources.keySet());
+		starts.removeAll(linked);
+		starts.removeAll(standalone);
+		if (starts.size() != 1) {
+			throw new IllegalArgumentException("Expected exactly one start level, found " + starts);
+		}
+		List<String> campaign = new ArrayList<>();
+		for (String levelId = starts.get(0); !levelId.isEmpty(); levelId = sources.get(levelId).nextLevelId) {
+			if (campaign.contains(levelId)) {
+				throw new IllegalArgumentException("Levels link in a loop at " + levelId);
+			}
+			campaign.add(levelId);
+		}
+		if (campaign.size() + standalone.size() != sources.size()) {
+			throw new IllegalArgumentException("Levels not reachable from " + starts.get(0) + ": " + sources.keySet());
+		}
+		campaign.addAll(standalone);
+		return campaign;
+	}
+
+	/**
+	 * Encodes a level in the binary format read by {@link LevelDefinition}.
+	 *
+	 * @param source the parsed level.
+	 * @return the compiled level.
+	 * @throws IOException if the level cannot be encoded.
+	 */
+	private static byte[] encode(Source source) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(LevelDefinition.MAGIC);
+			out.writeByte(LevelDefinition.VERSION);
+			out.writeUTF(source.id);
+			out.writeUTF(source.nextLevelId);
+			out.writeUTF(source.backgroundImageName);
+			out.writeByte(source.playerInitialHealth);
+			out.writeByte(source.flags);
+			out.writeShort(source.waves.size());
+			for (Wave wave : source.waves) {
+				out.writeByte(wave.getKind().ordinal());
+				if (wave.getKind() == Wave.Kind.PLANES) {
+					out.writeShort(wave.getMaxEnemies());
+					out.writeInt(wave.getSpawnIntervalMillis());
+					out.writeShort(wave.getKills());
+				} else if (wave.getKind() == Wave.Kind.RAMP) {
+					out.writeShort(wave.getStartEnemies());
+					out.writeShort(wave.getMaxEnemies());
+					out.writeInt(wave.getRampMillis());
+					out.writeByte(wave.getCurve().ordinal());
+					out.writeInt(wave.getSpawnIntervalMillis());
+				}
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Retrieves the single argument of a directive.
+	 *
+	 * @param words the words of the directive.
+	 * @param where the file and line, for error messages.
+	 * @return the argument.
+	 * @throws IllegalArgumentException if the argument is missing.
+	 */
+	private static String argument(String[] words, String where) {
+		if (words.length < 2) {
+			throw new IllegalArgumentException(where + ": " + words[0] + " needs an argument");
+		}
+		return words[1];
+	}
+
+	/**
+	 * Retrieves the value of a {@code name=value} option.
+	 *
+	 * @param word  the option as written.
+	 * @param name  the expected option name.
+	 * @param where the file and line, for error messages.
+	 * @return the option's value.
+	 * @throws IllegalArgumentException if the option has a different name.
+	 */
+	private static String option(String word, String name, String where) {
+		if (!word.startsWith(name + "=")) {
+			throw new IllegalArgumentException(where + ": expected " + name + "=<value>, found " + word);
+		}
+		return word.substring(name.length() + 1);
+	}
+
+	/**
+	 * Parses an integer and checks its range.
+	 *
+	 * @param value the integer as written.
+	 * @param min   the smallest allowed value.
+	 * @param max   the largest allowed value.
+	 * @param where the file and line, for error messages.
+	 * @return the integer.
+	 * @throws IllegalArgumentException if the value is not an integer in range.
+	 */
+	private static int parseInt(String value, int min, int max, String where) {
+		int parsed;
+		try {
+			parsed = Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(where + ": " + value + " is not an integer", e);
+		}
+		if (parsed < min || parsed > max) {
+			throw new IllegalArgumentException(where + ": " + value + " is outside " + min + ".." + max);
+		}
+		return parsed;
+	}
+}
@@ -0,0 +1,285 @@
+package main.java.com.example.demo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A level compiled by {@link LevelCompiler}: its ID, the level that follows it, its background, the player's
+ * starting health, and its waves. The compiled file is memory-mapped when it sits on the file system and read
+ * into memory when it is packed in a jar. Only the small header is decoded up front; the waves are decoded one at
+ * a time, as the world reaches them, through a {@link WaveReader}.
+ */
+public class LevelDefinition {
+
+	static final int MAGIC = 0x534B594C; // "SKYL"
+	static final int VERSION = 3;
+	static final String LEVEL_LOCATION = "/com/example/demo/levels/"; // Path to the compiled levels
+	static final String LEVEL_FILE_EXTENSION = ".lvl";
+	static final String INDEX_FILE_NAME = "levels.idx"; // Level IDs in campaign order
+	static final int HAS_PLANES = 1; // Header flag: the level has waves of planes
+	static final int HAS_BOSS = 2; // Header flag: the level has a boss wave
+	static final int ENDLESS = 4; // Header flag: the level ends with a ramp, which never ends
+	static final int PLAYER_INVULNERABLE = 8; // Header flag: the player takes no damage
+
+	private final ByteBuffer data;
+	private final String id;
+	private final String nextLevelId;
+	private final String backgroundImageName;
+	private final int playerInitialHealth;
+	private final int flags;
+	private final int waveCount;
+	private final int wavesOffset;
+
+	/**
+	 * Decodes the header of a compiled level.
+	 *
+	 * @param data the compiled level, positioned at its start.
+	 * @throws IllegalArgumentException if the data is not a compiled level of this version.
+	 */
+	LevelDefinition(ByteBuffer data) {
+		if (data.getInt() != MAGIC) {
+			throw new IllegalArgumentException("Not a compiled level");
+		}
+		int version = data.get();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported level version " + version);
+		}
+		this.id = readString(data);
+		String next = readString(data);
+		this.nextLevelId = next.isEmpty() ? null : next;
+		this.backgroundImageName = readString(data);
+		this.playerInitialHealth = data.get();
+		this.flags = data.get();
+		this.waveCount = data.getShort();
+		this.wavesOffset = data.position();
+		this.data = data;
+	}
+
+	/**
+	 * Loads a compiled level from the levels folder.
+	 *
+	 * @param levelId the ID of the level.
+	 * @return the level's definition.
+	 * @throws IllegalArgumentException if no compiled level exists for the ID.
+	 */
+	public static LevelDefinition load(String levelId) {
+		return new LevelDefinition(map(levelId + LEVEL_FILE_EXTENSION));
+	}
+
+	/**
+	 * Reads the IDs of the compiled levels in campaign order. The first level is where the game starts.
+	 *
+	 * @return the level IDs.
+	 * @throws IllegalArgumentException if the level index is missing.
+	 */
+	public static List<String> loadIndex() {
+		ByteBuffer index = map(INDEX_FILE_NAME);
+		int count = index.getShort();
+		List<String> levelIds = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			levelIds.add(readString(index));
+		}
+		return Collections.unmodifiableList(levelIds);
+	}
+
+	/**
+	 * Starts reading the level's waves from the first one. Each reader has its own position.
+	 *
+	 * @return a reader over the waves.
+	 */
+	public WaveReader openWaves() {
+		ByteBuffer waves = data.duplicate();
+		waves.position(wavesOffset);
+		return new WaveReader(waves, waveCount);
+	}
+
+	/**
+	 * Retrieves the ID the level is registered under.
+	 *
+	 * @return the level's ID.
+	 */
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Retrieves the ID of the level that follows this one.
+	 *
+	 * @return the next level's ID, or {@code null} if this is the last level.
+	 */
+	public String getNextLevelId() {
+		return nextLevelId;
+	}
+
+	/**
+	 * Retrieves the name of the level's background image in the images folder.
+	 *
+	 * @return the background image name.
+	 */
+	public String getBackgroundImageName() {
+		return backgroundImageName;
+	}
+
+	/**
+	 * Retrieves the player's health at the start of the level.
+	 *
+	 * @return the player's starting health.
+	 */
+	public int getPlayerInitialHealth() {
+		return playerInitialHealth;
+	}
+
+	/**
+	 * Checks whether any wave of the level is made of enemy planes.
+	 *
+	 * @return true if enemy planes appear in the level.
+	 */
+	public boolean hasPlanes() {
+		return (flags & HAS_PLANES) != 0;
+	}
+
+	/**
+	 * Checks whether the level has a boss wave.
+	 *
+	 * @return true if a boss appears in the level.
+	 */
+	public boolean hasBoss() {
+		return (flags & HAS_BOSS) != 0;
+	}
+
+	/**
+	 * Checks whether the level ends with an endless ramp, as a stress test does.
+	 *
+	 * @return true if the level can never be won.
+	 */
+	public boolean isEndless() {
+		return (flags & ENDLESS) != 0;
+	}
+
+	/**
+	 * Checks whether the player takes no damage in the level.
+	 *
+	 * @return true if the player is invulnerable.
+	 */
+	public boolean isPlayerInvulnerable() {
+		return (flags & PLAYER_INVULNERABLE) != 0;
+	}
+
+	/**
+	 * Retrieves the number of waves in the level.
+	 *
+	 * @return the wave count.
+	 */
+	public int getWaveCount() {
+		return waveCount;
+	}
+
+	/**
+	 * Decodes the level's waves in order, one per call, without allocating.
+	 */
+	public static final class WaveReader {
+
+		private final ByteBuffer waves;
+		private final int start;
+		private final int waveCount;
+		private int remaining;
+
+		private WaveReader(ByteBuffer waves, int waveCount) {
+			this.waves = waves;
+			this.start = waves.position();
+			this.waveCount = waveCount;
+			this.remaining = waveCount;
+		}
+
+		/**
+		 * Goes back to the first wave.
+		 */
+		public void rewind() {
+			waves.position(start);
+			remaining = waveCount;
+		}
+
+		/**
+		 * Decodes the next wave into the given wave.
+		 *
+		 * @param wave receives the next wave.
+		 * @return false if every wave has been read, in which case the wave is left unchanged.
+		 * @throws IllegalArgumentException if the wave has an unknown kind.
+		 */
+		public boolean next(Wave wave) {
+			if (remaining == 0) {
+				return false;
+			}
+			remaining--;
+			int kind = waves.get();
+			if (kind == Wave.Kind.PLANES.ordinal()) {
+				int maxEnemies = waves.getShort();
+				int spawnIntervalMillis = waves.getInt();
+				int kills = waves.getShort();
+				wave.setPlanes(maxEnemies, spawnIntervalMillis, kills);
+			} else if (kind == Wave.Kind.BOSS.ordinal()) {
+				wave.setBoss();
+			} else if (kind == Wave.Kind.RAMP.ordinal()) {
+				int startEnemies = waves.getShort();
+				int maxEnemies = waves.getShort();
+				int rampMillis = waves.getInt();
+				Wave.Curve curve = Wave.Curve.values()[waves.get()];
+				int spawnIntervalMillis = waves.getInt();
+				wave.setRamp(startEnemies, maxEnemies, rampMillis, curve, spawnIntervalMillis);
+			} else {
+				throw new IllegalArgumentException("Unknown wave kind " + kind);
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Maps a file from the levels folder into memory, or reads it when it is not on the file system.
+	 *
+	 * @param fileName the name of the file in the levels folder.
+	 * @return the file's contents.
+	 * @throws IllegalArgumentException if the file does not exist.
+	 */
+	private static ByteBuffer map(String fileName) {
+		URL url = LevelDefinition.class.getResource(LEVEL_LOCATION + fileName);
+		if (url == null) {
+			throw new IllegalArgumentException("Level file not found: " + fileName);
+		}
+		try {
+			if ("file".equals(url.getProtocol())) {
+				try (FileChannel channel = FileChannel.open(Path.of(url.toURI()))) {
+					return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				}
+			}
+			try (InputStream in = url.openStream()) {
+				return ByteBuffer.wrap(in.readAllBytes());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read level file " + fileName, e);
+		} catch (URISyntaxException e) {
+			throw new IllegalArgumentException("Bad level file location " + url, e);
+		}
+	}
+
+	/**
+	 * Reads a string written by {@link java.io.DataOutputStream#writeUTF(String)}. Level files only hold ASCII.
+	 *
+	 * @param data the buffer to read from.
+	 * @return the string.
+	 */
+	private static String readString(ByteBuffer data) {
+		byte[] bytes = new byte[data.getShort() & 0xFFFF];
+		data.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,22 @@
+package main.java.com.example.demo;
+
+import main.java.com.example.demo.controller.Controller;
+import javafx.stage.Stage;
+
+/**
+ * Creates a level. Levels register a factory, usually their constructor, with the {@link LevelRegistry}.
+ */
+@FunctionalInterface
+public interface LevelFactory {
+
+	/**
+	 * Creates the level.
+	 *
+	 * @param screenHeight the height of the game screen.
+	 * @param screenWidth  the width of the game screen.
+	 * @param stage        the stage on which the game is displayed.
+	 * @param controller   the controller handling level transitions.
+	 * @return the new level.
+	 */
+	LevelParent create(double screenHeight, double screenWidth, Stage stage, Controller controller);
+}
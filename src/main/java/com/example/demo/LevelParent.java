@@ -1,120 +1,183 @@
 package main.java.com.example.demo;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.stream.Collectors;
 
-import com.example.demo.controller.Controller;
-import javafx.animation.*;
+import main.java.com.example.demo.controller.Controller;
 import javafx.event.EventHandler;
 import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.image.*;
 import javafx.scene.input.*;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
 /**
- * Represents the base class for all game levels, managing common gameplay mechanics, user interactions,
- * enemy behaviors, projectiles, and level transitions.
+ * Represents the base class for all game levels, presenting a {@link GameWorld} on a JavaFX stage.
+ * The level owns the scene, the game loop and the player's key bindings; the world owns the game rules,
+ * and an {@link ActorRenderer} syncs the scene's actor nodes from the world once per frame.
  */
 public abstract class LevelParent extends Observable {
 
 	// Constants
-	private static final double SCREEN_HEIGHT_ADJUSTMENT = 150;
-	private static final int MILLISECOND_DELAY = 50;
+	private static final int MILLISECOND_DELAY = GameWorld.TICK_MILLIS; // Length of one simulation tick
+	private static final int MAX_TICKS_PER_FRAME = 5; // Catch-up cap after a stalled frame
+	private static final String SEED_PROPERTY = "skybattle.seed"; // Fixes the seed of every level
+	private static final String RECORD_PROPERTY = "skybattle.record"; // Directory replay files are written to
+	private static final String REPLAY_PROPERTY = "skybattle.replay"; // Replay file to play back
+	private static final String REPLAY_SPEED_PROPERTY = "skybattle.replay.speed"; // "fast" plays back unthrottled
+	private static final String REPLAY_FILE_EXTENSION = ".skyreplay";
+	private static final String SAVE_PROPERTY = "skybattle.saves"; // Directory quick saves are also written to
+	private static final String SAVE_FILE_EXTENSION = ".skysave";
+	private static final String REWIND_SECONDS_PROPERTY = "skybattle.rewind.seconds"; // 0 disables rewinding
+	private static final String REWIND_BUDGET_PROPERTY = "skybattle.rewind.budget"; // Rewind memory in bytes
+	private static final int DEFAULT_REWIND_SECONDS = 10;
+	private static final int DEFAULT_REWIND_BUDGET_BYTES = 4 << 20;
+	private static final int INPUT_QUEUE_CAPACITY = 16; // Key events queued between two ticks; grows if ever exceeded
+	private static final int REWIND_KEYFRAME_INTERVAL = 1000 / GameWorld.TICK_MILLIS; // One keyframe per second
+	private static final int REWIND_TICKS_PER_TICK = 2; // Rewinding runs at twice the speed of play
+	private static final String COOP_PROPERTY = "skybattle.coop"; // "host:PORT" or "join:HOST:PORT"
 
 	// Attributes for screen and stage
 	private final double screenHeight;
 	private final double screenWidth;
-	private final double enemyMaximumYPosition;
 
 	// Core game elements
 	private final Group root;
-	private final Timeline timeline;
-	private final UserPlane user;
-	private final Scene scene;
+	private final GameLoop gameLoop;
+	private Scene scene;
 	private final ImageView background;
+	private final LevelDefinition definition;
+	private final String levelName;
+	private final Replay replay;
+	private final long seed;
+	private final GameWorld world;
+	private final ActorRenderer renderer;
+	private final FrameProfiler profiler;
+	private final ProfilerOverlay profilerOverlay;
+	private final FrameBudgetMonitor frameBudgetMonitor;
+
+	// Player input, queued by the key handlers as event codes in a ring and applied before the next tick
+	private int[] pendingInputs;
+	private int pendingHead; // Index of the oldest queued code
+	private int pendingCount;
+	private final ReplayPlayer replayPlayer;
+	private InputRecorder recorder;
+
+	// Snapshots of the world, restored without rebuilding the level
+	private final WorldSnapshot levelStart;
+	private WorldSnapshot quickSave;
+	private final RewindBuffer rewindBuffer;
+	private boolean rewinding;
+
+	// Co-op play: at most one of these is open, and the local player flies the second plane when joined
+	private final CoopHost coopHost;
+	private final CoopClient coopClient;
+	private final UserPlane localPlayer;
 
 	// Game state tracking
-	private final List<ActiveActorDestructible> friendlyUnits;
-	private final List<ActiveActorDestructible> enemyUnits;
-	private final List<ActiveActorDestructible> userProjectiles;
-	private final List<ActiveActorDestructible> enemyProjectiles;
-	private int currentNumberOfEnemies;
 	private LevelView levelView;
-	private int score;
+	private final HudModel hud;
 	private final Stage stage;
 	private final Controller controller;
 
 	/**
 	 * Constructs a LevelParent instance with the given parameters.
+	 * The level's nodes are built but not attached to a scene, so a level may be constructed off the JavaFX
+	 * application thread; the scene itself is created by {@link #initializeScene()}.
 	 *
-	 * @param backgroundImageName  the path to the background image for the level
+	 * @param definition           the level's definition, which names the level and its background
 	 * @param screenHeight         the height of the game screen
 	 * @param screenWidth          the width of the game screen
-	 * @param playerInitialHealth  the initial health of the player
 	 * @param stage                the stage on which the game is displayed
 	 * @param controller           the controller handling level transitions
 	 */
-	public LevelParent(String backgroundImageName, double screenHeight, double screenWidth, int playerInitialHealth, Stage stage, Controller controller) {
-        this.stage = stage;
-        this.root = new Group();
-		this.scene = new Scene(root, screenWidth, screenHeight);
-		this.timeline = new Timeline();
-		this.user = new UserPlane(playerInitialHealth);
-		this.friendlyUnits = new ArrayList<>();
-		this.enemyUnits = new ArrayList<>();
-		this.userProjectiles = new ArrayList<>();
-		this.enemyProjectiles = new ArrayList<>();
-
-		this.background = new ImageView(new Image(getClass().getResource(backgroundImageName).toExternalForm()));
+	public LevelParent(LevelDefinition definition, double screenHeight, double screenWidth, Stage stage, Controller controller) {
+		this.stage = stage;
+		this.root = new Group();
+		this.gameLoop = new GameLoop(MILLISECOND_DELAY, MAX_TICKS_PER_FRAME, this::updateWorld, this::renderFrame);
+		this.renderer = new ActorRenderer(root);
+
+		this.background = new ImageView(SpriteCache.getInstance().getImage(ActiveActor.getImagePath(definition.getBackgroundImageName())));
 		this.screenHeight = screenHeight;
 		this.screenWidth = screenWidth;
-		this.enemyMaximumYPosition = screenHeight - SCREEN_HEIGHT_ADJUSTMENT;
+		this.definition = definition;
+		this.levelName = definition.getId();
+		this.replay = loadReplay(levelName);
+		this.seed = replay != null ? replay.getSeed() : chooseSeed();
+		this.world = instantiateWorld();
+		world.setTelemetry(TelemetryWriter.getSharedRing());
+		String coop = replay == null ? System.getProperty(COOP_PROPERTY) : null;
+		this.coopHost = coop != null && coop.startsWith("host:") ? openCoopHost(coop) : null;
+		this.coopClient = coop != null && coop.startsWith("join:") ? openCoopClient(coop) : null;
+		boolean coopPlay = coopHost != null || coopClient != null;
+		if (coopPlay) {
+			world.addSecondPlayer();
+		}
+		this.localPlayer = coopClient != null ? world.getSecondPlayer() : world.getUser();
+		this.levelStart = WorldSnapshot.capture(world);
+		this.pendingInputs = new int[INPUT_QUEUE_CAPACITY];
+		this.replayPlayer = replay != null ? new ReplayPlayer(replay) : null;
+		this.recorder = replay == null && !coopPlay && System.getProperty(RECORD_PROPERTY) != null ? new InputRecorder(levelName, seed) : null;
+		this.rewindBuffer = replay == null && !coopPlay ? createRewindBuffer() : null;
+		if (rewindBuffer != null) {
+			rewindBuffer.record(world);
+		}
+		this.profiler = world.getProfiler();
+		this.profilerOverlay = new ProfilerOverlay(world, renderer);
+		this.frameBudgetMonitor = definition.isEndless() ? new FrameBudgetMonitor() : null;
 		this.levelView = instantiateLevelView();
-		this.currentNumberOfEnemies = 0;
-		this.score = 0;
+		this.hud = new HudModel();
 		this.controller = controller;
-
-		initializeTimeline();
-		friendlyUnits.add(user);
 	}
 
-	// Abstract methods to be implemented by subclasses
-	protected abstract void initializeFriendlyUnits();
+	// Abstract methods to be implemented by subclasses; instantiateWorld() should seed the world with getSeed() and may use getDefinition()
+	protected abstract GameWorld instantiateWorld();
 
 	protected abstract void checkIfGameOver();
 
-	protected abstract void spawnEnemyUnits();
-
 	protected abstract LevelView instantiateLevelView();
 
 	/**
-	 * Initializes the scene with background, friendly units, and UI components.
+	 * Decodes the sprites of every actor the level spawns into the shared {@link SpriteCache}, so that the game loop
+	 * never decodes images. Safe to call off the JavaFX application thread, before the scene is initialized.
+	 */
+	public void preloadAssets() {
+		world.preloadSprites(renderer);
+	}
+
+	/**
+	 * Creates the scene and fills it with the background, the world's actors, and UI components.
+	 * Must be called on the JavaFX application thread.
 	 *
 	 * @return the initialized game scene
 	 */
 	public Scene initializeScene() {
+		scene = new Scene(root, screenWidth, screenHeight);
 		initializeBackground();
-		initializeFriendlyUnits();
+		renderer.attach(world);
 		levelView.showHeartDisplay();
 		levelView.showScoreDisplay();
 		levelView.showHealthDisplay();
+		root.getChildren().add(profilerOverlay.getNode());
 		return scene;
 	}
 
 	/**
-	 * Starts the game by activating the game timeline.
+	 * Starts the game by starting the game loop.
 	 */
 	public void startGame() {
 		background.requestFocus();
-		timeline.play();
+		gameLoop.setUnthrottled(replay != null && "fast".equalsIgnoreCase(System.getProperty(REPLAY_SPEED_PROPERTY)));
+		gameLoop.start();
 	}
 
 	/**
-	 * Transitions to the next level using the specified level name.
+	 * Transitions to the next level using the specified level ID.
 	 *
-	 * @param levelName the name of the next level's class
+	 * @param levelName the ID the next level is registered under in the {@link LevelRegistry}
 	 */
 	public void goToNextLevel(String levelName) {
 		if (controller != null) {
@@ -125,34 +188,96 @@ public abstract class LevelParent extends Observable {
 	}
 
 	/**
-	 * Updates the game scene, including spawning enemies, managing collisions, and checking game state.
+	 * Applies the input due before the next tick, then advances the world by one fixed-length tick.
+	 * The game loop calls this as often as needed to keep up with real time.
+	 * Input comes from the replay being played, or else from the keyboard, in which case it is also recorded.
+	 * The world's state after each tick goes into the rewind buffer; while the rewind key is held, the world
+	 * steps back through it instead of ticking. In co-op play the host waits for the client before its first tick
+	 * and sends the client the world after every tick, while the client sends its input to the host and shows the
+	 * host's world instead of ticking its own.
 	 */
-	private void updateScene() {
-		spawnEnemyUnits();
-		updateActors();
-		generateEnemyFire();
-		updateNumberOfEnemies();
-		handleEnemyPenetration();
-		handleUserProjectileCollisions();
-		handleEnemyProjectileCollisions();
-		handlePlaneCollisions();
-		removeAllDestroyedActors();
-		updateKillCount();
-		updateLevelView();
-		checkIfGameOver();
+	private void updateWorld() {
+		if (rewinding) {
+			rewind();
+			return;
+		}
+		if (coopClient != null) {
+			while (pendingCount > 0) {
+				int code = pollInput();
+				coopClient.applyInput(InputControl.decode(code), InputControl.isPress(code));
+			}
+			coopClient.update(world);
+			return;
+		}
+		if (coopHost != null) {
+			coopHost.beforeTick(world);
+			if (!coopHost.isClientConnected()) {
+				return;
+			}
+		}
+		if (replayPlayer != null) {
+			replayPlayer.applyDueInputs(world);
+		} else {
+			while (pendingCount > 0) {
+				int code = pollInput();
+				InputControl control = InputControl.decode(code);
+				boolean pressed = InputControl.isPress(code);
+				if (recorder != null) {
+					recorder.record(world.getTickCount(), control, pressed);
+				}
+				world.applyInput(control, pressed);
+			}
+		}
+		world.tick();
+		if (coopHost != null) {
+			coopHost.afterTick(world);
+		}
+		if (rewindBuffer != null) {
+			rewindBuffer.record(world);
+		}
 	}
 
 	/**
-	 * Initializes the game timeline, setting it to run indefinitely with periodic updates.
+	 * Steps the world back in time by one rewind step, stopping at the oldest state kept. Input queued while
+	 * rewinding is dropped, and the recording so far is saved since the input after a rewind no longer replays
+	 * from the level's start.
 	 */
-	private void initializeTimeline() {
-		timeline.setCycleCount(Timeline.INDEFINITE);
-		KeyFrame gameLoop = new KeyFrame(Duration.millis(MILLISECOND_DELAY), e -> updateScene());
-		timeline.getKeyFrames().add(gameLoop);
+	private void rewind() {
+		clearInputs();
+		long target = Math.max(world.getTickCount() - REWIND_TICKS_PER_TICK, rewindBuffer.getOldestTick());
+		if (rewindBuffer.getFrameCount() > 0 && target < world.getTickCount()) {
+			saveRecording(); // While the world is still at the tick the recorded input ends at
+			rewindBuffer.rewindTo(target, world);
+		}
+	}
+
+	/**
+	 * Redraws the world's actors between the last two ticks, then updates the UI and game state.
+	 * The game loop calls this once per displayed frame. Each step is timed by the world's {@link FrameProfiler},
+	 * and an endless level reports the whole frame to its {@link FrameBudgetMonitor}.
+	 *
+	 * @param alpha how far the frame falls between the previous and the current tick, from 0 to 1.
+	 */
+	private void renderFrame(double alpha) {
+		long frameStart = profiler.start();
+		renderer.render(alpha);
+		long time = profiler.lap(FrameProfiler.Phase.RENDER, frameStart);
+		updateLevelView();
+		time = profiler.lap(FrameProfiler.Phase.UPDATE_LEVEL_VIEW, time);
+		checkIfGameOver();
+		profiler.stop(FrameProfiler.Phase.CHECK_GAME_OVER, time);
+		profiler.stop(FrameProfiler.Phase.FRAME, frameStart);
+		profilerOverlay.refresh();
+		if (frameBudgetMonitor != null) {
+			frameBudgetMonitor.recordFrame(gameLoop.getFrameIntervalNanos(), System.nanoTime() - gameLoop.getFrameStartNanos(),
+					world, renderer.getNodeCount());
+		}
 	}
 
 	/**
 	 * Sets up the game background, including key event handling for player controls.
+	 * Control keys are queued for the next tick and ignored while a replay is playing. F3 toggles the profiler overlay,
+	 * F5 quick-saves, F9 quick-loads and F8 retries the level from its start. Holding Backspace rewinds.
 	 */
 	private void initializeBackground() {
 		background.setFocusTraversable(true);
@@ -161,254 +286,373 @@ public abstract class LevelParent extends Observable {
 		background.setOnKeyPressed(new EventHandler<KeyEvent>() {
 			public void handle(KeyEvent e) {
 				KeyCode kc = e.getCode();
-				if (kc == KeyCode.UP) user.moveUp();
-				if (kc == KeyCode.DOWN) user.moveDown();
-				if (kc == KeyCode.SPACE) fireProjectile();
+				if (kc == KeyCode.UP) queueInput(InputControl.UP, true);
+				if (kc == KeyCode.DOWN) queueInput(InputControl.DOWN, true);
+				if (kc == KeyCode.SPACE) queueInput(InputControl.FIRE, true);
+				if (kc == KeyCode.F3) profilerOverlay.toggle();
+				if (kc == KeyCode.F5) quickSave();
+				if (kc == KeyCode.F9) restore(quickSave != null ? quickSave : readQuickSave());
+				if (kc == KeyCode.F8) restore(levelStart);
+				if (kc == KeyCode.BACK_SPACE) rewinding = rewindBuffer != null;
 			}
 		});
 		background.setOnKeyReleased(new EventHandler<KeyEvent>() {
 			public void handle(KeyEvent e) {
 				KeyCode kc = e.getCode();
-				if (kc == KeyCode.UP || kc == KeyCode.DOWN) user.stop();
+				if (kc == KeyCode.UP) queueInput(InputControl.UP, false);
+				if (kc == KeyCode.DOWN) queueInput(InputControl.DOWN, false);
+				if (kc == KeyCode.SPACE) queueInput(InputControl.FIRE, false);
+				if (kc == KeyCode.BACK_SPACE) rewinding = false;
 			}
 		});
 		root.getChildren().add(background);
 	}
 
 	/**
-	 * Fires a projectile from the user plane and adds it to the game scene and projectile list.
+	 * Queues a key press or release for the next tick, unless a replay is driving the level.
+	 *
+	 * @param control the control the key is bound to.
+	 * @param pressed true for a press, false for a release.
+	 */
+	private void queueInput(InputControl control, boolean pressed) {
+		if (replayPlayer == null) {
+			if (pendingCount == pendingInputs.length) {
+				int[] grown = new int[pendingCount * 2];
+				for (int i = 0; i < pendingCount; i++) {
+					grown[i] = pendingInputs[(pendingHead + i) % pendingCount];
+				}
+				pendingInputs = grown;
+				pendingHead = 0;
+			}
+			pendingInputs[(pendingHead + pendingCount++) % pendingInputs.length] = control.encode(pressed);
+		}
+	}
+
+	/**
+	 * Takes the oldest queued input event off the queue. The queue must not be empty.
+	 *
+	 * @return the event's code.
 	 */
-	private void fireProjectile() {
-		ActiveActorDestructible projectile = user.fireProjectile();
-		root.getChildren().add(projectile);
-		userProjectiles.add(projectile);
+	private int pollInput() {
+		int code = pendingInputs[pendingHead];
+		pendingHead = (pendingHead + 1) % pendingInputs.length;
+		pendingCount--;
+		return code;
 	}
 
 	/**
-	 * Generates enemy fire by spawning projectiles for each enemy.
+	 * Drops every queued input event.
 	 */
-	private void generateEnemyFire() {
-		enemyUnits.forEach(enemy -> spawnEnemyProjectile(((FighterPlane) enemy).fireProjectile()));
+	private void clearInputs() {
+		pendingHead = 0;
+		pendingCount = 0;
 	}
 
 	/**
-	 * Spawns a projectile for an enemy and adds it to the game scene and projectile list.
-	 *
-	 * @param projectile the projectile to be spawned
+	 * Snapshots the world, and writes the snapshot to the {@code skybattle.saves} directory if it is set.
+	 * Key handlers run between ticks, so the snapshot never catches a tick half done.
 	 */
-	private void spawnEnemyProjectile(ActiveActorDestructible projectile) {
-		if (projectile != null) {
-			root.getChildren().add(projectile);
-			enemyProjectiles.add(projectile);
+	private void quickSave() {
+		if (world.getStatus() != GameWorld.Status.IN_PROGRESS) {
+			return;
+		}
+		quickSave = WorldSnapshot.capture(world);
+		Path file = getQuickSaveFile();
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.createDirectories(file.getParent());
+			quickSave.write(file);
+			System.out.println("Game saved to " + file);
+		} catch (IOException e) {
+			e.printStackTrace();
 		}
 	}
 
 	/**
-	 * Updates the position and state of all active actors in the game.
+	 * Reads this level's quick save from the {@code skybattle.saves} directory, such as one saved in an earlier session.
+	 *
+	 * @return the saved snapshot, or {@code null} if there is none.
 	 */
-	private void updateActors() {
-		friendlyUnits.forEach(plane -> plane.updateActor());
-		enemyUnits.forEach(enemy -> enemy.updateActor());
-		userProjectiles.forEach(projectile -> projectile.updateActor());
-		enemyProjectiles.forEach(projectile -> projectile.updateActor());
+	private WorldSnapshot readQuickSave() {
+		Path file = getQuickSaveFile();
+		if (file == null || !Files.exists(file)) {
+			return null;
+		}
+		try {
+			return WorldSnapshot.read(file);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
 	}
 
 	/**
-	 * Removes all destroyed actors from the game scene and their respective lists.
+	 * Locates this level's quick save file.
+	 *
+	 * @return the file, or {@code null} if the {@code skybattle.saves} property is not set.
 	 */
-	private void removeAllDestroyedActors() {
-		removeDestroyedActors(friendlyUnits);
-		removeDestroyedActors(enemyUnits);
-		removeDestroyedActors(userProjectiles);
-		removeDestroyedActors(enemyProjectiles);
+	private Path getQuickSaveFile() {
+		String directory = System.getProperty(SAVE_PROPERTY);
+		return directory != null ? Paths.get(directory).resolve(levelName + SAVE_FILE_EXTENSION) : null;
 	}
 
 	/**
-	 * Removes destroyed actors from the specified list and the game scene.
+	 * Puts the world back into a snapshot's state and plays on from there, also after the level was won or lost.
+	 * Ignored while a replay is playing and in co-op play. The recording so far is saved and recording stops, since the input after a
+	 * restore no longer replays from the level's start.
 	 *
-	 * @param actors the list of actors to be checked and updated
+	 * @param snapshot the snapshot to restore, or {@code null} to do nothing.
 	 */
-	private void removeDestroyedActors(List<ActiveActorDestructible> actors) {
-		List<ActiveActorDestructible> destroyedActors = actors.stream()
-				.filter(actor -> actor.isDestroyed())
-				.collect(Collectors.toList());
-		root.getChildren().removeAll(destroyedActors);
-		actors.removeAll(destroyedActors);
+	private void restore(WorldSnapshot snapshot) {
+		if (snapshot == null || replayPlayer != null || coopHost != null || coopClient != null) {
+			return;
+		}
+		long recordingEnd = world.getTickCount(); // The tick the recorded input ends at
+		try {
+			snapshot.restore(world);
+		} catch (IllegalArgumentException e) {
+			e.printStackTrace(); // A save file from another build of the level, or a damaged one; play goes on
+			return;
+		}
+		saveRecording(recordingEnd);
+		clearInputs();
+		if (rewindBuffer != null) {
+			rewindBuffer.clear(); // The recorded ticks no longer lead up to the restored state
+			rewindBuffer.record(world);
+		}
+		levelView.hideEndScreen();
+		gameLoop.start();
 	}
 
 	/**
-	 * Handles collisions between friendly and enemy planes.
+	 * Updates the game UI to reflect the current state of the user's health and score.
+	 * Runs once per frame; only the HUD values that changed since the last frame reach the scene.
 	 */
-	private void handlePlaneCollisions() {
-		handleCollisions(friendlyUnits, enemyUnits);
+	private void updateLevelView() {
+		hud.setScore(world.getScore());
+		hud.setPlayerHealth(localPlayer.getHealth());
+		updateHud(hud);
+		levelView.updateHud(hud);
 	}
 
 	/**
-	 * Handles collisions between user projectiles and enemy units.
+	 * Lets subclasses add level-specific values to the HUD before it is updated. Does nothing by default.
+	 *
+	 * @param hud the level's HUD values.
 	 */
-	private void handleUserProjectileCollisions() {
-		handleCollisions(userProjectiles, enemyUnits);
+	protected void updateHud(HudModel hud) {
 	}
 
 	/**
-	 * Handles collisions between enemy projectiles and friendly units.
+	 * Stops the game and displays the win screen.
 	 */
-	private void handleEnemyProjectileCollisions() {
-		handleCollisions(enemyProjectiles, friendlyUnits);
+	protected void winGame() {
+		gameLoop.stop();
+		saveRecording();
+		levelView.showWinImage(world.getScore(), stage);
 	}
 
 	/**
-	 * Detects and processes collisions between two lists of actors, applying damage to both parties.
-	 *
-	 * @param actors1 the first list of actors
-	 * @param actors2 the second list of actors
-	 */
-	private void handleCollisions(List<ActiveActorDestructible> actors1, List<ActiveActorDestructible> actors2) {
-		for (ActiveActorDestructible actor : actors2) {
-			for (ActiveActorDestructible otherActor : actors1) {
-				if (actor.getBoundsInParent().intersects(otherActor.getBoundsInParent())) {
-					actor.takeDamage();
-					otherActor.takeDamage();
-
-					// Check if the actor is the boss and update health
-					if (actor instanceof Boss && levelView instanceof LevelViewLevelTwo) {
-						Boss boss = (Boss) actor;
-
-						if (boss.isShieldActive()) {
-							((LevelViewLevelTwo) levelView).displayShieldOn();
-						} else {
-							((LevelViewLevelTwo) levelView).updateBossHealth(boss.getHealth());
-						}
-					}
-				}
-			}
-		}
+	 * Stops the game and displays the game-over screen.
+	 */
+	protected void loseGame() {
+		gameLoop.stop();
+		saveRecording();
+		levelView.showGameOverImage(world.getScore(), stage);
 	}
 
 	/**
-	 * Handles enemies that penetrate the user's defenses, reducing the user's health and destroying the enemy.
+	 * Cleans up the current level, resetting all game objects and clearing resources.
 	 */
-	private void handleEnemyPenetration() {
-		for (ActiveActorDestructible enemy : enemyUnits) {
-			if (enemyHasPenetratedDefenses(enemy)) {
-				user.takeDamage();
-				enemy.destroy();
-			}
-		}
+	public void cleanupLevel() {
+
+		// Stop the game loop to prevent any further updates
+		gameLoop.stop();
+		saveRecording();
+
+		// Remove all children from the root node (visual elements)
+		getRoot().getChildren().clear();
+		renderer.clear();
+
+		// Detach the renderer, then clear the world to remove references to actors and recycle projectiles
+		world.setListener(null);
+		world.clear();
+
+		// Free the co-op port for the next level
+		closeCoop();
 	}
 
 	/**
-	 * Updates the game UI to reflect the current state of the user's health.
+	 * Picks the level's seed: the {@code skybattle.seed} system property if it is set, a fresh seed otherwise.
+	 * When recording, the seed is also printed so that the run can be reproduced.
+	 *
+	 * @return the seed for the level's world.
 	 */
-	private void updateLevelView() {
-		levelView.removeHearts(user.getHealth());
+	private static long chooseSeed() {
+		long seed = Long.getLong(SEED_PROPERTY, GameRandom.newSeed());
+		if (System.getProperty(RECORD_PROPERTY) != null) {
+			System.out.println("Level seed: " + seed);
+		}
+		return seed;
 	}
 
 	/**
-	 * Updates the kill count and increments the score for each enemy destroyed.
+	 * Creates the rewind buffer sized by the {@code skybattle.rewind.seconds} and {@code skybattle.rewind.budget}
+	 * system properties.
+	 *
+	 * @return the rewind buffer, or {@code null} if rewinding is disabled.
 	 */
-	private void updateKillCount() {
-		int newKills = currentNumberOfEnemies - enemyUnits.size();
-		for (int i = 0; i < newKills; i++) {
-			user.incrementKillCount();
-			updateScore(100); // Add 100 points per enemy kill
+	private static RewindBuffer createRewindBuffer() {
+		int seconds = Integer.getInteger(REWIND_SECONDS_PROPERTY, DEFAULT_REWIND_SECONDS);
+		if (seconds <= 0) {
+			return null;
 		}
+		return new RewindBuffer(Integer.getInteger(REWIND_BUDGET_PROPERTY, DEFAULT_REWIND_BUDGET_BYTES), seconds, REWIND_KEYFRAME_INTERVAL);
 	}
 
 	/**
-	 * Checks if an enemy has penetrated the user's defenses.
+	 * Opens the host's end of co-op play on the port given by the {@code skybattle.coop} system property.
 	 *
-	 * @param enemy the enemy to check
-	 * @return true if the enemy has moved beyond the screen bounds, false otherwise
-	 */
-	private boolean enemyHasPenetratedDefenses(ActiveActorDestructible enemy) {
-		return Math.abs(enemy.getTranslateX()) > screenWidth;
+	 * @param coop the property's value, {@code host:PORT}.
+	 * @return the host, or {@code null} if the socket cannot be opened.
+	 * @throws IllegalArgumentException if the port is not a number.
+	 */
+	private static CoopHost openCoopHost(String coop) {
+		int port = Integer.parseInt(coop.substring("host:".length()));
+		try {
+			CoopHost host = new CoopHost(port);
+			System.out.println("Hosting co-op on port " + host.getPort() + ", waiting for a second player");
+			return host;
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
 	}
 
 	/**
-	 * Stops the game and displays the win screen.
-	 */
-	protected void winGame() {
-		timeline.stop();
-		levelView.showWinImage(score, stage);
+	 * Opens the client's end of co-op play, for the host given by the {@code skybattle.coop} system property.
+	 *
+	 * @param coop the property's value, {@code join:HOST:PORT}.
+	 * @return the client, or {@code null} if the socket cannot be opened.
+	 * @throws IllegalArgumentException if the value has no port or the port is not a number.
+	 */
+	private static CoopClient openCoopClient(String coop) {
+		int separator = coop.lastIndexOf(':');
+		if (separator <= "join:".length()) {
+			throw new IllegalArgumentException("Co-op host must be given as join:HOST:PORT, not " + coop);
+		}
+		try {
+			return new CoopClient(coop.substring("join:".length(), separator), Integer.parseInt(coop.substring(separator + 1)));
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
 	}
 
 	/**
-	 * Stops the game and displays the game-over screen.
+	 * Closes the co-op socket, if one is open.
 	 */
-	protected void loseGame() {
-		timeline.stop();
-		levelView.showGameOverImage(score, stage);
+	private void closeCoop() {
+		try {
+			if (coopHost != null) {
+				coopHost.close();
+			}
+			if (coopClient != null) {
+				coopClient.close();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
 	}
 
 	/**
-	 * Cleans up the current level, resetting all game objects and clearing resources.
+	 * Loads the replay named by the {@code skybattle.replay} system property, if it was recorded in this level.
+	 *
+	 * @param levelName the name of the level being constructed.
+	 * @return the replay to play, or {@code null} to play from the keyboard.
 	 */
-	public void cleanupLevel() {
-
-		// Stop and clear the timeline to prevent any further updates
-		timeline.stop();
-		timeline.getKeyFrames().clear();
-
-		// Remove all children from the root node (visual elements)
-		getRoot().getChildren().clear();
-
-		// Clear all collections to remove references to actors and projectiles
-		friendlyUnits.clear();
-		enemyUnits.clear();
-		userProjectiles.clear();
-		enemyProjectiles.clear();
-
-		// Reset the level state variables
-		currentNumberOfEnemies = 0;
-		score = 0;
+	private static Replay loadReplay(String levelName) {
+		String file = System.getProperty(REPLAY_PROPERTY);
+		if (file == null) {
+			return null;
+		}
+		try {
+			Replay replay = Replay.read(Paths.get(file));
+			if (!replay.getLevelName().equals(levelName)) {
+				return null; // Recorded in another level
+			}
+			System.out.println("Replaying " + file + " with seed " + replay.getSeed());
+			return replay;
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
 
+	/**
+	 * Writes the recorded input to the {@code skybattle.record} directory, once per level.
+	 */
+	private void saveRecording() {
+		saveRecording(world.getTickCount());
 	}
 
 	/**
-	 * Retrieves the user's plane in the game.
+	 * Writes the recorded input to the {@code skybattle.record} directory, once per level.
 	 *
-	 * @return the {@code UserPlane} representing the player's character.
+	 * @param endTick the tick the recorded input ends at.
 	 */
-	protected UserPlane getUser() {
-		return user;
+	private void saveRecording(long endTick) {
+		if (recorder == null) {
+			return;
+		}
+		Path directory = Paths.get(System.getProperty(RECORD_PROPERTY));
+		Path file = directory.resolve(levelName + "-" + seed + REPLAY_FILE_EXTENSION);
+		try {
+			Files.createDirectories(directory);
+			recorder.write(file, endTick);
+			System.out.println("Replay saved to " + file);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		recorder = null;
 	}
 
 	/**
-	 * Retrieves the root group for the current game scene.
+	 * Retrieves the definition the level is built from.
 	 *
-	 * @return the {@code Group} containing all visual elements of the scene.
+	 * @return the level's definition.
 	 */
-	protected Group getRoot() {
-		return root;
+	protected LevelDefinition getDefinition() {
+		return definition;
 	}
 
 	/**
-	 * Gets the current number of enemy units present in the game.
+	 * Retrieves the seed the level's world is created with.
 	 *
-	 * @return the number of enemies in the {@code enemyUnits} list.
+	 * @return the level seed.
 	 */
-	protected int getCurrentNumberOfEnemies() {
-		return enemyUnits.size();
+	protected long getSeed() {
+		return seed;
 	}
 
 	/**
-	 * Adds a new enemy unit to the game.
+	 * Retrieves the simulation this level presents.
 	 *
-	 * @param enemy the {@code ActiveActorDestructible} enemy to add.
+	 * @return the level's {@code GameWorld}.
 	 */
-	protected void addEnemyUnit(ActiveActorDestructible enemy) {
-		enemyUnits.add(enemy);
-		root.getChildren().add(enemy);
+	public GameWorld getWorld() {
+		return world;
 	}
 
 	/**
-	 * Retrieves the maximum Y position an enemy can spawn at.
+	 * Retrieves the root group for the current game scene.
 	 *
-	 * @return the maximum Y-coordinate for enemy placement.
+	 * @return the {@code Group} containing all visual elements of the scene.
 	 */
-	protected double getEnemyMaximumYPosition() {
-		return enemyMaximumYPosition;
+	protected Group getRoot() {
+		return root;
 	}
 
 	/**
@@ -421,29 +665,29 @@ public abstract class LevelParent extends Observable {
 	}
 
 	/**
-	 * Checks whether the user's plane is destroyed.
+	 * Retrieves the height of the game screen.
 	 *
-	 * @return {@code true} if the user's plane is destroyed, {@code false} otherwise.
+	 * @return the screen height as a double.
 	 */
-	protected boolean userIsDestroyed() {
-		return user.isDestroyed();
+	protected double getScreenHeight() {
+		return screenHeight;
 	}
 
 	/**
-	 * Updates the count of active enemy units in the game.
+	 * Checks whether the user's plane is destroyed.
+	 *
+	 * @return {@code true} if the user's plane is destroyed, {@code false} otherwise.
 	 */
-	private void updateNumberOfEnemies() {
-		currentNumberOfEnemies = enemyUnits.size();
+	protected boolean userIsDestroyed() {
+		return world.getStatus() == GameWorld.Status.LOST;
 	}
 
 	/**
-	 * Increments the player's score and updates the score display.
+	 * Checks whether the world's goal for this level has been reached.
 	 *
-	 * @param points the number of points to add to the player's score.
+	 * @return {@code true} if the level has been won, {@code false} otherwise.
 	 */
-	private void updateScore(int points) {
-		score += points;
-		levelView.updateScore(score); // Update score in the UI
+	protected boolean userHasWon() {
+		return world.getStatus() == GameWorld.Status.WON;
 	}
-
 }
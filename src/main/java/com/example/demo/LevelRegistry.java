@@ -0,0 +1,131 @@
+package main.java.com.example.demo;
+
+import main.java.com.example.demo.controller.Controller;
+import javafx.stage.Stage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The levels of the game, registered by ID together with the ID of the level that follows each one.
+ * The game's own levels are the compiled {@link LevelDefinition}s, registered in campaign order by {@link #createDefault()}.
+ * Levels are created through their registered {@link LevelFactory}, with no reflection, and
+ * {@link #validate()} checks every link to a next level when the game starts, so a broken link
+ * fails at launch instead of at the end of a level.
+ */
+public class LevelRegistry {
+
+	/**
+	 * A registered level.
+	 */
+	private static final class Registration {
+		private final LevelFactory factory;
+		private final String nextLevelId;
+
+		private Registration(LevelFactory factory, String nextLevelId) {
+			this.factory = factory;
+			this.nextLevelId = nextLevelId;
+		}
+	}
+
+	private final Map<String, Registration> levels;
+	private String firstLevelId;
+
+	/**
+	 * Constructs an empty registry.
+	 */
+	public LevelRegistry() {
+		this.levels = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Creates the registry of the game's compiled levels and validates it.
+	 *
+	 * @return the validated registry, starting with the first level of the campaign.
+	 * @throws IllegalArgumentException if a compiled level is missing or malformed.
+	 * @throws IllegalStateException if a level links to a level that is not registered.
+	 */
+	public static LevelRegistry createDefault() {
+		LevelRegistry registry = new LevelRegistry();
+		for (String levelId : LevelDefinition.loadIndex()) {
+			LevelDefinition definition = LevelDefinition.load(levelId);
+			registry.register(levelId,
+					(screenHeight, screenWidth, stage, controller) -> new WaveLevel(definition, screenHeight, screenWidth, stage, controller),
+					definition.getNextLevelId());
+		}
+		registry.validate();
+		return registry;
+	}
+
+	/**
+	 * Registers a level. The first level registered is where the game starts.
+	 *
+	 * @param levelId     the level's ID.
+	 * @param factory     creates the level.
+	 * @param nextLevelId the ID of the level that follows, or {@code null} if this is the last level.
+	 * @throws IllegalArgumentException if a level with the same ID is already registered.
+	 */
+	public void register(String levelId, LevelFactory factory, String nextLevelId) {
+		if (levels.putIfAbsent(levelId, new Registration(factory, nextLevelId)) != null) {
+			throw new IllegalArgumentException("Level registered twice: " + levelId);
+		}
+		if (firstLevelId == null) {
+			firstLevelId = levelId;
+		}
+	}
+
+	/**
+	 * Checks that there is a first level and that every next-level link points to a registered level.
+	 *
+	 * @throws IllegalStateException if the registry is empty or a link is broken.
+	 */
+	public void validate() {
+		if (firstLevelId == null) {
+			throw new IllegalStateException("No levels registered");
+		}
+		for (Map.Entry<String, Registration> level : levels.entrySet()) {
+			String nextLevelId = level.getValue().nextLevelId;
+			if (nextLevelId != null && !levels.containsKey(nextLevelId)) {
+				throw new IllegalStateException("Level " + level.getKey() + " links to unknown level " + nextLevelId);
+			}
+		}
+	}
+
+	/**
+	 * Creates a registered level.
+	 *
+	 * @param levelId      the level's ID.
+	 * @param screenHeight the height of the game screen.
+	 * @param screenWidth  the width of the game screen.
+	 * @param stage        the stage on which the game is displayed.
+	 * @param controller   the controller handling level transitions.
+	 * @return the new level.
+	 * @throws IllegalArgumentException if no level is registered under the ID.
+	 */
+	public LevelParent create(String levelId, double screenHeight, double screenWidth, Stage stage, Controller controller) {
+		Registration registration = levels.get(levelId);
+		if (registration == null) {
+			throw new IllegalArgumentException("Unknown level: " + levelId);
+		}
+		return registration.factory.create(screenHeight, screenWidth, stage, controller);
+	}
+
+	/**
+	 * Retrieves the ID of the level the game starts with.
+	 *
+	 * @return the first level's ID.
+	 */
+	public String getFirstLevelId() {
+		return firstLevelId;
+	}
+
+	/**
+	 * Checks whether a level is registered.
+	 *
+	 * @param levelId the level's ID.
+	 * @return true if the level can be created.
+	 */
+	public boolean contains(String levelId) {
+		return levels.containsKey(levelId);
+	}
+}
@@ -1,7 +1,8 @@
 package main.java.com.example.demo;
 
-import com.example.demo.controller.Controller;
+import main.java.com.example.demo.controller.Controller;
 import javafx.scene.Group;
+import javafx.scene.Node;
 
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -9,6 +10,9 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static main.java.com.example.demo.LevelViewLevelTwo.SHIELD_X_POSITION;
 import static main.java.com.example.demo.LevelViewLevelTwo.SHIELD_Y_POSITION;
 
@@ -32,6 +36,7 @@ public class LevelView {
 	private final ScoreDisplay scoreDisplay;
 	private final BossHealthDisplay healthDisplay;
 	private final ShieldImage shieldImage;
+	private final List<Node> endScreenNodes; // The win or game-over screen, while it is shown
 
 	/**
 	 * Constructs a `LevelView` object with the specified root and initial number of hearts.
@@ -47,6 +52,7 @@ public class LevelView {
 		this.scoreDisplay = new ScoreDisplay();
 		this.healthDisplay = new BossHealthDisplay();
 		this.shieldImage = new ShieldImage(SHIELD_X_POSITION, SHIELD_Y_POSITION);
+		this.endScreenNodes = new ArrayList<>();
 
 		root.getChildren().add(shieldImage); // Add the shield image to the root initially
 		shieldImage.setVisible(false);
@@ -107,6 +113,7 @@ public class LevelView {
 	 */
 	public void showWinImage(int finalScore, Stage stage) {
 		root.getChildren().add(winImage);
+		endScreenNodes.add(winImage);
 		winImage.showWinImage();
 		showFinalScore(finalScore, stage);
 	}
@@ -119,6 +126,7 @@ public class LevelView {
 	 */
 	public void showGameOverImage(int finalScore, Stage stage) {
 		root.getChildren().add(gameOverImage);
+		endScreenNodes.add(gameOverImage);
 		showFinalScore(finalScore, stage);
 	}
 
@@ -154,10 +162,19 @@ public class LevelView {
 
 		// Add elements to root
 		root.getChildren().addAll(finalScoreLabel, replayButton, exitButton);
+		endScreenNodes.addAll(List.of(finalScoreLabel, replayButton, exitButton));
+	}
+
+	/**
+	 * Removes the win or game-over screen, for when play resumes from a saved game.
+	 */
+	public void hideEndScreen() {
+		root.getChildren().removeAll(endScreenNodes);
+		endScreenNodes.clear();
 	}
 
 	/**
-	 * Restarts the game by reloading Level One.
+	 * Restarts the game from the first level.
 	 *
 	 * @param stage the current game stage.
 	 */
@@ -185,9 +202,51 @@ public class LevelView {
 	 * @param heartsRemaining the number of hearts left to display.
 	 */
 	public void removeHearts(int heartsRemaining) {
-		int currentNumberOfHearts = heartDisplay.getContainer().getChildren().size();
-		for (int i = 0; i < currentNumberOfHearts - heartsRemaining; i++) {
-			heartDisplay.removeHeart();
+		heartDisplay.removeHeartsDownTo(heartsRemaining);
+	}
+
+	/**
+	 * Shows the given number of hearts, adding hearts back if health was restored.
+	 *
+	 * @param hearts the number of hearts to show.
+	 */
+	public void showHearts(int hearts) {
+		heartDisplay.setHearts(hearts);
+	}
+
+	/**
+	 * Updates the HUD nodes whose values changed since the last update, then marks the model as shown.
+	 * Steady frames do not touch the scene at all.
+	 *
+	 * @param hud the level's HUD values.
+	 */
+	public void updateHud(HudModel hud) {
+		if (!hud.isDirty()) {
+			return;
+		}
+		if (hud.isDirty(HudModel.SCORE)) {
+			updateScore(hud.getScore());
+		}
+		if (hud.isDirty(HudModel.PLAYER_HEALTH)) {
+			showHearts(hud.getPlayerHealth());
+		}
+		if (hud.isDirty(HudModel.BOSS_HEALTH | HudModel.SHIELD)) {
+			updateBossHud(hud);
+		}
+		hud.clearDirty();
+	}
+
+	/**
+	 * Shows the boss's shield or health. Only levels with a boss set these values.
+	 *
+	 * @param hud the level's HUD values.
+	 */
+	protected void updateBossHud(HudModel hud) {
+		if (hud.isShieldActive()) {
+			displayShieldOn();
+		} else {
+			updateBossHealth(hud.getBossHealth());
+			hideShield();
 		}
 	}
 }
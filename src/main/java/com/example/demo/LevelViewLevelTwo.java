@@ -36,6 +36,19 @@ public class LevelViewLevelTwo extends LevelView {
 		root.getChildren().addAll(shieldImage);
 	}
 
+	/**
+	 * Shows the boss's shield along with the shield indicator, or the boss's health while the shield is down.
+	 *
+	 * @param hud the level's HUD values.
+	 */
+	@Override
+	protected void updateBossHud(HudModel hud) {
+		super.updateBossHud(hud);
+		if (hud.isShieldActive()) {
+			showShield();
+		}
+	}
+
 	/**
 	 * Displays the boss's shield on the UI.
 	 */
@@ -44,9 +57,11 @@ public class LevelViewLevelTwo extends LevelView {
 	}
 
 	/**
-	 * Hides the boss's shield from the UI.
+	 * Hides the boss's shield, and the shield indicator shown by {@link LevelView#displayShieldOn()}, from the UI.
 	 */
+	@Override
 	public void hideShield() {
+		super.hideShield();
 		shieldImage.hideShield();
 	}
 }
@@ -0,0 +1,135 @@
+package main.java.com.example.demo;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, lock-free histogram of durations in nanoseconds.
+ * Values are counted in log-linear buckets: every power of two is split into {@value #SUB_BUCKETS} equal
+ * sub-buckets, so reported percentiles are within about 6% of the true value across the whole range.
+ * Recording is a few atomic increments with no allocation, so it is cheap enough to leave on; the counters
+ * can be read from another thread while a game thread is recording.
+ */
+public class PhaseHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // Sub-buckets per power of two
+	private static final int MAX_EXPONENT = 40; // Values up to 2^41 ns (about 36 minutes) are bucketed exactly
+	private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS + 1; // Plus one overflow bucket
+
+	private final AtomicLongArray buckets;
+	private final AtomicLong count;
+	private final AtomicLong max;
+
+	/**
+	 * Constructs an empty histogram.
+	 */
+	public PhaseHistogram() {
+		this.buckets = new AtomicLongArray(BUCKET_COUNT);
+		this.count = new AtomicLong();
+		this.max = new AtomicLong();
+	}
+
+	/**
+	 * Records one duration.
+	 *
+	 * @param nanos the duration in nanoseconds. Negative values are counted as zero.
+	 */
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		buckets.incrementAndGet(bucketOf(value));
+		count.incrementAndGet();
+		long currentMax = max.get();
+		while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+			currentMax = max.get();
+		}
+	}
+
+	/**
+	 * Estimates the duration below which the given share of recorded values fall.
+	 *
+	 * @param percentile the percentile, from 0 to 100.
+	 * @return the upper edge of the bucket holding the percentile in nanoseconds, or 0 if nothing was recorded.
+	 */
+	public long getPercentile(double percentile) {
+		long total = count.get();
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += buckets.get(i);
+			if (seen >= rank) {
+				return Math.min(upperEdgeOf(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Retrieves the longest recorded duration.
+	 *
+	 * @return the maximum in nanoseconds, or 0 if nothing was recorded.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Retrieves the number of recorded durations.
+	 *
+	 * @return the sample count.
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Forgets every recorded duration. Values recorded while the reset runs may be partly kept.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets.set(i, 0);
+		}
+		count.set(0);
+		max.set(0);
+	}
+
+	/**
+	 * Finds the bucket a value is counted in.
+	 *
+	 * @param value the non-negative value.
+	 * @return the bucket index.
+	 */
+	private static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value; // Small values get one bucket each
+		}
+		int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+		if (exponent == MAX_EXPONENT && value >= (2L << MAX_EXPONENT)) {
+			return BUCKET_COUNT - 1; // Overflow bucket
+		}
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Computes the largest value counted in a bucket.
+	 *
+	 * @param index the bucket index.
+	 * @return the inclusive upper edge of the bucket.
+	 */
+	private static long upperEdgeOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		if (index == BUCKET_COUNT - 1) {
+			return Long.MAX_VALUE;
+		}
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long subBucket = index % SUB_BUCKETS;
+		long width = 1L << (exponent - SUB_BUCKET_BITS);
+		return (1L << exponent) + (subBucket + 1) * width - 1;
+	}
+}
@@ -0,0 +1,86 @@
+package main.java.com.example.demo;
+
+import javafx.scene.control.Label;
+import javafx.scene.text.Font;
+
+/**
+ * An on-screen panel showing the {@link FrameProfiler} percentiles of every phase and the number of actors in
+ * each of the world's lists. It is hidden by default and toggled with a key; while hidden it costs nothing,
+ * and while shown its text is rebuilt only every few frames.
+ */
+public class ProfilerOverlay {
+
+	private static final double OVERLAY_X_POSITION = 5;
+	private static final double OVERLAY_Y_POSITION = 110;
+	private static final int FONT_SIZE = 12;
+	private static final int REFRESH_INTERVAL_FRAMES = 15; // About four refreshes a second at 60 Hz
+	private static final double NANOS_PER_MICROSECOND = 1_000;
+
+	private final GameWorld world;
+	private final ActorRenderer renderer;
+	private final Label label;
+	private final StringBuilder text;
+	private int framesUntilRefresh;
+
+	/**
+	 * Constructs a hidden overlay for a world and its renderer.
+	 *
+	 * @param world    the world whose profiler and actor lists are shown.
+	 * @param renderer the renderer whose node count is shown.
+	 */
+	public ProfilerOverlay(GameWorld world, ActorRenderer renderer) {
+		this.world = world;
+		this.renderer = renderer;
+		this.text = new StringBuilder();
+		this.label = new Label();
+		label.setFont(Font.font("Monospaced", FONT_SIZE));
+		label.setStyle("-fx-text-fill: white; -fx-background-color: rgba(0, 0, 0, 0.6); -fx-padding: 6;");
+		label.setLayoutX(OVERLAY_X_POSITION);
+		label.setLayoutY(OVERLAY_Y_POSITION);
+		label.setMouseTransparent(true);
+		label.setVisible(false);
+	}
+
+	/**
+	 * Shows the overlay if it is hidden, or hides it if it is shown.
+	 */
+	public void toggle() {
+		label.setVisible(!label.isVisible());
+		framesUntilRefresh = 0;
+	}
+
+	/**
+	 * Updates the overlay text every few frames while it is shown. Called once per frame.
+	 */
+	public void refresh() {
+		if (!label.isVisible() || --framesUntilRefresh > 0) {
+			return;
+		}
+		framesUntilRefresh = REFRESH_INTERVAL_FRAMES;
+		text.setLength(0);
+		text.append(String.format("%-28s %8s %8s %8s%n", "phase (us)", "p50", "p99", "max"));
+		FrameProfiler profiler = world.getProfiler();
+		for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+			PhaseHistogram histogram = profiler.getHistogram(phase);
+			text.append(String.format("%-28s %8.1f %8.1f %8.1f%n", phase,
+					histogram.getPercentile(50) / NANOS_PER_MICROSECOND,
+					histogram.getPercentile(99) / NANOS_PER_MICROSECOND,
+					histogram.getMax() / NANOS_PER_MICROSECOND));
+		}
+		text.append(String.format("friendly %d  enemies %d  user shots %d  enemy shots %d  nodes %d",
+				world.getFriendlyUnits().size(), world.getEnemyUnits().size(),
+				world.getUserProjectiles().size(), world.getEnemyProjectiles().size(), renderer.getNodeCount()));
+		text.append(String.format("%nscene mutations %d  cancelled %d", renderer.getLastFrameMutations(), renderer.getLastFrameCancelledMutations()));
+		label.setText(text.toString());
+		label.toFront(); // Stay above actors added since the last refresh
+	}
+
+	/**
+	 * Retrieves the node to add to the scene.
+	 *
+	 * @return the overlay label.
+	 */
+	public Label getNode() {
+		return label;
+	}
+}
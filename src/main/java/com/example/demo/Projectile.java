@@ -7,6 +7,9 @@ package main.java.com.example.demo;
  */
 public abstract class Projectile extends ActiveActorDestructible {
 
+	private boolean isPooled; // Indicates whether the projectile is idle in its pool
+	private ProjectilePool<?> pool; // The pool this projectile was taken from, if any
+
 	/**
 	 * Constructs a new `Projectile` object with the specified parameters.
 	 *
@@ -33,4 +36,54 @@ public abstract class Projectile extends ActiveActorDestructible {
 	 */
 	@Override
 	public abstract void updatePosition();
+
+	/**
+	 * Returns the projectile to the pool it was taken from so a later shot can reuse it.
+	 * Must only be called after the projectile has been removed from the world. A projectile that was
+	 * not taken from a pool is left to the garbage collector.
+	 */
+	public void recycle() {
+		if (pool != null) {
+			pool.recycle(this);
+		}
+	}
+
+	/**
+	 * Resets a pooled projectile in place so it can be fired again from the given position.
+	 *
+	 * @param initialXPos the new initial X position of the projectile.
+	 * @param initialYPos the new initial Y position of the projectile.
+	 */
+	void reset(double initialXPos, double initialYPos) {
+		setLayoutX(initialXPos);
+		setLayoutY(initialYPos);
+		setTranslateX(0);
+		setTranslateY(0);
+		setDestroyed(false);
+		updateBounds();
+		capturePreviousPosition();
+		isPooled = false;
+	}
+
+	/**
+	 * Links the projectile to the pool that handed it out. Called by {@link ProjectilePool#acquire(double, double)}.
+	 *
+	 * @param pool the pool.
+	 */
+	void setPool(ProjectilePool<?> pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * Marks the projectile as idle in its pool.
+	 *
+	 * @return {@code true} if the projectile was live, {@code false} if it was already pooled.
+	 */
+	boolean markPooled() {
+		if (isPooled) {
+			return false;
+		}
+		isPooled = true;
+		return true;
+	}
 }
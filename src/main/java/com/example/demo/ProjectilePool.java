@@ -0,0 +1,166 @@
+package main.java.com.example.demo;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * A pool of reusable projectiles of a single type.
+ * Firing takes a projectile from the pool and resets it in place; destroyed projectiles are
+ * returned once they have been removed from the world, so holding the fire key does not allocate
+ * a new projectile for every shot.
+ *
+ * @param <T> the type of projectile held by the pool.
+ */
+public class ProjectilePool<T extends Projectile> {
+
+	private static final int DEFAULT_MAX_IDLE = 256;
+
+	private final Supplier<T> factory;
+	private final Deque<T> idle;
+	private final int maxIdle;
+	private long created;
+	private long acquired;
+	private long reused;
+	private long released;
+	private int inUse;
+	private int highWaterMark;
+
+	/**
+	 * Constructs a pool that keeps up to the default number of idle projectiles.
+	 *
+	 * @param factory creates a new projectile when the pool is empty.
+	 */
+	public ProjectilePool(Supplier<T> factory) {
+		this(factory, DEFAULT_MAX_IDLE);
+	}
+
+	/**
+	 * Constructs a pool that keeps up to {@code maxIdle} idle projectiles.
+	 *
+	 * @param factory creates a new projectile when the pool is empty.
+	 * @param maxIdle the maximum number of released projectiles kept for reuse.
+	 */
+	public ProjectilePool(Supplier<T> factory, int maxIdle) {
+		this.factory = factory;
+		this.maxIdle = maxIdle;
+		this.idle = new ArrayDeque<>();
+	}
+
+	/**
+	 * Takes a projectile from the pool, creating one if none is idle, and resets it to the given position.
+	 *
+	 * @param initialXPos the x-coordinate to place the projectile at.
+	 * @param initialYPos the y-coordinate to place the projectile at.
+	 * @return a live projectile ready to be added to the world.
+	 */
+	public T acquire(double initialXPos, double initialYPos) {
+		T projectile = idle.pollFirst();
+		if (projectile == null) {
+			projectile = factory.get();
+			created++;
+		} else {
+			reused++;
+		}
+		acquired++;
+		inUse++;
+		if (inUse > highWaterMark) {
+			highWaterMark = inUse;
+		}
+		projectile.reset(initialXPos, initialYPos);
+		projectile.setPool(this);
+		return projectile;
+	}
+
+	/**
+	 * Returns a projectile to the pool. The projectile must already be removed from the world.
+	 * Projectiles beyond the idle capacity are dropped and left to the garbage collector.
+	 *
+	 * @param projectile the projectile to return.
+	 */
+	public void release(T projectile) {
+		if (!projectile.markPooled()) {
+			return; // Already returned
+		}
+		released++;
+		inUse--;
+		if (idle.size() < maxIdle) {
+			idle.addFirst(projectile);
+		}
+	}
+
+	/**
+	 * Returns a projectile this pool handed out, for {@link Projectile#recycle()}.
+	 *
+	 * @param projectile the projectile to return; linked to this pool by {@link #acquire(double, double)}.
+	 */
+	@SuppressWarnings("unchecked") // Only projectiles of type T are ever linked to this pool
+	void recycle(Projectile projectile) {
+		release((T) projectile);
+	}
+
+	/**
+	 * Retrieves the number of projectiles created because the pool was empty.
+	 *
+	 * @return the creation count.
+	 */
+	public long getCreated() {
+		return created;
+	}
+
+	/**
+	 * Retrieves the number of projectiles handed out by the pool.
+	 *
+	 * @return the acquisition count.
+	 */
+	public long getAcquired() {
+		return acquired;
+	}
+
+	/**
+	 * Retrieves the number of projectiles returned to the pool.
+	 *
+	 * @return the release count.
+	 */
+	public long getReleased() {
+		return released;
+	}
+
+	/**
+	 * Retrieves the number of projectiles currently live in the game.
+	 *
+	 * @return the in-use count.
+	 */
+	public int getInUse() {
+		return inUse;
+	}
+
+	/**
+	 * Retrieves the largest number of projectiles that were live at the same time.
+	 *
+	 * @return the high-water mark.
+	 */
+	public int getHighWaterMark() {
+		return highWaterMark;
+	}
+
+	/**
+	 * Retrieves the share of acquisitions that reused an idle projectile.
+	 *
+	 * @return the reuse ratio between 0 and 1.
+	 */
+	public double getReuseRatio() {
+		return acquired == 0 ? 0 : (double) reused / acquired;
+	}
+
+	/**
+	 * Summarizes the pool counters for logging.
+	 *
+	 * @return a single-line description of the pool state.
+	 */
+	@Override
+	public String toString() {
+		return String.format("ProjectilePool[inUse=%d, idle=%d, highWater=%d, created=%d, acquired=%d, reuse=%.1f%%]",
+				inUse, idle.size(), highWaterMark, created, acquired, getReuseRatio() * 100);
+	}
+}
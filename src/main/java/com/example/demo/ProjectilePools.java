@@ -0,0 +1,48 @@
+package main.java.com.example.demo;
+
+/**
+ * The projectile pools of one world. Each {@link GameWorld} owns its pools, and a pooled projectile remembers
+ * the pool it came from, so worlds ticked on different threads never share a pool.
+ */
+public class ProjectilePools {
+
+	private final ProjectilePool<UserProjectile> userProjectiles;
+	private final ProjectilePool<EnemyProjectile> enemyProjectiles;
+	private final ProjectilePool<BossProjectile> bossProjectiles;
+
+	/**
+	 * Constructs empty pools for every projectile type.
+	 */
+	public ProjectilePools() {
+		this.userProjectiles = new ProjectilePool<>(() -> new UserProjectile(0, 0));
+		this.enemyProjectiles = new ProjectilePool<>(() -> new EnemyProjectile(0, 0));
+		this.bossProjectiles = new ProjectilePool<>(() -> new BossProjectile(0));
+	}
+
+	/**
+	 * Retrieves the pool the player's projectiles are recycled through.
+	 *
+	 * @return the user projectile pool.
+	 */
+	public ProjectilePool<UserProjectile> getUserProjectiles() {
+		return userProjectiles;
+	}
+
+	/**
+	 * Retrieves the pool enemy planes' projectiles are recycled through.
+	 *
+	 * @return the enemy projectile pool.
+	 */
+	public ProjectilePool<EnemyProjectile> getEnemyProjectiles() {
+		return enemyProjectiles;
+	}
+
+	/**
+	 * Retrieves the pool the boss's projectiles are recycled through.
+	 *
+	 * @return the boss projectile pool.
+	 */
+	public ProjectilePool<BossProjectile> getBossProjectiles() {
+		return bossProjectiles;
+	}
+}
@@ -0,0 +1,64 @@
+package main.java.com.example.demo;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Plays like a restless player: now and then starts moving up or down or stops, and fires often.
+ * The choices come from a seeded {@link GameRandom} of the policy's own, so a run with the same world seed and
+ * policy seed plays out the same way every time. Besides a world's player, the policy can drive anything that
+ * takes presses and releases, such as a {@link CoopClient}.
+ */
+public class RandomInputPolicy implements InputPolicy {
+
+	private static final double MOVE_CHANGE_PROBABILITY = 0.1; // Chance per tick of starting or stopping a move
+	private static final double FIRE_PROBABILITY = 0.3; // Chance per tick of firing
+
+	private final GameRandom random;
+	private InputControl heldMove;
+	private GameWorld world; // The world the cached input sink applies to
+	private BiConsumer<InputControl, Boolean> worldInput;
+
+	/**
+	 * Constructs a policy drawing from a generator with the given seed.
+	 *
+	 * @param seed the seed of the policy's random source.
+	 */
+	public RandomInputPolicy(long seed) {
+		this.random = new GameRandom(seed);
+	}
+
+	/**
+	 * Randomly starts or stops a move and randomly fires.
+	 *
+	 * @param world the world being played.
+	 */
+	@Override
+	public void applyDueInputs(GameWorld world) {
+		if (world != this.world) {
+			this.world = world;
+			this.worldInput = world::applyInput;
+		}
+		applyDueInputs(worldInput);
+	}
+
+	/**
+	 * Randomly starts or stops a move and randomly fires, as presses and releases of the controls.
+	 *
+	 * @param input receives each control with true for a press or false for a release.
+	 */
+	public void applyDueInputs(BiConsumer<InputControl, Boolean> input) {
+		if (random.nextDouble() < MOVE_CHANGE_PROBABILITY) {
+			if (heldMove != null) {
+				input.accept(heldMove, false);
+				heldMove = null;
+			} else {
+				heldMove = random.nextBoolean() ? InputControl.UP : InputControl.DOWN;
+				input.accept(heldMove, true);
+			}
+		}
+		if (random.nextDouble() < FIRE_PROBABILITY) {
+			input.accept(InputControl.FIRE, true);
+			input.accept(InputControl.FIRE, false);
+		}
+	}
+}
@@ -0,0 +1,157 @@
+package main.java.com.example.demo;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A replay file loaded into memory: the level it was recorded in, the level's seed, and the player's
+ * tick-stamped input events. Written by {@link InputRecorder} and played back by {@link ReplayPlayer}.
+ */
+public class Replay {
+
+	private static final int MIN_EVENT_BYTES = 2; // A tick delta of at least one byte and the event code
+
+	private final String levelName;
+	private final long seed;
+	private final long[] ticks;
+	private final byte[] codes;
+	private final long endTick;
+
+	/**
+	 * Constructs a replay from decoded file contents.
+	 *
+	 * @param levelName the level the replay was recorded in.
+	 * @param seed      the level's seed.
+	 * @param ticks     the tick of each event, in order.
+	 * @param codes     the {@link InputControl} code of each event.
+	 * @param endTick   the tick count the level ended at.
+	 */
+	private Replay(String levelName, long seed, long[] ticks, byte[] codes, long endTick) {
+		this.levelName = levelName;
+		this.seed = seed;
+		this.ticks = ticks;
+		this.codes = codes;
+		this.endTick = endTick;
+	}
+
+	/**
+	 * Reads a replay file.
+	 *
+	 * @param file the file to read.
+	 * @return the loaded replay.
+	 * @throws IOException if the file cannot be read or is not a replay of a supported version.
+	 */
+	public static Replay read(Path file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != InputRecorder.MAGIC) {
+				throw new IOException("Not a replay file: " + file);
+			}
+			int version = in.readUnsignedByte();
+			if (version != InputRecorder.VERSION) {
+				throw new IOException("Unsupported replay version " + version + ": " + file);
+			}
+			String levelName = in.readUTF();
+			long seed = in.readLong();
+			long eventCount = readVarLong(in);
+			if (eventCount < 0 || eventCount > Files.size(file) / MIN_EVENT_BYTES) {
+				throw new IOException("Corrupt replay file: " + file); // More events than the file could hold
+			}
+			long[] ticks = new long[(int) eventCount];
+			byte[] codes = new byte[(int) eventCount];
+			long tick = 0;
+			for (int i = 0; i < eventCount; i++) {
+				tick += readVarLong(in);
+				ticks[i] = tick;
+				codes[i] = in.readByte();
+				InputControl.decode(codes[i]); // Rejects corrupt codes up front
+			}
+			long endTick = tick + readVarLong(in);
+			return new Replay(levelName, seed, ticks, codes, endTick);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Corrupt replay file: " + file, e);
+		}
+	}
+
+	/**
+	 * Retrieves the name of the level the replay was recorded in.
+	 *
+	 * @return the level name.
+	 */
+	public String getLevelName() {
+		return levelName;
+	}
+
+	/**
+	 * Retrieves the seed the level's world was created with.
+	 *
+	 * @return the seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Retrieves the number of input events.
+	 *
+	 * @return the event count.
+	 */
+	public int getEventCount() {
+		return ticks.length;
+	}
+
+	/**
+	 * Retrieves the tick an event is applied before.
+	 *
+	 * @param index the event index.
+	 * @return the event's tick.
+	 */
+	public long getTick(int index) {
+		return ticks[index];
+	}
+
+	/**
+	 * Retrieves the {@link InputControl} code of an event.
+	 *
+	 * @param index the event index.
+	 * @return the event code.
+	 */
+	public int getCode(int index) {
+		return codes[index];
+	}
+
+	/**
+	 * Retrieves the tick count the level ended at when it was recorded.
+	 *
+	 * @return the end tick.
+	 */
+	public long getEndTick() {
+		return endTick;
+	}
+
+	/**
+	 * Reads an unsigned LEB128 varint.
+	 *
+	 * @param in the stream to read from.
+	 * @return the value.
+	 * @throws IOException if the stream ends early or the varint is too long.
+	 */
+	private static long readVarLong(InputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < Long.SIZE; shift += 7) {
+			int b = in.read();
+			if (b < 0) {
+				throw new EOFException("Replay file ends early");
+			}
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed varint in replay file");
+	}
+}
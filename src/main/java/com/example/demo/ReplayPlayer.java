@@ -0,0 +1,58 @@
+package main.java.com.example.demo;
+
+/**
+ * Feeds a {@link Replay}'s input into a world, applying each event before the tick it was recorded on.
+ * In a level the player is driven by the game loop, at normal speed or unthrottled; {@link #playToEnd(GameWorld)}
+ * instead ticks a world as fast as possible with no scene at all. As an {@link InputPolicy} it scripts headless runs.
+ */
+public class ReplayPlayer implements InputPolicy {
+
+	private final Replay replay;
+	private int nextEvent;
+
+	/**
+	 * Constructs a player positioned at the start of a replay.
+	 *
+	 * @param replay the replay to play.
+	 */
+	public ReplayPlayer(Replay replay) {
+		this.replay = replay;
+	}
+
+	/**
+	 * Applies every event recorded for the world's next tick. Call this right before {@link GameWorld#tick()}.
+	 *
+	 * @param world the world being replayed, created with the replay's seed.
+	 */
+	@Override
+	public void applyDueInputs(GameWorld world) {
+		long tick = world.getTickCount();
+		while (nextEvent < replay.getEventCount() && replay.getTick(nextEvent) <= tick) {
+			int code = replay.getCode(nextEvent++);
+			world.applyInput(InputControl.decode(code), InputControl.isPress(code));
+		}
+	}
+
+	/**
+	 * Ticks a world through the whole replay as fast as possible, until the level ends or the recording does.
+	 *
+	 * @param world the world to replay, created with the replay's seed.
+	 * @return the world's status after the last tick.
+	 */
+	public GameWorld.Status playToEnd(GameWorld world) {
+		while (world.getStatus() == GameWorld.Status.IN_PROGRESS && world.getTickCount() < replay.getEndTick()) {
+			applyDueInputs(world);
+			world.tick();
+		}
+		return world.getStatus();
+	}
+
+	/**
+	 * Checks whether every event has been applied.
+	 *
+	 * @return true once the replay has no more input.
+	 */
+	public boolean isFinished() {
+		return nextEvent >= replay.getEventCount();
+	}
+}
@@ -0,0 +1,314 @@
+package main.java.com.example.demo;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Keeps the last few seconds of a world's state of play in a fixed-size ring buffer, so play can be rewound.
+ * After every tick the world is encoded as for a {@link WorldSnapshot}. Every {@code keyframeInterval} ticks the
+ * encoding is stored whole, as a keyframe; in between, only the change from the previous tick is stored, as a
+ * {@link StateDelta}. Rewinding decodes the nearest keyframe at or before the target tick, then applies the deltas after it.
+ *
+ * <p>The ring is a single byte array of the configured budget. When it is full, or already holds the configured
+ * number of seconds, the oldest keyframe is dropped together with its deltas. Recording reuses its scratch buffers,
+ * so once they have grown to fit the world it allocates nothing per tick.
+ */
+public class RewindBuffer {
+
+	private static final int MILLIS_PER_SECOND = 1000;
+	private static final int INITIAL_STATE_CAPACITY = 4096;
+
+	private final byte[] ring;
+	private final int keyframeInterval;
+	private final int maxFrames;
+
+	// Frame index, circular like the ring: where each frame's record starts, its length, its tick and its kind
+	private final int[] frameOffsets;
+	private final int[] frameLengths;
+	private final long[] frameTicks;
+	private final boolean[] keyframes;
+	private int oldestFrame;
+	private int frameCount;
+	private int usedBytes;
+	private int ticksSinceKeyframe;
+
+	// Scratch buffers: the state of the newest frame, the state being recorded, and its delta
+	private byte[] previousState;
+	private ByteBuffer previousBuffer;
+	private int previousLength;
+	private byte[] currentState;
+	private ByteBuffer currentBuffer;
+	private byte[] delta;
+
+	/**
+	 * Constructs an empty rewind buffer.
+	 *
+	 * @param budgetBytes      the size of the ring, which bounds the memory the recorded frames take.
+	 * @param seconds          how many seconds of play to keep at most.
+	 * @param keyframeInterval the number of ticks from one keyframe to the next.
+	 * @throws IllegalArgumentException if any argument is not positive.
+	 */
+	public RewindBuffer(int budgetBytes, int seconds, int keyframeInterval) {
+		if (budgetBytes <= 0 || seconds <= 0 || keyframeInterval <= 0) {
+			throw new IllegalArgumentException("Rewind budget, duration and keyframe interval must be positive");
+		}
+		this.ring = new byte[budgetBytes];
+		this.keyframeInterval = keyframeInterval;
+		this.maxFrames = seconds * MILLIS_PER_SECOND / GameWorld.TICK_MILLIS + 1;
+		this.frameOffsets = new int[maxFrames];
+		this.frameLengths = new int[maxFrames];
+		this.frameTicks = new long[maxFrames];
+		this.keyframes = new boolean[maxFrames];
+		this.previousState = new byte[INITIAL_STATE_CAPACITY];
+		this.previousBuffer = ByteBuffer.wrap(previousState);
+		this.currentState = new byte[INITIAL_STATE_CAPACITY];
+		this.currentBuffer = ByteBuffer.wrap(currentState);
+		this.delta = new byte[INITIAL_STATE_CAPACITY];
+	}
+
+	/**
+	 * Records the world's state after a tick, dropping the oldest frames as needed to stay within the budget.
+	 * A state larger than the whole ring cannot be kept, and empties the buffer instead.
+	 *
+	 * @param world the world, between ticks.
+	 */
+	public void record(GameWorld world) {
+		int length = encode(world);
+		boolean keyframe = frameCount == 0 || ticksSinceKeyframe + 1 >= keyframeInterval;
+		int recordLength = keyframe ? length : encodeDelta(length);
+		if (recordLength < 0) {
+			keyframe = true; // The delta would be no smaller than the state itself
+			recordLength = length;
+		}
+		makeRoom(recordLength);
+		if (frameCount == 0 && !keyframe) {
+			keyframe = true; // Its keyframe was dropped to make room
+			recordLength = length;
+		}
+		if (recordLength > ring.length) {
+			clear();
+			return;
+		}
+		int offset = 0;
+		if (frameCount > 0) {
+			int newest = slot(frameCount - 1);
+			offset = (frameOffsets[newest] + frameLengths[newest]) % ring.length;
+		}
+		copyToRing(keyframe ? currentState : delta, offset, recordLength);
+		int frame = slot(frameCount);
+		frameOffsets[frame] = offset;
+		frameLengths[frame] = recordLength;
+		frameTicks[frame] = world.getTickCount();
+		keyframes[frame] = keyframe;
+		frameCount++;
+		usedBytes += recordLength;
+		ticksSinceKeyframe = keyframe ? 0 : ticksSinceKeyframe + 1;
+
+		// The recorded state becomes the base of the next delta
+		byte[] state = previousState;
+		previousState = currentState;
+		currentState = state;
+		ByteBuffer buffer = previousBuffer;
+		previousBuffer = currentBuffer;
+		currentBuffer = buffer;
+		previousLength = length;
+	}
+
+	/**
+	 * Puts the world back into the state of the latest recorded tick at or before the given one. The frames after
+	 * it are discarded, so recording carries on from the restored tick.
+	 *
+	 * @param tick  the tick to go back to.
+	 * @param world the world the frames were recorded from.
+	 * @return true if the world was restored, false if the tick is older than the oldest recorded tick, or nothing
+	 *         has been recorded, in which case the world and the buffer are left as they were.
+	 */
+	public boolean rewindTo(long tick, GameWorld world) {
+		if (frameCount == 0 || tick < frameTicks[slot(0)]) {
+			return false;
+		}
+		int target = frameCount - 1;
+		while (target > 0 && frameTicks[slot(target)] > tick) {
+			target--;
+		}
+		int keyframe = target;
+		while (!keyframes[slot(keyframe)]) {
+			keyframe--; // The oldest frame is always a keyframe
+		}
+		int keySlot = slot(keyframe);
+		previousLength = frameLengths[keySlot];
+		ensurePreviousCapacity(previousLength);
+		copyFromRing(frameOffsets[keySlot], previousState, previousLength);
+		for (int i = keyframe + 1; i <= target; i++) {
+			applyDelta(slot(i));
+		}
+		for (int i = target + 1; i < frameCount; i++) {
+			usedBytes -= frameLengths[slot(i)];
+		}
+		frameCount = target + 1;
+		ticksSinceKeyframe = target - keyframe;
+		previousBuffer.clear();
+		world.readState(previousBuffer);
+		return true;
+	}
+
+	/**
+	 * Drops every recorded frame, for when the world jumps to a state that does not follow from them.
+	 */
+	public void clear() {
+		oldestFrame = 0;
+		frameCount = 0;
+		usedBytes = 0;
+		ticksSinceKeyframe = 0;
+		previousLength = 0;
+	}
+
+	/**
+	 * Retrieves the earliest tick that can be rewound to.
+	 *
+	 * @return the oldest recorded tick, or -1 if nothing is recorded.
+	 */
+	public long getOldestTick() {
+		return frameCount == 0 ? -1 : frameTicks[slot(0)];
+	}
+
+	/**
+	 * Retrieves the latest recorded tick.
+	 *
+	 * @return the newest recorded tick, or -1 if nothing is recorded.
+	 */
+	public long getNewestTick() {
+		return frameCount == 0 ? -1 : frameTicks[slot(frameCount - 1)];
+	}
+
+	/**
+	 * Counts the recorded frames.
+	 *
+	 * @return the number of ticks that can be rewound to.
+	 */
+	public int getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * Retrieves how much of the ring the recorded frames take.
+	 *
+	 * @return the used bytes.
+	 */
+	public int getUsedBytes() {
+		return usedBytes;
+	}
+
+	/**
+	 * Retrieves the size of the ring.
+	 *
+	 * @return the memory budget in bytes.
+	 */
+	public int getBudgetBytes() {
+		return ring.length;
+	}
+
+	/**
+	 * Encodes the world into the current state buffer, growing it first if the world has outgrown it.
+	 *
+	 * @param world the world to encode.
+	 * @return the length of the encoding.
+	 */
+	private int encode(GameWorld world) {
+		currentBuffer = world.encodeState(currentBuffer.clear());
+		currentState = currentBuffer.array();
+		return currentBuffer.position();
+	}
+
+	/**
+	 * Encodes the change from the previous state to the current state into the delta buffer.
+	 *
+	 * @param length the length of the current state.
+	 * @return the length of the delta, or -1 if it would be no smaller than the state itself.
+	 */
+	private int encodeDelta(int length) {
+		if (delta.length < length) {
+			delta = new byte[currentState.length];
+		}
+		return StateDelta.encode(previousState, previousLength, currentState, length, delta, 0, length - 1);
+	}
+
+	/**
+	 * Applies a recorded delta to the previous state buffer, which then holds that frame's state.
+	 *
+	 * @param frame the index slot of the delta frame.
+	 */
+	private void applyDelta(int frame) {
+		int recordLength = frameLengths[frame];
+		if (delta.length < recordLength) {
+			delta = new byte[recordLength];
+		}
+		copyFromRing(frameOffsets[frame], delta, recordLength);
+		ensurePreviousCapacity(StateDelta.readLength(delta, 0, recordLength));
+		previousLength = StateDelta.apply(delta, 0, recordLength, previousState, previousLength);
+	}
+
+	/**
+	 * Drops the oldest frames, a keyframe with its deltas at a time, until a record of the given length fits
+	 * and the frame index has a free slot.
+	 *
+	 * @param recordLength the length of the record to fit.
+	 */
+	private void makeRoom(int recordLength) {
+		while (frameCount > 0 && (ring.length - usedBytes < recordLength || frameCount == maxFrames)) {
+			do {
+				usedBytes -= frameLengths[oldestFrame];
+				oldestFrame = (oldestFrame + 1) % maxFrames;
+				frameCount--;
+			} while (frameCount > 0 && !keyframes[oldestFrame]);
+		}
+	}
+
+	/**
+	 * Maps a frame's age to its slot in the frame index.
+	 *
+	 * @param frame the frame's position, 0 being the oldest.
+	 * @return the frame's index slot.
+	 */
+	private int slot(int frame) {
+		return (oldestFrame + frame) % maxFrames;
+	}
+
+	/**
+	 * Makes sure the previous state buffer can hold a state of the given length, keeping its contents.
+	 *
+	 * @param length the state length.
+	 */
+	private void ensurePreviousCapacity(int length) {
+		if (previousState.length < length) {
+			previousState = Arrays.copyOf(previousState, Math.max(length, previousState.length * 2));
+			previousBuffer = ByteBuffer.wrap(previousState);
+		}
+	}
+
+	/**
+	 * Copies bytes into the ring, wrapping around its end.
+	 *
+	 * @param source the bytes to copy.
+	 * @param offset where in the ring to start.
+	 * @param length the number of bytes.
+	 */
+	private void copyToRing(byte[] source, int offset, int length) {
+		int first = Math.min(length, ring.length - offset);
+		System.arraycopy(source, 0, ring, offset, first);
+		System.arraycopy(source, first, ring, 0, length - first);
+	}
+
+	/**
+	 * Copies bytes out of the ring, wrapping around its end.
+	 *
+	 * @param offset where in the ring to start.
+	 * @param target receives the bytes.
+	 * @param length the number of bytes.
+	 */
+	private void copyFromRing(int offset, byte[] target, int length) {
+		int first = Math.min(length, ring.length - offset);
+		System.arraycopy(ring, offset, target, 0, first);
+		System.arraycopy(ring, 0, target, first, length - first);
+	}
+}
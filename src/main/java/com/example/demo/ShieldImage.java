@@ -1,10 +1,7 @@
 package main.java.com.example.demo;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
-import java.util.Objects;
-
 /**
  * Represents the visual shield image for the boss in the game.
  * The shield can be shown or hidden dynamically during gameplay.
@@ -24,11 +21,7 @@ public class ShieldImage extends ImageView {
 	public ShieldImage(double xPosition, double yPosition) {
 		this.setLayoutX(xPosition);
 		this.setLayoutY(yPosition);
-		try {
-			this.setImage(new Image(Objects.requireNonNull(getClass().getResource(IMAGE_NAME)).toExternalForm()));
-		} catch (NullPointerException e) {
-			throw new IllegalArgumentException("Image resource not found: " + IMAGE_NAME, e);
-		}
+		this.setImage(SpriteCache.getInstance().getImage(IMAGE_NAME));
 		this.setVisible(false);
 		this.setFitHeight(SHIELD_SIZE);
 		this.setFitWidth(SHIELD_SIZE);
@@ -0,0 +1,181 @@
+package main.java.com.example.demo;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A uniform-grid spatial hash used as the broad phase of collision detection.
+ * One list of actors is bucketed into the cells their bounds overlap; each actor of a second list
+ * is then checked only against the actors sharing one of its cells, instead of against every actor.
+ * Positions outside the grid are clamped to its border cells, so actors off screen are still paired correctly.
+ * All storage is reused between ticks and only grows when more actors are inserted than ever before.
+ */
+public class SpatialHashGrid {
+
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int NO_ENTRY = -1;
+
+	/**
+	 * Receives the candidate pairs produced by the grid.
+	 */
+	@FunctionalInterface
+	public interface PairHandler {
+
+		/**
+		 * Handles one candidate pair whose cells overlap. The pair still needs a narrow-phase check.
+		 *
+		 * @param inserted the actor from the list the grid was built from.
+		 * @param query    the actor from the list the grid was queried with.
+		 */
+		void onCandidatePair(ActiveActorDestructible inserted, ActiveActorDestructible query);
+	}
+
+	private final double cellSize;
+	private final int columns;
+	private final int rows;
+	private final int[] cellHeads;
+
+	private ActiveActorDestructible[] items;
+	private int[] itemStamps;
+	private int itemCount;
+	private int[] entryItems;
+	private int[] entryNext;
+	private int entryCount;
+	private int queryStamp;
+	private long candidatePairs;
+
+	/**
+	 * Constructs a grid covering an area of the given size.
+	 *
+	 * @param width    the width of the area covered by the grid.
+	 * @param height   the height of the area covered by the grid.
+	 * @param cellSize the side length of a grid cell; roughly the size of the largest common actor works best.
+	 */
+	public SpatialHashGrid(double width, double height, double cellSize) {
+		this.cellSize = cellSize;
+		this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+		this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+		this.cellHeads = new int[columns * rows];
+		this.items = new ActiveActorDestructible[INITIAL_CAPACITY];
+		this.itemStamps = new int[INITIAL_CAPACITY];
+		this.entryItems = new int[INITIAL_CAPACITY];
+		this.entryNext = new int[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Clears the grid and inserts every actor of the given list into the cells its cached bounds overlap.
+	 *
+	 * @param actors the actors to bucket.
+	 */
+	public void build(List<ActiveActorDestructible> actors) {
+		Arrays.fill(cellHeads, NO_ENTRY);
+		Arrays.fill(items, 0, itemCount, null);
+		itemCount = 0;
+		entryCount = 0;
+		for (int i = 0; i < actors.size(); i++) {
+			insert(actors.get(i));
+		}
+	}
+
+	/**
+	 * Reports each actor of the given list together with every built actor that shares a cell with it.
+	 * Each pair is reported at most once, even when the two actors share several cells.
+	 *
+	 * @param queries the actors to look up.
+	 * @param handler receives the candidate pairs.
+	 */
+	public void forEachCandidatePair(List<ActiveActorDestructible> queries, PairHandler handler) {
+		for (int i = 0; i < queries.size(); i++) {
+			ActiveActorDestructible query = queries.get(i);
+			int minColumn = columnOf(query.getMinX());
+			int maxColumn = columnOf(query.getMaxX());
+			int minRow = rowOf(query.getMinY());
+			int maxRow = rowOf(query.getMaxY());
+			queryStamp++;
+			for (int row = minRow; row <= maxRow; row++) {
+				for (int column = minColumn; column <= maxColumn; column++) {
+					for (int entry = cellHeads[row * columns + column]; entry != NO_ENTRY; entry = entryNext[entry]) {
+						int item = entryItems[entry];
+						if (itemStamps[item] != queryStamp) {
+							itemStamps[item] = queryStamp;
+							candidatePairs++;
+							handler.onCandidatePair(items[item], query);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the number of candidate pairs reported since the grid was created.
+	 *
+	 * @return the candidate pair count.
+	 */
+	public long getCandidatePairs() {
+		return candidatePairs;
+	}
+
+	/**
+	 * Inserts one actor into every cell its bounds overlap.
+	 *
+	 * @param actor the actor to insert.
+	 */
+	private void insert(ActiveActorDestructible actor) {
+		if (itemCount == items.length) {
+			items = Arrays.copyOf(items, itemCount * 2);
+			itemStamps = Arrays.copyOf(itemStamps, itemCount * 2);
+		}
+		int item = itemCount++;
+		items[item] = actor;
+		itemStamps[item] = queryStamp;
+
+		int minColumn = columnOf(actor.getMinX());
+		int maxColumn = columnOf(actor.getMaxX());
+		int minRow = rowOf(actor.getMinY());
+		int maxRow = rowOf(actor.getMaxY());
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int column = minColumn; column <= maxColumn; column++) {
+				if (entryCount == entryItems.length) {
+					entryItems = Arrays.copyOf(entryItems, entryCount * 2);
+					entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+				}
+				int cell = row * columns + column;
+				entryItems[entryCount] = item;
+				entryNext[entryCount] = cellHeads[cell];
+				cellHeads[cell] = entryCount++;
+			}
+		}
+	}
+
+	/**
+	 * Maps an x-coordinate to a grid column, clamping to the grid.
+	 *
+	 * @param x the x-coordinate.
+	 * @return the column index.
+	 */
+	private int columnOf(double x) {
+		return clamp((int) Math.floor(x / cellSize), columns);
+	}
+
+	/**
+	 * Maps a y-coordinate to a grid row, clamping to the grid.
+	 *
+	 * @param y the y-coordinate.
+	 * @return the row index.
+	 */
+	private int rowOf(double y) {
+		return clamp((int) Math.floor(y / cellSize), rows);
+	}
+
+	/**
+	 * Clamps a cell index into the range {@code [0, count)}.
+	 *
+	 * @param index the raw index.
+	 * @param count the number of cells along the axis.
+	 * @return the clamped index.
+	 */
+	private static int clamp(int index, int count) {
+		return index < 0 ? 0 : Math.min(index, count - 1);
+	}
+}
@@ -0,0 +1,183 @@
+package main.java.com.example.demo;
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * A timeline of planned enemy spawns, ordered by simulated time. A world plans its spawns ahead of time, then each
+ * tick takes only the spawns that have come due, so spawning costs nothing on ticks with nothing due and every
+ * spawn happens at the same simulated time whatever the tick length.
+ */
+public class SpawnScheduler {
+
+	/**
+	 * The kinds of enemies a spawn can create.
+	 */
+	public enum EnemyType {
+		PLANE,
+		BOSS
+	}
+
+	/**
+	 * A planned spawn: when, what, and at which height.
+	 */
+	public static final class ScheduledSpawn {
+		private final long timeMillis;
+		private final long sequence;
+		private final EnemyType type;
+		private final double y;
+
+		private ScheduledSpawn(long timeMillis, long sequence, EnemyType type, double y) {
+			this.timeMillis = timeMillis;
+			this.sequence = sequence;
+			this.type = type;
+			this.y = y;
+		}
+
+		/**
+		 * Retrieves the simulated time the spawn is due at.
+		 *
+		 * @return the due time in milliseconds since the world started.
+		 */
+		public long getTimeMillis() {
+			return timeMillis;
+		}
+
+		/**
+		 * Retrieves the kind of enemy to spawn.
+		 *
+		 * @return the enemy type.
+		 */
+		public EnemyType getType() {
+			return type;
+		}
+
+		/**
+		 * Retrieves the height the enemy enters at.
+		 *
+		 * @return the enemy's initial y-coordinate.
+		 */
+		public double getY() {
+			return y;
+		}
+	}
+
+	// Earliest first; spawns due at the same time keep the order they were scheduled in
+	private static final Comparator<ScheduledSpawn> ORDER =
+			Comparator.comparingLong(ScheduledSpawn::getTimeMillis).thenComparingLong(spawn -> spawn.sequence);
+
+	private final PriorityQueue<ScheduledSpawn> timeline;
+	private long nextSequence;
+	private long lastScheduledMillis;
+
+	/**
+	 * Constructs an empty timeline.
+	 */
+	public SpawnScheduler() {
+		this.timeline = new PriorityQueue<>(ORDER);
+	}
+
+	/**
+	 * Plans a spawn.
+	 *
+	 * @param timeMillis the simulated time the spawn is due at.
+	 * @param type       the kind of enemy to spawn.
+	 * @param y          the height the enemy enters at.
+	 */
+	public void schedule(long timeMillis, EnemyType type, double y) {
+		timeline.add(new ScheduledSpawn(timeMillis, nextSequence++, type, y));
+		lastScheduledMillis = Math.max(lastScheduledMillis, timeMillis);
+	}
+
+	/**
+	 * Looks at the earliest spawn if it is due, without taking it off the timeline.
+	 *
+	 * @param nowMillis the current simulated time.
+	 * @return the earliest spawn, or {@code null} if nothing is due yet.
+	 */
+	public ScheduledSpawn peekDue(long nowMillis) {
+		ScheduledSpawn next = timeline.peek();
+		return next != null && next.timeMillis <= nowMillis ? next : null;
+	}
+
+	/**
+	 * Takes the earliest spawn off the timeline.
+	 *
+	 * @return the earliest spawn, or {@code null} if the timeline is empty.
+	 */
+	public ScheduledSpawn poll() {
+		return timeline.poll();
+	}
+
+	/**
+	 * Retrieves the latest due time ever scheduled, where a timeline that runs out can be continued from.
+	 *
+	 * @return the latest scheduled time in milliseconds.
+	 */
+	public long getLastScheduledMillis() {
+		return lastScheduledMillis;
+	}
+
+	/**
+	 * Counts the spawns still planned.
+	 *
+	 * @return the number of spawns on the timeline.
+	 */
+	public int size() {
+		return timeline.size();
+	}
+
+	/**
+	 * Checks whether nothing is planned.
+	 *
+	 * @return true if the timeline is empty.
+	 */
+	public boolean isEmpty() {
+		return timeline.isEmpty();
+	}
+
+	/**
+	 * Drops every planned spawn, and forgets how far ahead they went, so a new wave is planned from its own start.
+	 */
+	public void clear() {
+		timeline.clear();
+		lastScheduledMillis = 0;
+	}
+
+	/**
+	 * Writes the timeline to a {@link WorldSnapshot}. Spawns keep their sequence numbers, so spawns due at the
+	 * same time come off a restored timeline in the same order.
+	 *
+	 * @param out the buffer the snapshot is written to.
+	 */
+	void writeState(ByteBuffer out) {
+		out.putLong(nextSequence);
+		out.putLong(lastScheduledMillis);
+		out.putInt(timeline.size());
+		for (ScheduledSpawn spawn : timeline) {
+			out.putLong(spawn.timeMillis);
+			out.putLong(spawn.sequence);
+			out.put((byte) spawn.type.ordinal());
+			out.putDouble(spawn.y);
+		}
+	}
+
+	/**
+	 * Replaces the timeline with one written by {@link #writeState(ByteBuffer)}.
+	 *
+	 * @param in the buffer the snapshot is read from.
+	 */
+	void readState(ByteBuffer in) {
+		timeline.clear();
+		nextSequence = in.getLong();
+		lastScheduledMillis = in.getLong();
+		int size = in.getInt();
+		for (int i = 0; i < size; i++) {
+			long timeMillis = in.getLong();
+			long sequence = in.getLong();
+			EnemyType type = EnemyType.values()[in.get()];
+			timeline.add(new ScheduledSpawn(timeMillis, sequence, type, in.getDouble()));
+		}
+	}
+}
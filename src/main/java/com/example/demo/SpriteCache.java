@@ -0,0 +1,251 @@
+package main.java.com.example.demo;
+
+import javafx.scene.image.Image;
+
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A process-wide cache of decoded sprite images, keyed by resource path and requested height.
+ * Actors and UI components look their images up here instead of decoding the PNG again on every spawn.
+ * Entries are evicted in least-recently-used order once the decoded pixel weight exceeds the byte budget.
+ */
+public final class SpriteCache {
+
+	private static final long DEFAULT_MAX_WEIGHT_BYTES = 64L * 1024 * 1024; // 64 MiB of decoded pixels
+	private static final int BYTES_PER_PIXEL = 4; // Decoded images are stored as 32-bit ARGB
+	private static final int ORIGINAL_SIZE = 0; // Requested height meaning "decode at the image's own size"
+
+	private static final SpriteCache INSTANCE = new SpriteCache(DEFAULT_MAX_WEIGHT_BYTES);
+
+	private final Map<String, Entry> entries;
+	private final long maxWeightBytes;
+	private long currentWeightBytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long decodedBytes;
+
+	/**
+	 * Constructs a cache with the given decoded-pixel budget.
+	 *
+	 * @param maxWeightBytes the maximum number of decoded bytes kept before entries are evicted.
+	 */
+	SpriteCache(long maxWeightBytes) {
+		this.maxWeightBytes = maxWeightBytes;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true); // Access order gives LRU iteration
+	}
+
+	/**
+	 * Retrieves the shared cache instance.
+	 *
+	 * @return the process-wide {@code SpriteCache}.
+	 */
+	public static SpriteCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Retrieves the image at the given resource path decoded at its original size.
+	 *
+	 * @param resourcePath the absolute classpath location of the image.
+	 * @return the cached or freshly decoded image.
+	 * @throws IllegalArgumentException if the image resource cannot be found.
+	 */
+	public Image getImage(String resourcePath) {
+		return getImage(resourcePath, ORIGINAL_SIZE);
+	}
+
+	/**
+	 * Retrieves the image at the given resource path decoded at the requested height.
+	 * The width is scaled to preserve the image's aspect ratio.
+	 *
+	 * @param resourcePath    the absolute classpath location of the image.
+	 * @param requestedHeight the height to decode the image at, or 0 for its original size.
+	 * @return the cached or freshly decoded image.
+	 * @throws IllegalArgumentException if the image resource cannot be found.
+	 */
+	public synchronized Image getImage(String resourcePath, int requestedHeight) {
+		String key = keyFor(resourcePath, requestedHeight);
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			hits++;
+			return entry.image;
+		}
+		misses++;
+		return load(key, resourcePath, requestedHeight);
+	}
+
+	/**
+	 * Decodes the given image ahead of time so later lookups are cache hits.
+	 * Levels call this before starting the game so no decode happens on the first spawn.
+	 *
+	 * @param resourcePath    the absolute classpath location of the image.
+	 * @param requestedHeight the height to decode the image at, or 0 for its original size.
+	 */
+	public synchronized void preload(String resourcePath, int requestedHeight) {
+		String key = keyFor(resourcePath, requestedHeight);
+		if (!entries.containsKey(key)) {
+			load(key, resourcePath, requestedHeight); // Preloading is neither a hit nor a miss on the hot path
+		}
+	}
+
+	/**
+	 * Decodes an image and adds it to the cache, evicting older entries as needed. Leaves the hit and miss counters alone.
+	 *
+	 * @param key             the image's cache key.
+	 * @param resourcePath    the absolute classpath location of the image.
+	 * @param requestedHeight the height to decode the image at, or 0 for its original size.
+	 * @return the decoded image.
+	 * @throws IllegalArgumentException if the image resource cannot be found.
+	 */
+	private Image load(String key, String resourcePath, int requestedHeight) {
+		Image image = decode(resourcePath, requestedHeight);
+		long weight = weightOf(image);
+		decodedBytes += weight;
+		entries.put(key, new Entry(image, weight));
+		currentWeightBytes += weight;
+		evictToBudget();
+		return image;
+	}
+
+	/**
+	 * Removes every cached image and resets the current weight. Counters are kept.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		currentWeightBytes = 0;
+	}
+
+	/**
+	 * Retrieves the number of lookups answered from the cache.
+	 *
+	 * @return the hit count.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Retrieves the number of lookups that had to decode an image.
+	 *
+	 * @return the miss count.
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Retrieves the number of entries evicted to stay within the byte budget.
+	 *
+	 * @return the eviction count.
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Retrieves the total number of bytes decoded since the cache was created.
+	 *
+	 * @return the decoded byte count.
+	 */
+	public synchronized long getDecodedBytes() {
+		return decodedBytes;
+	}
+
+	/**
+	 * Retrieves the decoded weight of the images currently held.
+	 *
+	 * @return the current weight in bytes.
+	 */
+	public synchronized long getCurrentWeightBytes() {
+		return currentWeightBytes;
+	}
+
+	/**
+	 * Retrieves the number of images currently held.
+	 *
+	 * @return the entry count.
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Summarizes the cache counters for logging.
+	 *
+	 * @return a single-line description of the cache state.
+	 */
+	@Override
+	public synchronized String toString() {
+		return String.format("SpriteCache[entries=%d, weight=%d/%d bytes, hits=%d, misses=%d, evictions=%d, decoded=%d bytes]",
+				entries.size(), currentWeightBytes, maxWeightBytes, hits, misses, evictions, decodedBytes);
+	}
+
+	/**
+	 * Evicts least-recently-used entries until the cache fits its budget.
+	 * The most recently inserted entry is always kept, even if it alone exceeds the budget.
+	 */
+	private void evictToBudget() {
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (currentWeightBytes > maxWeightBytes && entries.size() > 1 && iterator.hasNext()) {
+			Entry eldest = iterator.next();
+			iterator.remove();
+			currentWeightBytes -= eldest.weight;
+			evictions++;
+		}
+	}
+
+	/**
+	 * Decodes the image resource synchronously at the requested height.
+	 *
+	 * @param resourcePath    the absolute classpath location of the image.
+	 * @param requestedHeight the height to decode the image at, or 0 for its original size.
+	 * @return the decoded image.
+	 * @throws IllegalArgumentException if the image resource cannot be found.
+	 */
+	private Image decode(String resourcePath, int requestedHeight) {
+		URL resource = SpriteCache.class.getResource(resourcePath);
+		if (resource == null) {
+			throw new IllegalArgumentException("Image resource not found: " + resourcePath);
+		}
+		return new Image(resource.toExternalForm(), ORIGINAL_SIZE, requestedHeight, true, true);
+	}
+
+	/**
+	 * Computes the decoded size of an image in bytes.
+	 *
+	 * @param image the decoded image.
+	 * @return the number of bytes its pixels occupy.
+	 */
+	private static long weightOf(Image image) {
+		return (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * BYTES_PER_PIXEL;
+	}
+
+	/**
+	 * Builds the cache key for a resource path and requested height.
+	 *
+	 * @param resourcePath    the absolute classpath location of the image.
+	 * @param requestedHeight the requested decode height.
+	 * @return the cache key.
+	 */
+	private static String keyFor(String resourcePath, int requestedHeight) {
+		return resourcePath + '@' + requestedHeight;
+	}
+
+	/**
+	 * A cached image together with its decoded weight.
+	 */
+	private static final class Entry {
+
+		private final Image image;
+		private final long weight;
+
+		private Entry(Image image, long weight) {
+			this.image = image;
+			this.weight = weight;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package main.java.com.example.demo;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the dimensions of sprite images without decoding them, so actor sizes are known
+ * to the simulation without loading any pixels or starting the JavaFX toolkit.
+ * Only the PNG header is read; aspect ratios are cached per resource path.
+ */
+public final class SpriteMetrics {
+
+	private static final long PNG_SIGNATURE = 0x89504E470D0A1A0AL;
+	private static final int IHDR_CHUNK_TYPE = 0x49484452; // "IHDR"
+
+	private static final Map<String, Double> ASPECT_RATIOS = new ConcurrentHashMap<>();
+
+	private SpriteMetrics() {
+	}
+
+	/**
+	 * Retrieves the width-to-height ratio of a PNG image resource.
+	 *
+	 * @param resourcePath the absolute classpath location of the image.
+	 * @return the image width divided by its height.
+	 * @throws IllegalArgumentException if the resource is missing or is not a PNG image.
+	 */
+	public static double aspectRatio(String resourcePath) {
+		return ASPECT_RATIOS.computeIfAbsent(resourcePath, SpriteMetrics::readAspectRatio);
+	}
+
+	/**
+	 * Reads the width and height from a PNG image's IHDR chunk.
+	 *
+	 * @param resourcePath the absolute classpath location of the image.
+	 * @return the image width divided by its height.
+	 * @throws IllegalArgumentException if the resource is missing or is not a PNG image.
+	 */
+	private static double readAspectRatio(String resourcePath) {
+		InputStream resource = SpriteMetrics.class.getResourceAsStream(resourcePath);
+		if (resource == null) {
+			throw new IllegalArgumentException("Image resource not found: " + resourcePath);
+		}
+		try (DataInputStream in = new DataInputStream(resource)) {
+			if (in.readLong() != PNG_SIGNATURE) {
+				throw new IllegalArgumentException("Not a PNG image: " + resourcePath);
+			}
+			in.readInt(); // IHDR chunk length
+			if (in.readInt() != IHDR_CHUNK_TYPE) {
+				throw new IllegalArgumentException("Malformed PNG header: " + resourcePath);
+			}
+			int width = in.readInt();
+			int height = in.readInt();
+			return (double) width / height;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Unable to read image header: " + resourcePath, e);
+		}
+	}
+}
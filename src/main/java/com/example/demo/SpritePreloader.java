@@ -0,0 +1,15 @@
+package main.java.com.example.demo;
+
+/**
+ * Receives the sprites a level is going to spawn, so the view can decode them before the game starts.
+ */
+public interface SpritePreloader {
+
+	/**
+	 * Prepares an actor image for drawing.
+	 *
+	 * @param imageName   the name of the image file in the images folder.
+	 * @param imageHeight the height the image is drawn at.
+	 */
+	void preload(String imageName, int imageHeight);
+}
@@ -0,0 +1,206 @@
+package main.java.com.example.demo;
+
+/**
+ * Encodes the change from one encoded world state to the next as the two states XORed together, with the runs of
+ * unchanged bytes collapsed into varint lengths: the new state's length, then pairs of a run of unchanged bytes
+ * and a literal run of changed bytes. Fields that did not change cost nothing, and an actor that moved costs a
+ * few bytes. Used by the {@link RewindBuffer} to keep ticks between keyframes, and by {@link CoopHost} to stream
+ * state to a co-op client.
+ */
+final class StateDelta {
+
+	private static final int MIN_ZERO_RUN = 3; // Shorter runs of unchanged bytes cost less inside a literal
+	private static final int MAX_VARINT_BYTES = 5;
+
+	/**
+	 * Prevents instantiation; the codec is stateless.
+	 */
+	private StateDelta() {
+	}
+
+	/**
+	 * Encodes the change from a base state to a new state.
+	 *
+	 * @param base       the base state.
+	 * @param baseLength the length of the base state.
+	 * @param state      the new state.
+	 * @param length     the length of the new state.
+	 * @param out        receives the delta.
+	 * @param offset     where in {@code out} to start.
+	 * @param maxLength  the most bytes the delta may take.
+	 * @return the length of the delta, or -1 if it would take more than {@code maxLength} bytes.
+	 */
+	static int encode(byte[] base, int baseLength, byte[] state, int length, byte[] out, int offset, int maxLength) {
+		if (maxLength < MAX_VARINT_BYTES) {
+			return -1;
+		}
+		int end = offset + maxLength;
+		int position = writeVarInt(out, offset, length);
+		int index = 0;
+		while (index < length) {
+			int zeroStart = index;
+			while (index < length && xor(base, baseLength, state, index) == 0) {
+				index++;
+			}
+			int literalStart = index;
+			while (index < length && !isZeroRunAt(base, baseLength, state, length, index)) {
+				index++;
+			}
+			int literalLength = index - literalStart;
+			if (position + 2 * MAX_VARINT_BYTES + literalLength > end) {
+				return -1;
+			}
+			position = writeVarInt(out, position, literalStart - zeroStart);
+			position = writeVarInt(out, position, literalLength);
+			for (int i = literalStart; i < index; i++) {
+				out[position++] = xor(base, baseLength, state, i);
+			}
+		}
+		return position - offset;
+	}
+
+	/**
+	 * Reads the length of the state a delta produces, so the caller can make room for it before applying the delta.
+	 *
+	 * @param delta       the delta.
+	 * @param offset      where the delta starts.
+	 * @param deltaLength the length of the delta.
+	 * @return the length of the new state.
+	 * @throws IllegalArgumentException if the delta is malformed.
+	 */
+	static int readLength(byte[] delta, int offset, int deltaLength) {
+		return readVarInt(delta, offset, offset + deltaLength);
+	}
+
+	/**
+	 * Turns a base state into the new state by applying a delta in place.
+	 *
+	 * @param delta       the delta.
+	 * @param offset      where the delta starts.
+	 * @param deltaLength the length of the delta.
+	 * @param state       the base state, replaced by the new state; must have room for
+	 *                    {@link #readLength(byte[], int, int)} bytes.
+	 * @param baseLength  the length of the base state.
+	 * @return the length of the new state.
+	 * @throws IllegalArgumentException if the delta is malformed: it runs past its own end or the new state's,
+	 *                                  or the new state does not fit in {@code state}, which is then partly changed.
+	 */
+	static int apply(byte[] delta, int offset, int deltaLength, byte[] state, int baseLength) {
+		int end = offset + deltaLength;
+		int length = readVarInt(delta, offset, end);
+		if (length > state.length) {
+			throw new IllegalArgumentException("Delta makes a state of " + length + " bytes, room for " + state.length);
+		}
+		int position = offset + varIntSize(length);
+		for (int i = baseLength; i < length; i++) {
+			state[i] = 0; // The base is zero past its end
+		}
+		int index = 0;
+		while (index < length) {
+			int zeros = readVarInt(delta, position, end);
+			position += varIntSize(zeros);
+			int literalLength = readVarInt(delta, position, end);
+			position += varIntSize(literalLength);
+			if (zeros > length - index || literalLength > length - index - zeros || literalLength > end - position) {
+				throw new IllegalArgumentException("Delta runs past the end of the state or of itself");
+			}
+			index += zeros;
+			for (int i = 0; i < literalLength; i++) {
+				state[index++] ^= delta[position++];
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * XORs a byte of the new state with the base state, where the base state is zero past its end.
+	 *
+	 * @param base       the base state.
+	 * @param baseLength the length of the base state.
+	 * @param state      the new state.
+	 * @param index      the byte index.
+	 * @return the changed bits of the byte.
+	 */
+	private static byte xor(byte[] base, int baseLength, byte[] state, int index) {
+		return (byte) (index < baseLength ? state[index] ^ base[index] : state[index]);
+	}
+
+	/**
+	 * Checks whether a run of unchanged bytes long enough to end a literal starts at the given index.
+	 *
+	 * @param base       the base state.
+	 * @param baseLength the length of the base state.
+	 * @param state      the new state.
+	 * @param length     the length of the new state.
+	 * @param index      the byte index.
+	 * @return true if the bytes up to the run length or the end of the state are unchanged.
+	 */
+	private static boolean isZeroRunAt(byte[] base, int baseLength, byte[] state, int length, int index) {
+		int end = Math.min(index + MIN_ZERO_RUN, length);
+		for (int i = index; i < end; i++) {
+			if (xor(base, baseLength, state, i) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes a non-negative value as a varint: seven bits per byte, low bits first, high bit set on all but the last.
+	 *
+	 * @param target   the array to write into.
+	 * @param position where to write.
+	 * @param value    the value.
+	 * @return the position after the varint.
+	 */
+	private static int writeVarInt(byte[] target, int position, int value) {
+		while ((value & ~0x7F) != 0) {
+			target[position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		target[position++] = (byte) value;
+		return position;
+	}
+
+	/**
+	 * Reads a varint.
+	 *
+	 * @param source   the array to read from.
+	 * @param position where the varint starts.
+	 * @param end      where the data it may take ends.
+	 * @return the value.
+	 * @throws IllegalArgumentException if the varint runs past {@code end} or is not a non-negative int.
+	 */
+	private static int readVarInt(byte[] source, int position, int end) {
+		int value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			if (position >= end || shift >= 32) {
+				throw new IllegalArgumentException("Malformed varint in delta");
+			}
+			b = source[position++];
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		if (value < 0) {
+			throw new IllegalArgumentException("Malformed varint in delta");
+		}
+		return value;
+	}
+
+	/**
+	 * Counts the bytes a value takes as a varint.
+	 *
+	 * @param value the non-negative value.
+	 * @return the varint's length.
+	 */
+	private static int varIntSize(int value) {
+		int size = 1;
+		while ((value & ~0x7F) != 0) {
+			value >>>= 7;
+			size++;
+		}
+		return size;
+	}
+}
@@ -0,0 +1,168 @@
+package main.java.com.example.demo;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed-size, lock-free ring of gameplay events, written by the game thread and read by a {@link TelemetryWriter}.
+ * Each event is stored field by field in preallocated arrays, so publishing allocates nothing; when the ring is full
+ * the event is dropped and counted rather than waiting for the reader, so the game thread never stalls on it.
+ *
+ * <p>Exactly one thread may publish and exactly one may drain. Each side keeps its own position in a plain field and
+ * hands it to the other through an {@link AtomicLong} with an ordered write, which makes the event's fields visible
+ * before its position without a full memory fence.
+ */
+public class TelemetryRing {
+
+	/**
+	 * The gameplay events.
+	 */
+	public enum Event {
+		KILL,
+		DAMAGE,
+		SHIELD_UP,
+		SHIELD_DOWN,
+		LEVEL_START,
+		LEVEL_WON,
+		LEVEL_LOST
+	}
+
+	// What an event happened to, stored with it
+	static final byte SOURCE_USER = 0;
+	static final byte SOURCE_SECOND_PLAYER = 1;
+	static final byte SOURCE_ENEMY = 2;
+	static final byte SOURCE_BOSS = 3;
+	static final byte SOURCE_LEVEL = 4;
+
+	static final int RECORD_BYTES = 22; // Time, tick, event, source and value, as drained
+
+	private final int mask;
+
+	// One event per slot
+	private final long[] times;
+	private final long[] ticks;
+	private final byte[] events;
+	private final byte[] sources;
+	private final int[] values;
+
+	// The producer's side: the next slot to write and the tick events are stamped with
+	private final AtomicLong published;
+	private long producerPosition;
+	private long consumerPositionSeen;
+	private long tick;
+	private final AtomicLong dropped;
+
+	// The consumer's side: the next slot to read
+	private final AtomicLong consumed;
+	private long consumerPosition;
+
+	/**
+	 * Constructs an empty ring.
+	 *
+	 * @param capacity the number of events the ring holds, a power of two.
+	 * @throws IllegalArgumentException if the capacity is not a positive power of two.
+	 */
+	public TelemetryRing(int capacity) {
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Telemetry ring capacity must be a power of two, not " + capacity);
+		}
+		this.mask = capacity - 1;
+		this.times = new long[capacity];
+		this.ticks = new long[capacity];
+		this.events = new byte[capacity];
+		this.sources = new byte[capacity];
+		this.values = new int[capacity];
+		this.published = new AtomicLong();
+		this.consumed = new AtomicLong();
+		this.dropped = new AtomicLong();
+	}
+
+	/**
+	 * Sets the tick that the events published from now on are stamped with. Called by the producer.
+	 *
+	 * @param tick the world's tick count.
+	 */
+	public void setTick(long tick) {
+		this.tick = tick;
+	}
+
+	/**
+	 * Publishes an event, or drops it if the ring is full. Called by the producer; never blocks or allocates.
+	 *
+	 * @param event  what happened.
+	 * @param source what it happened to, one of the {@code SOURCE_} constants.
+	 * @param value  the event's detail: the health left after damage, the kill count after a kill, the ID's hash
+	 *               of the level for a level event, or 0.
+	 * @return true if the event was published, false if it was dropped.
+	 */
+	public boolean publish(Event event, byte source, int value) {
+		if (producerPosition - consumerPositionSeen > mask) {
+			consumerPositionSeen = consumed.get(); // Only looked up when the ring seems full
+			if (producerPosition - consumerPositionSeen > mask) {
+				dropped.lazySet(dropped.get() + 1);
+				return false;
+			}
+		}
+		int slot = (int) (producerPosition & mask);
+		times[slot] = System.nanoTime();
+		ticks[slot] = tick;
+		events[slot] = (byte) event.ordinal();
+		sources[slot] = source;
+		values[slot] = value;
+		producerPosition++;
+		published.lazySet(producerPosition);
+		return true;
+	}
+
+	/**
+	 * Moves as many published events as fit into a buffer, each as {@link #RECORD_BYTES} bytes: the
+	 * {@link System#nanoTime()} it was published at, the tick, the event's ordinal, the source and the value.
+	 * Called by the consumer.
+	 *
+	 * @param out the buffer to fill.
+	 * @return the number of events moved.
+	 */
+	public int drainTo(ByteBuffer out) {
+		long available = published.get();
+		int count = 0;
+		while (consumerPosition < available && out.remaining() >= RECORD_BYTES) {
+			int slot = (int) (consumerPosition & mask);
+			out.putLong(times[slot]);
+			out.putLong(ticks[slot]);
+			out.put(events[slot]);
+			out.put(sources[slot]);
+			out.putInt(values[slot]);
+			consumerPosition++;
+			count++;
+		}
+		consumed.lazySet(consumerPosition);
+		return count;
+	}
+
+	/**
+	 * Counts the events published but not yet drained.
+	 *
+	 * @return the number of pending events.
+	 */
+	public long getPendingCount() {
+		return published.get() - consumed.get();
+	}
+
+	/**
+	 * Counts the events dropped because the ring was full.
+	 *
+	 * @return the number of dropped events.
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * Retrieves the number of events the ring holds.
+	 *
+	 * @return the capacity.
+	 */
+	public int getCapacity() {
+		return mask + 1;
+	}
+}
@@ -0,0 +1,234 @@
+package main.java.com.example.demo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drains a {@link TelemetryRing} on a background thread into rolling binary log files, so the game thread never waits
+ * on disk. Files are named {@code telemetry-N.skylog} with N counting up; once a file reaches its size limit the next
+ * one is started, and only the newest few are kept. Each file starts with a header of the magic {@code "SKYT"}, a
+ * version byte, and the wall-clock time in milliseconds together with the {@link System#nanoTime()} of the moment it
+ * was opened, which dates the events' timestamps; the events follow as described by {@link TelemetryRing#drainTo(ByteBuffer)}.
+ *
+ * <p>Set the system property {@code skybattle.telemetry} to a directory to log the game's events there.
+ */
+public class TelemetryWriter implements AutoCloseable {
+
+	private static final String TELEMETRY_PROPERTY = "skybattle.telemetry"; // Directory telemetry logs are written to
+	private static final int MAGIC = 0x534B5954; // "SKYT"
+	private static final byte VERSION = 1;
+	private static final int HEADER_BYTES = 21; // Magic, version, wall-clock time and nano time
+	private static final String FILE_PREFIX = "telemetry-";
+	private static final String FILE_EXTENSION = ".skylog";
+	private static final int SHARED_CAPACITY = 1 << 14; // Events the shared ring holds; a second of heavy play is a few hundred
+	private static final long DEFAULT_MAX_FILE_BYTES = 4 << 20;
+	private static final int DEFAULT_MAX_FILES = 8;
+	private static final int BUFFER_BYTES = 64 * 1024;
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10); // Pause when the ring is empty
+
+	private static TelemetryRing sharedRing;
+
+	private final TelemetryRing ring;
+	private final Path directory;
+	private final long maxFileBytes;
+	private final int maxFiles;
+	private final ByteBuffer buffer;
+	private final ByteBuffer header;
+	private final Thread thread;
+	private volatile boolean running;
+	private FileChannel file;
+	private long fileNumber;
+	private long fileBytes;
+
+	/**
+	 * Starts draining a ring into a directory.
+	 *
+	 * @param ring         the ring to drain.
+	 * @param directory    the directory to write the log files to; created if missing.
+	 * @param maxFileBytes the size at which a log file is closed and the next one started.
+	 * @param maxFiles     how many log files to keep; older ones are deleted.
+	 * @throws IOException              if the directory or the first file cannot be created.
+	 * @throws IllegalArgumentException if the size limit or the file count is not positive.
+	 */
+	public TelemetryWriter(TelemetryRing ring, Path directory, long maxFileBytes, int maxFiles) throws IOException {
+		if (maxFileBytes <= 0 || maxFiles <= 0) {
+			throw new IllegalArgumentException("Telemetry file size and count must be positive");
+		}
+		this.ring = ring;
+		this.directory = directory;
+		this.maxFileBytes = maxFileBytes;
+		this.maxFiles = maxFiles;
+		this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+		this.header = ByteBuffer.allocateDirect(HEADER_BYTES);
+		Files.createDirectories(directory);
+		this.fileNumber = findLastFileNumber();
+		openNextFile();
+		this.running = true;
+		this.thread = new Thread(this::drainLoop, "telemetry-writer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Retrieves the ring the game's events go to, starting its writer the first time if the {@code skybattle.telemetry}
+	 * system property names a directory. The writer is closed, and the last events written out, when the JVM exits.
+	 * Only one thread may publish to the shared ring: the JavaFX application thread in the game, or the main thread
+	 * of a headless run.
+	 *
+	 * @return the shared ring, or {@code null} if telemetry is off or its directory cannot be written.
+	 */
+	public static synchronized TelemetryRing getSharedRing() {
+		String directory = System.getProperty(TELEMETRY_PROPERTY);
+		if (sharedRing != null || directory == null) {
+			return sharedRing;
+		}
+		try {
+			TelemetryRing ring = new TelemetryRing(SHARED_CAPACITY);
+			TelemetryWriter writer = new TelemetryWriter(ring, Paths.get(directory), DEFAULT_MAX_FILE_BYTES, DEFAULT_MAX_FILES);
+			Runtime.getRuntime().addShutdownHook(new Thread(writer::closeQuietly, "telemetry-shutdown"));
+			System.out.println("Logging telemetry to " + directory);
+			sharedRing = ring;
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return sharedRing;
+	}
+
+	/**
+	 * Stops the background thread, writes out the events still in the ring and closes the current file.
+	 *
+	 * @throws IOException if the last events cannot be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!running) {
+			return;
+		}
+		running = false;
+		LockSupport.unpark(thread);
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		while (drainOnce() > 0) {
+			// Write out what was published while stopping
+		}
+		file.close();
+	}
+
+	/**
+	 * Closes the writer, reporting rather than throwing a failure, for the shutdown hook.
+	 */
+	private void closeQuietly() {
+		try {
+			close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * The background thread: drains the ring until the writer is closed, pausing briefly whenever it is empty.
+	 */
+	private void drainLoop() {
+		try {
+			while (running) {
+				if (drainOnce() == 0) {
+					LockSupport.parkNanos(IDLE_PARK_NANOS);
+				}
+			}
+		} catch (IOException e) {
+			running = false;
+			throw new UncheckedIOException("Telemetry logging stopped", e);
+		}
+	}
+
+	/**
+	 * Drains one buffer's worth of events and appends them to the current file, starting the next file first if they
+	 * would take the current one past its size limit. A file that holds only its header takes the events whatever
+	 * their size, so no file is left empty.
+	 *
+	 * @return the number of events written.
+	 * @throws IOException if the file cannot be written.
+	 */
+	private int drainOnce() throws IOException {
+		buffer.clear();
+		int count = ring.drainTo(buffer);
+		if (count == 0) {
+			return 0;
+		}
+		if (fileBytes > HEADER_BYTES && fileBytes + buffer.position() > maxFileBytes) {
+			file.close();
+			openNextFile();
+		}
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			fileBytes += file.write(buffer);
+		}
+		return count;
+	}
+
+	/**
+	 * Opens the next log file, writes its header and deletes the files that fall outside the number kept. The header
+	 * has a buffer of its own, as the events waiting to be written may already be in the drain buffer.
+	 *
+	 * @throws IOException if the file cannot be created.
+	 */
+	private void openNextFile() throws IOException {
+		fileNumber++;
+		file = FileChannel.open(getFile(fileNumber), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		header.clear();
+		header.putInt(MAGIC);
+		header.put(VERSION);
+		header.putLong(System.currentTimeMillis());
+		header.putLong(System.nanoTime());
+		header.flip();
+		fileBytes = 0;
+		while (header.hasRemaining()) {
+			fileBytes += file.write(header);
+		}
+		Files.deleteIfExists(getFile(fileNumber - maxFiles));
+	}
+
+	/**
+	 * Finds the number of the newest log file already in the directory, so a new session carries on after it.
+	 *
+	 * @return the highest file number, or 0 if there are no log files.
+	 * @throws IOException if the directory cannot be listed.
+	 */
+	private long findLastFileNumber() throws IOException {
+		long last = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_EXTENSION)) {
+			for (Path path : files) {
+				String name = path.getFileName().toString();
+				try {
+					last = Math.max(last, Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_EXTENSION.length())));
+				} catch (NumberFormatException e) {
+					// Not one of ours
+				}
+			}
+		}
+		return last;
+	}
+
+	/**
+	 * Names a log file.
+	 *
+	 * @param number the file's number.
+	 * @return the file's path in the log directory.
+	 */
+	private Path getFile(long number) {
+		return directory.resolve(FILE_PREFIX + number + FILE_EXTENSION);
+	}
+}
@@ -1,5 +1,7 @@
 package main.java.com.example.demo;
 
+import java.nio.ByteBuffer;
+
 /**
  * Represents the player's plane in the game.
  * The `UserPlane` can move vertically within defined bounds, fire projectiles, and track the number of kills.
@@ -18,6 +20,7 @@ public class UserPlane extends FighterPlane {
 
 	private int velocityMultiplier;
 	private int numberOfKills;
+	private boolean invulnerable; // Set for stress tests, which must not end when the player is hit
 
 	/**
 	 * Constructs a `UserPlane` with the specified initial health.
@@ -25,7 +28,17 @@ public class UserPlane extends FighterPlane {
 	 * @param initialHealth the initial health of the player's plane.
 	 */
 	public UserPlane(int initialHealth) {
-		super(IMAGE_NAME, IMAGE_HEIGHT, INITIAL_X_POSITION, INITIAL_Y_POSITION, initialHealth);
+		this(initialHealth, INITIAL_Y_POSITION);
+	}
+
+	/**
+	 * Constructs a `UserPlane` at the given height, as the second player's plane in co-op play is.
+	 *
+	 * @param initialHealth the initial health of the player's plane.
+	 * @param initialYPos   the initial y-coordinate of the plane.
+	 */
+	public UserPlane(int initialHealth, double initialYPos) {
+		super(IMAGE_NAME, IMAGE_HEIGHT, INITIAL_X_POSITION, initialYPos, initialHealth);
 		velocityMultiplier = 0;
 	}
 
@@ -57,11 +70,64 @@ public class UserPlane extends FighterPlane {
 	/**
 	 * Fires a projectile from the player's plane.
 	 *
-	 * @return a new `UserProjectile` instance positioned relative to the plane's current location.
+	 * @param pools the projectile pools of the plane's world.
+	 * @return a pooled `UserProjectile` instance positioned relative to the plane's current location.
+	 */
+	@Override
+	public ActiveActorDestructible fireProjectile(ProjectilePools pools) {
+		return UserProjectile.obtain(pools, PROJECTILE_X_POSITION, getProjectileYPosition(PROJECTILE_Y_POSITION_OFFSET));
+	}
+
+	/**
+	 * Takes damage, unless the plane is invulnerable.
 	 */
 	@Override
-	public ActiveActorDestructible fireProjectile() {
-		return new UserProjectile(PROJECTILE_X_POSITION, getProjectileYPosition(PROJECTILE_Y_POSITION_OFFSET));
+	public void takeDamage() {
+		if (!invulnerable) {
+			super.takeDamage();
+		}
+	}
+
+	/**
+	 * Writes the plane's position, health, movement and kill count to a snapshot.
+	 *
+	 * @param out the buffer the snapshot is written to.
+	 */
+	@Override
+	void writeState(ByteBuffer out) {
+		super.writeState(out);
+		out.put((byte) velocityMultiplier);
+		out.putInt(numberOfKills);
+	}
+
+	/**
+	 * Restores the plane's position, health, movement and kill count from a snapshot.
+	 *
+	 * @param in the buffer the snapshot is read from.
+	 */
+	@Override
+	void readState(ByteBuffer in) {
+		super.readState(in);
+		velocityMultiplier = in.get();
+		numberOfKills = in.getInt();
+	}
+
+	/**
+	 * Makes the plane ignore damage, or take it again.
+	 *
+	 * @param invulnerable true if the plane should ignore damage.
+	 */
+	public void setInvulnerable(boolean invulnerable) {
+		this.invulnerable = invulnerable;
+	}
+
+	/**
+	 * Checks whether the plane ignores damage.
+	 *
+	 * @return true if the plane is invulnerable.
+	 */
+	public boolean isInvulnerable() {
+		return invulnerable;
 	}
 
 	/**
@@ -108,5 +174,6 @@ public class UserPlane extends FighterPlane {
 	 */
 	public void incrementKillCount() {
 		numberOfKills++;
+		publish(TelemetryRing.Event.KILL, numberOfKills);
 	}
 }
@@ -37,4 +37,25 @@ public class UserProjectile extends Projectile {
 	public void updateActor() {
 		updatePosition();
 	}
+
+	/**
+	 * Tells the preloader about the `UserProjectile` sprite.
+	 *
+	 * @param preloader receives the sprite.
+	 */
+	static void preload(SpritePreloader preloader) {
+		preloader.preload(IMAGE_NAME, IMAGE_HEIGHT);
+	}
+
+	/**
+	 * Takes a user projectile from the world's pool and places it at the given position.
+	 *
+	 * @param pools       the projectile pools of the world firing the projectile.
+	 * @param initialXPos the initial x-coordinate of the projectile.
+	 * @param initialYPos the initial y-coordinate of the projectile.
+	 * @return a live UserProjectile.
+	 */
+	static UserProjectile obtain(ProjectilePools pools, double initialXPos, double initialYPos) {
+		return pools.getUserProjectiles().acquire(initialXPos, initialYPos);
+	}
 }
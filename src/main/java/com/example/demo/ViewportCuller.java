@@ -0,0 +1,132 @@
+package main.java.com.example.demo;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Despawns actors whose bounds have left the viewport by more than a configurable margin.
+ * Culled actors are marked destroyed, so the regular cleanup pass removes them from the world
+ * and returns pooled projectiles, keeping the live actor lists bounded over long sessions.
+ */
+public class ViewportCuller {
+
+	private static final int MAX_COUNTED_TYPES = 16; // Actor classes counted separately; further ones share the last slot
+
+	private final double viewportWidth;
+	private final double viewportHeight;
+	private double margin;
+	private long totalCulled;
+	private final Class<?>[] culledTypes;
+	private final long[] culledCounts;
+	private int culledTypeCount;
+
+	/**
+	 * Constructs a culler for a viewport of the given size.
+	 *
+	 * @param viewportWidth  the width of the visible game area.
+	 * @param viewportHeight the height of the visible game area.
+	 * @param margin         how far outside the viewport an actor may travel before it is culled.
+	 */
+	public ViewportCuller(double viewportWidth, double viewportHeight, double margin) {
+		this.viewportWidth = viewportWidth;
+		this.viewportHeight = viewportHeight;
+		this.margin = margin;
+		this.culledTypes = new Class<?>[MAX_COUNTED_TYPES];
+		this.culledCounts = new long[MAX_COUNTED_TYPES];
+	}
+
+	/**
+	 * Marks every live actor in the list that lies completely outside the culling area as destroyed.
+	 *
+	 * @param actors the actors to check.
+	 * @return the number of actors culled by this call.
+	 */
+	public int cull(List<ActiveActorDestructible> actors) {
+		int culled = 0;
+		for (int i = 0; i < actors.size(); i++) {
+			ActiveActorDestructible actor = actors.get(i);
+			if (!actor.isDestroyed() && isOutsideCullingArea(actor)) {
+				actor.destroy();
+				culledCounts[typeSlot(actor.getClass())]++;
+				culled++;
+			}
+		}
+		totalCulled += culled;
+		return culled;
+	}
+
+	/**
+	 * Finds the counter slot of an actor class, taking a free slot the first time the class is culled.
+	 * A handful of classes are ever culled, so a linear search by identity beats hashing and allocates nothing.
+	 *
+	 * @param type the actor's class.
+	 * @return the index of the class's counter.
+	 */
+	private int typeSlot(Class<?> type) {
+		for (int i = 0; i < culledTypeCount; i++) {
+			if (culledTypes[i] == type) {
+				return i;
+			}
+		}
+		if (culledTypeCount == MAX_COUNTED_TYPES) {
+			return MAX_COUNTED_TYPES - 1;
+		}
+		culledTypes[culledTypeCount] = type;
+		return culledTypeCount++;
+	}
+
+	/**
+	 * Checks whether an actor's cached bounds lie entirely outside the viewport expanded by the margin.
+	 *
+	 * @param actor the actor to check.
+	 * @return {@code true} if the actor can no longer be seen or reached, {@code false} otherwise.
+	 */
+	public boolean isOutsideCullingArea(ActiveActor actor) {
+		return actor.getMaxX() < -margin
+				|| actor.getMinX() > viewportWidth + margin
+				|| actor.getMaxY() < -margin
+				|| actor.getMinY() > viewportHeight + margin;
+	}
+
+	/**
+	 * Sets how far outside the viewport an actor may travel before it is culled.
+	 *
+	 * @param margin the culling margin in pixels.
+	 */
+	public void setMargin(double margin) {
+		this.margin = margin;
+	}
+
+	/**
+	 * Retrieves the culling margin.
+	 *
+	 * @return the margin in pixels.
+	 */
+	public double getMargin() {
+		return margin;
+	}
+
+	/**
+	 * Retrieves the total number of actors culled.
+	 *
+	 * @return the culled actor count.
+	 */
+	public long getTotalCulled() {
+		return totalCulled;
+	}
+
+	/**
+	 * Retrieves the number of actors culled per actor type, in the order the types were first culled.
+	 *
+	 * @return an unmodifiable copy mapping actor class name to culled count.
+	 */
+	public Map<String, Long> getCulledByType() {
+		Map<String, Long> counts = new LinkedHashMap<>();
+		for (int i = 0; i < culledTypeCount; i++) {
+			counts.put(culledTypes[i].getSimpleName(), culledCounts[i]);
+		}
+		return Collections.unmodifiableMap(counts);
+	}
+}
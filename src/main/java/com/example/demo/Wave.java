@@ -0,0 +1,163 @@
+package main.java.com.example.demo;
+
+/**
+ * One wave of a level, decoded from a {@link LevelDefinition}. A wave is a stream of enemy planes that ends
+ * after a number of kills, a single boss that ends when the boss is destroyed, or an endless ramp of enemy planes
+ * whose enemy limit grows along a curve, for stress tests.
+ * Instances are reused: {@link LevelDefinition.WaveReader#next(Wave)} overwrites the fields in place.
+ */
+public class Wave {
+
+	/**
+	 * The kinds of waves. The ordinal is the wave's tag in the compiled level format.
+	 */
+	public enum Kind {
+		PLANES,
+		BOSS,
+		RAMP
+	}
+
+	/**
+	 * The shapes a ramp's enemy limit can grow along, from its start to its maximum.
+	 * The ordinal is the curve's tag in the compiled level format.
+	 */
+	public enum Curve {
+		LINEAR,
+		QUADRATIC,
+		EXPONENTIAL
+	}
+
+	private Kind kind;
+	private int maxEnemies;
+	private int spawnIntervalMillis;
+	private int kills;
+	private int startEnemies;
+	private int rampMillis;
+	private Curve curve;
+
+	/**
+	 * Sets the wave to a stream of enemy planes.
+	 *
+	 * @param maxEnemies          the most planes alive at once.
+	 * @param spawnIntervalMillis the mean simulated time between planned spawns.
+	 * @param kills               the kills that end the wave.
+	 */
+	void setPlanes(int maxEnemies, int spawnIntervalMillis, int kills) {
+		this.kind = Kind.PLANES;
+		this.maxEnemies = maxEnemies;
+		this.spawnIntervalMillis = spawnIntervalMillis;
+		this.kills = kills;
+	}
+
+	/**
+	 * Sets the wave to an endless ramp of enemy planes.
+	 *
+	 * @param startEnemies        the enemy limit when the wave starts.
+	 * @param maxEnemies          the enemy limit once the ramp is over.
+	 * @param rampMillis          the simulated time the limit takes to grow from start to maximum.
+	 * @param curve               the shape the limit grows along.
+	 * @param spawnIntervalMillis the mean simulated time between planned spawns.
+	 */
+	void setRamp(int startEnemies, int maxEnemies, int rampMillis, Curve curve, int spawnIntervalMillis) {
+		this.kind = Kind.RAMP;
+		this.startEnemies = startEnemies;
+		this.maxEnemies = maxEnemies;
+		this.rampMillis = rampMillis;
+		this.curve = curve;
+		this.spawnIntervalMillis = spawnIntervalMillis;
+		this.kills = 0;
+	}
+
+	/**
+	 * Sets the wave to a single boss.
+	 */
+	void setBoss() {
+		this.kind = Kind.BOSS;
+		this.maxEnemies = 1;
+		this.spawnIntervalMillis = 0;
+		this.kills = 0;
+	}
+
+	/**
+	 * Retrieves the kind of the wave.
+	 *
+	 * @return the wave's kind.
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Retrieves the most enemies alive at once during the wave; for a ramp, the limit the ramp ends at.
+	 *
+	 * @return the enemy limit.
+	 */
+	public int getMaxEnemies() {
+		return maxEnemies;
+	}
+
+	/**
+	 * Computes the most enemies allowed alive at a point in the wave. Only a ramp's limit changes over time.
+	 *
+	 * @param millisIntoWave the simulated time since the wave started.
+	 * @return the enemy limit at that time.
+	 */
+	public int getEnemyLimit(long millisIntoWave) {
+		if (kind != Kind.RAMP || millisIntoWave >= rampMillis) {
+			return maxEnemies;
+		}
+		double progress = (double) millisIntoWave / rampMillis;
+		double shaped = switch (curve) {
+			case LINEAR -> progress;
+			case QUADRATIC -> progress * progress;
+			case EXPONENTIAL -> (Math.pow((double) maxEnemies / startEnemies, progress) - 1) / ((double) maxEnemies / startEnemies - 1);
+		};
+		return startEnemies + (int) ((maxEnemies - startEnemies) * shaped);
+	}
+
+	/**
+	 * Retrieves the enemy limit a ramp starts at.
+	 *
+	 * @return the ramp's starting enemy limit.
+	 */
+	public int getStartEnemies() {
+		return startEnemies;
+	}
+
+	/**
+	 * Retrieves the simulated time a ramp takes to reach its maximum.
+	 *
+	 * @return the ramp's duration in milliseconds.
+	 */
+	public int getRampMillis() {
+		return rampMillis;
+	}
+
+	/**
+	 * Retrieves the shape of a ramp.
+	 *
+	 * @return the ramp's curve.
+	 */
+	public Curve getCurve() {
+		return curve;
+	}
+
+	/**
+	 * Retrieves the mean simulated time between the planned spawns of a wave of planes.
+	 * A spawn that comes due while the wave is at its enemy limit is skipped.
+	 *
+	 * @return the mean spawn interval in milliseconds.
+	 */
+	public int getSpawnIntervalMillis() {
+		return spawnIntervalMillis;
+	}
+
+	/**
+	 * Retrieves the kills that end a wave of planes.
+	 *
+	 * @return the kill target of the wave.
+	 */
+	public int getKills() {
+		return kills;
+	}
+}
@@ -0,0 +1,82 @@
+package main.java.com.example.demo;
+
+import main.java.com.example.demo.controller.Controller;
+import javafx.stage.Stage;
+
+/**
+ * A level played from its {@link LevelDefinition}. The waves and the win condition live in {@link WaveWorld};
+ * a level with a boss wave shows the boss's health and shield in a {@link LevelViewLevelTwo}.
+ * Once its last wave is cleared the level moves on to the next level, or wins the game if there is none.
+ */
+public class WaveLevel extends LevelParent {
+
+	private WaveWorld world;
+
+	/**
+	 * Constructs a level from its definition.
+	 *
+	 * @param definition   the level's definition.
+	 * @param screenHeight the height of the game screen.
+	 * @param screenWidth  the width of the game screen.
+	 * @param stage        the current game stage.
+	 * @param controller   the controller managing the game's flow.
+	 */
+	public WaveLevel(LevelDefinition definition, double screenHeight, double screenWidth, Stage stage, Controller controller) {
+		super(definition, screenHeight, screenWidth, stage, controller);
+	}
+
+	/**
+	 * Creates the level's world from the level seed.
+	 *
+	 * @return a new {@link WaveWorld} sized to the screen.
+	 */
+	@Override
+	protected GameWorld instantiateWorld() {
+		world = new WaveWorld(getDefinition(), getScreenHeight(), getScreenWidth(), getSeed());
+		return world;
+	}
+
+	/**
+	 * Checks if the game is over by evaluating the player's status.
+	 * Ends the game if the player is destroyed; once every wave is cleared, progresses to the next level or wins the game.
+	 */
+	@Override
+	protected void checkIfGameOver() {
+		if (userIsDestroyed()) {
+			loseGame();
+		} else if (userHasWon()) {
+			String nextLevelId = getDefinition().getNextLevelId();
+			if (nextLevelId == null) {
+				winGame();
+			} else {
+				cleanupLevel();
+				goToNextLevel(nextLevelId);
+			}
+		}
+	}
+
+	/**
+	 * Adds the boss's health and shield status to the HUD once the boss has spawned. The view only changes when they do.
+	 *
+	 * @param hud the level's HUD values.
+	 */
+	@Override
+	protected void updateHud(HudModel hud) {
+		Boss boss = world.getBoss();
+		if (boss != null) {
+			hud.setBossHealth(boss.getHealth());
+			hud.setShieldActive(boss.isShieldActive());
+		}
+	}
+
+	/**
+	 * Creates the level's view, with the boss's health and shield for a level with a boss wave.
+	 *
+	 * @return the {@link LevelView} for the level.
+	 */
+	@Override
+	protected LevelView instantiateLevelView() {
+		int hearts = getDefinition().getPlayerInitialHealth();
+		return getDefinition().hasBoss() ? new LevelViewLevelTwo(getRoot(), hearts) : new LevelView(getRoot(), hearts);
+	}
+}
@@ -0,0 +1,250 @@
+package main.java.com.example.demo;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The rules of a level defined by a {@link LevelDefinition}: its waves are played in order, and the level is won
+ * once the last wave is cleared. A wave of planes spawns enemy planes, up to its enemy limit, until the player has
+ * made the wave's kills; a boss wave spawns a single boss once the screen is clear of enemies and ends when the boss
+ * is destroyed; a ramp spawns planes up to a limit that grows over time and never ends, so a level ending in one
+ * is never won. Waves are decoded from the definition only as they start.
+ *
+ * <p>Spawns are planned ahead on a {@link SpawnScheduler} timeline in simulated milliseconds, from a random source
+ * of their own, so each tick only handles the spawns that are due and spawn times do not depend on the tick length.
+ */
+public class WaveWorld extends GameWorld {
+
+	private static final int SPAWNS_PER_BATCH = 32; // Spawns planned at a time for a wave of planes
+
+	private final LevelDefinition definition;
+	private final LevelDefinition.WaveReader waves;
+	private final Wave wave;
+	private final GameRandom spawnRandom;
+	private final SpawnScheduler scheduler;
+	private boolean hasWave;
+	private int wavesStarted; // Waves read from the definition so far, for snapshots
+	private int waveStartKills;
+	private long waveStartMillis;
+	private Boss boss;
+
+	/**
+	 * Constructs the world of a level for a playing field of the given size.
+	 *
+	 * @param definition   the level's definition.
+	 * @param screenHeight the height of the playing field.
+	 * @param screenWidth  the width of the playing field.
+	 * @param seed         the seed of the world's random source.
+	 */
+	public WaveWorld(LevelDefinition definition, double screenHeight, double screenWidth, long seed) {
+		super(screenHeight, screenWidth, definition.getPlayerInitialHealth(), seed);
+		this.definition = definition;
+		this.waves = definition.openWaves();
+		this.wave = new Wave();
+		this.spawnRandom = getRandom().split();
+		this.scheduler = new SpawnScheduler();
+		getUser().setInvulnerable(definition.isPlayerInvulnerable());
+		this.hasWave = waves.next(wave);
+		if (hasWave) {
+			wavesStarted++;
+			scheduleWave();
+		}
+	}
+
+	/**
+	 * Moves on from a cleared wave, then spawns the enemies that are due. A plane due while the wave is at its
+	 * current enemy limit is skipped; the boss waits until the screen is clear.
+	 */
+	@Override
+	protected void spawnEnemyUnits() {
+		advanceWave();
+		if (!hasWave) {
+			return;
+		}
+		long now = getElapsedMillis();
+		int enemyLimit = wave.getEnemyLimit(now - waveStartMillis);
+		SpawnScheduler.ScheduledSpawn spawn;
+		while ((spawn = scheduler.peekDue(now)) != null) {
+			if (getCurrentNumberOfEnemies() >= enemyLimit) {
+				if (spawn.getType() == SpawnScheduler.EnemyType.BOSS) {
+					break;
+				}
+				scheduler.poll();
+				continue;
+			}
+			scheduler.poll();
+			spawn(spawn);
+		}
+		if (wave.getKind() != Wave.Kind.BOSS && scheduler.isEmpty()) {
+			schedulePlanes(scheduler.getLastScheduledMillis());
+		}
+	}
+
+	/**
+	 * Checks whether every wave has been cleared.
+	 *
+	 * @return {@code true} if the last wave is cleared; {@code false} otherwise.
+	 */
+	@Override
+	protected boolean hasReachedGoal() {
+		advanceWave();
+		return !hasWave;
+	}
+
+	/**
+	 * Preloads the player's sprites along with those of every kind of enemy the level spawns.
+	 *
+	 * @param preloader receives the sprites.
+	 */
+	@Override
+	public void preloadSprites(SpritePreloader preloader) {
+		super.preloadSprites(preloader);
+		if (definition.hasPlanes()) {
+			EnemyPlane.preload(preloader);
+			EnemyProjectile.preload(preloader);
+		}
+		if (definition.hasBoss()) {
+			Boss.preload(preloader);
+			BossProjectile.preload(preloader);
+		}
+	}
+
+	/**
+	 * Writes the level's progress to a snapshot: how far through its waves it is, and the spawn timeline
+	 * with the random source it is planned from.
+	 *
+	 * @param out the buffer the snapshot is written to.
+	 */
+	@Override
+	protected void writeRulesState(ByteBuffer out) {
+		out.putShort((short) wavesStarted);
+		out.put((byte) (hasWave ? 1 : 0));
+		out.putInt(waveStartKills);
+		out.putLong(waveStartMillis);
+		spawnRandom.writeState(out);
+		scheduler.writeState(out);
+	}
+
+	/**
+	 * Restores the level's progress from a snapshot. The current wave is decoded again from the definition,
+	 * and the boss is found among the restored enemies.
+	 *
+	 * @param in the buffer the snapshot is read from.
+	 */
+	@Override
+	protected void readRulesState(ByteBuffer in) {
+		wavesStarted = in.getShort();
+		waves.rewind();
+		for (int i = 0; i < wavesStarted; i++) {
+			waves.next(wave);
+		}
+		hasWave = in.get() != 0;
+		waveStartKills = in.getInt();
+		waveStartMillis = in.getLong();
+		spawnRandom.readState(in);
+		scheduler.readState(in);
+		boss = null;
+		for (ActiveActorDestructible enemy : getEnemyUnits()) {
+			if (enemy instanceof Boss) {
+				boss = (Boss) enemy;
+			}
+		}
+	}
+
+	/**
+	 * Retrieves the boss of the level's boss wave.
+	 *
+	 * @return the boss, or {@code null} if no boss has spawned yet.
+	 */
+	public Boss getBoss() {
+		return boss;
+	}
+
+	/**
+	 * Identifies the world's level as the ID of its definition.
+	 *
+	 * @return the level's ID.
+	 */
+	@Override
+	public String getLevelId() {
+		return definition.getId();
+	}
+
+	/**
+	 * Retrieves the definition the world plays.
+	 *
+	 * @return the level's definition.
+	 */
+	public LevelDefinition getDefinition() {
+		return definition;
+	}
+
+	/**
+	 * Creates the enemy of a due spawn and adds it to the world.
+	 *
+	 * @param spawn the spawn that is due.
+	 */
+	private void spawn(SpawnScheduler.ScheduledSpawn spawn) {
+		if (spawn.getType() == SpawnScheduler.EnemyType.BOSS) {
+			boss = new Boss(getRandom());
+			addEnemyUnit(boss);
+		} else {
+			addEnemyUnit(new EnemyPlane(getScreenWidth(), spawn.getY(), getRandom()));
+		}
+	}
+
+	/**
+	 * Replaces the timeline with the current wave's spawns, starting now.
+	 */
+	private void scheduleWave() {
+		waveStartMillis = getElapsedMillis();
+		scheduler.clear();
+		if (wave.getKind() == Wave.Kind.BOSS) {
+			scheduler.schedule(waveStartMillis, SpawnScheduler.EnemyType.BOSS, 0);
+		} else {
+			schedulePlanes(waveStartMillis);
+		}
+	}
+
+	/**
+	 * Plans the next batch of planes after the given time. The gaps between spawns are exponentially distributed
+	 * around the wave's spawn interval, so spawns arrive at a steady rate without a fixed rhythm.
+	 *
+	 * @param fromMillis the time to plan from.
+	 */
+	private void schedulePlanes(long fromMillis) {
+		long time = fromMillis;
+		for (int i = 0; i < SPAWNS_PER_BATCH; i++) {
+			time += Math.round(-wave.getSpawnIntervalMillis() * Math.log(1 - spawnRandom.nextDouble()));
+			scheduler.schedule(time, SpawnScheduler.EnemyType.PLANE, spawnRandom.nextDouble() * getEnemyMaximumYPosition());
+		}
+	}
+
+	/**
+	 * Starts the next wave for as long as the current one is cleared.
+	 */
+	private void advanceWave() {
+		while (hasWave && isWaveCleared()) {
+			waveStartKills = getUser().getNumberOfKills();
+			hasWave = waves.next(wave);
+			if (hasWave) {
+				wavesStarted++;
+				scheduleWave();
+			} else {
+				scheduler.clear();
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the current wave is cleared.
+	 *
+	 * @return true if the wave's kills have been made or its boss destroyed; never for a ramp.
+	 */
+	private boolean isWaveCleared() {
+		return switch (wave.getKind()) {
+			case PLANES -> getUser().getNumberOfKills() - waveStartKills >= wave.getKills();
+			case BOSS -> boss != null && boss.isDestroyed();
+			case RAMP -> false;
+		};
+	}
+}
@@ -1,6 +1,5 @@
 package main.java.com.example.demo;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 /**
@@ -20,7 +19,7 @@ public class WinImage extends ImageView {
 	 * @param yPosition the y-coordinate where the image will be displayed.
 	 */
 	public WinImage(double xPosition, double yPosition) {
-		this.setImage(new Image(getClass().getResource(IMAGE_NAME).toExternalForm()));
+		this.setImage(SpriteCache.getInstance().getImage(IMAGE_NAME));
 		this.setVisible(false);
 		this.setFitHeight(HEIGHT);
 		this.setFitWidth(WIDTH);
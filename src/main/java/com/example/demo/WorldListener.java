@@ -0,0 +1,35 @@
+package main.java.com.example.demo;
+
+/**
+ * Observes actors entering and leaving a {@link GameWorld}.
+ * The renderer uses it to create and release scene nodes; headless runs leave it unset.
+ */
+public interface WorldListener {
+
+	/**
+	 * A listener that ignores every event.
+	 */
+	WorldListener NONE = new WorldListener() {
+		@Override
+		public void actorAdded(ActiveActorDestructible actor) {
+		}
+
+		@Override
+		public void actorRemoved(ActiveActorDestructible actor) {
+		}
+	};
+
+	/**
+	 * Called after an actor has been added to the world.
+	 *
+	 * @param actor the new actor.
+	 */
+	void actorAdded(ActiveActorDestructible actor);
+
+	/**
+	 * Called after an actor has been removed from the world, before a pooled actor is recycled.
+	 *
+	 * @param actor the removed actor.
+	 */
+	void actorRemoved(ActiveActorDestructible actor);
+}
@@ -0,0 +1,118 @@
+package main.java.com.example.demo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A compact binary copy of a {@link GameWorld}'s complete state of play: the player's health, kills and score,
+ * the position and health of every actor, the boss's shield and move pattern, the level's wave progress and spawn
+ * timeline, and the random sources. Restoring a snapshot puts a world of the same level back as it was without
+ * rebuilding the level, and the restored world plays on exactly as the original did from that point, so
+ * checkpoints, quick saves and instant retries cost a buffer copy rather than a level load.
+ */
+public final class WorldSnapshot {
+
+	private static final int MAGIC = 0x534B5953; // "SKYS"
+	private static final int VERSION = 2;
+	private static final int HEADER_BYTES = 5; // Magic and version
+	private static final int INITIAL_CAPACITY = 4096;
+
+	private final byte[] data;
+
+	/**
+	 * Constructs a snapshot from encoded bytes.
+	 *
+	 * @param data the snapshot, header included.
+	 */
+	private WorldSnapshot(byte[] data) {
+		this.data = data;
+	}
+
+	/**
+	 * Copies a world's state of play. Take snapshots between ticks.
+	 *
+	 * @param world the world to copy.
+	 * @return the snapshot.
+	 */
+	public static WorldSnapshot capture(GameWorld world) {
+		ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+		buffer.putInt(MAGIC);
+		buffer.put((byte) VERSION);
+		buffer = world.encodeState(buffer);
+		return new WorldSnapshot(Arrays.copyOf(buffer.array(), buffer.position()));
+	}
+
+	/**
+	 * Puts a world back into the state this snapshot was taken in. The world's listener sees its actors leave and
+	 * the snapshot's actors enter, so a level's renderer follows along. A snapshot that cannot be restored leaves
+	 * the world as it was.
+	 *
+	 * @param world a world of the level the snapshot was taken in.
+	 * @throws IllegalArgumentException if the snapshot was taken in another level or is corrupt.
+	 */
+	public void restore(GameWorld world) {
+		WorldSnapshot previous = capture(world);
+		try {
+			decode(world);
+		} catch (RuntimeException e) {
+			previous.decode(world); // Truncated or damaged data fails part way through the actors
+			if (e instanceof IllegalArgumentException) {
+				throw e;
+			}
+			throw new IllegalArgumentException("Corrupt snapshot", e);
+		}
+	}
+
+	/**
+	 * Reads this snapshot's state into a world.
+	 *
+	 * @param world the world.
+	 */
+	private void decode(GameWorld world) {
+		ByteBuffer in = ByteBuffer.wrap(data);
+		in.position(HEADER_BYTES);
+		world.readState(in);
+	}
+
+	/**
+	 * Reads a snapshot file.
+	 *
+	 * @param file the file to read.
+	 * @return the loaded snapshot.
+	 * @throws IOException if the file cannot be read or is not a snapshot of a supported version.
+	 */
+	public static WorldSnapshot read(Path file) throws IOException {
+		byte[] data = Files.readAllBytes(file);
+		ByteBuffer in = ByteBuffer.wrap(data);
+		if (data.length < HEADER_BYTES || in.getInt() != MAGIC) {
+			throw new IOException("Not a snapshot file: " + file);
+		}
+		int version = in.get() & 0xFF;
+		if (version != VERSION) {
+			throw new IOException("Unsupported snapshot version " + version + ": " + file);
+		}
+		return new WorldSnapshot(data);
+	}
+
+	/**
+	 * Writes the snapshot to a file.
+	 *
+	 * @param file the file to write.
+	 * @throws IOException if the file cannot be written.
+	 */
+	public void write(Path file) throws IOException {
+		Files.write(file, data);
+	}
+
+	/**
+	 * Retrieves the size of the encoded snapshot.
+	 *
+	 * @return the number of bytes.
+	 */
+	public int getSize() {
+		return data.length;
+	}
+}
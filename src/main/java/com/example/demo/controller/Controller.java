@@ -1,81 +1,162 @@
 package main.java.com.example.demo.controller;
 
-import java.lang.reflect.Constructor;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 import main.java.com.example.demo.LevelParent;
+import main.java.com.example.demo.LevelRegistry;
 
 /**
  * The Controller class manages transitions between levels in the Sky Battle game.
- * It also acts as an observer for level changes and handles dynamic level loading.
+ * It also acts as an observer for level changes and creates levels by ID through the {@link LevelRegistry}.
+ * Levels are constructed and their images decoded on a background thread while a loading screen is shown,
+ * and the stage switches to the new level's scene only once it is ready.
  */
 public class Controller implements Observer {
 
-	private static final String LEVEL_ONE_CLASS_NAME = "com.example.demo.LevelOne"; // Fully qualified class name for Level One
+	private static final int LOADING_FONT_SIZE = 36;
+	private static final String START_LEVEL_PROPERTY = "skybattle.level"; // Starts the game on this level instead of the first
+
+	// Loads levels off the JavaFX application thread; daemon so it never keeps the application alive
+	private static final ExecutorService LEVEL_LOADER = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "level-loader");
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	private final Stage stage; // The primary stage where the game levels are displayed
+	private final LevelRegistry levels; // The levels that can be transitioned to
 	private boolean isLevelChanging = false; // Flag to prevent re-entrant level transitions
+	private Scene transitionScene; // Shown while the next level loads
 
 	/**
-	 * Constructs a Controller instance.
+	 * Constructs a Controller instance for the game's default levels.
 	 *
 	 * @param stage The primary stage where the game levels are displayed.
+	 * @throws IllegalStateException If a level links to a level that is not registered.
 	 */
 	public Controller(Stage stage) {
+		this(stage, LevelRegistry.createDefault());
+	}
+
+	/**
+	 * Constructs a Controller instance for the given levels.
+	 *
+	 * @param stage  The primary stage where the game levels are displayed.
+	 * @param levels The validated registry of levels.
+	 */
+	public Controller(Stage stage, LevelRegistry levels) {
 		this.stage = stage;
+		this.levels = levels;
 	}
 
 	/**
-	 * Launches the game by displaying the primary stage and starting Level One.
+	 * Launches the game by displaying the primary stage and starting the first level, or the level named by the
+	 * {@code skybattle.level} system property, which is how standalone levels such as the stress test are played.
 	 *
 	 * @throws SecurityException If there is a security violation during level loading.
-	 * @throws IllegalArgumentException If an invalid argument is passed during level initialization.
+	 * @throws IllegalArgumentException If the start level is not registered.
 	 */
 	public void launchGame() throws SecurityException, IllegalArgumentException {
+		String startLevelId = System.getProperty(START_LEVEL_PROPERTY, levels.getFirstLevelId());
+		if (!levels.contains(startLevelId)) {
+			throw new IllegalArgumentException("Unknown level: " + startLevelId);
+		}
 		stage.show();
-		goToLevel(LEVEL_ONE_CLASS_NAME);
+		goToLevel(startLevelId);
 	}
 
 	/**
-	 * Transitions to a specified level dynamically using reflection.
+	 * Transitions to the level registered under the given ID.
+	 * Shows the loading screen, builds the level and decodes its images on the level loader thread,
+	 * then switches to the level's scene on the JavaFX application thread and starts it.
 	 *
-	 * @param className The fully qualified class name of the level to transition to.
+	 * @param levelId The ID of the level to transition to.
 	 */
-	public void goToLevel(String className) {
+	public void goToLevel(String levelId) {
 		if (isLevelChanging) {
 			return; // Prevent re-entrant calls
 		}
 
 		isLevelChanging = true;
-		try {
-			// Load the class dynamically
-			Class<?> myClass = Class.forName(className);
-			Constructor<?> constructor = myClass.getConstructor(double.class, double.class, Stage.class, Controller.class);
-
-			// Create an instance of the level
-			LevelParent myLevel = (LevelParent) constructor.newInstance(stage.getHeight(), stage.getWidth(), stage, this);
-			myLevel.addObserver(this);
+		showTransitionScreen();
+		double screenHeight = stage.getHeight();
+		double screenWidth = stage.getWidth();
+		CompletableFuture.supplyAsync(() -> loadLevel(levelId, screenHeight, screenWidth), LEVEL_LOADER)
+				.whenComplete((level, error) -> Platform.runLater(() -> showLevel(levelId, level, error)));
+	}
 
-			// Initialize the scene and set it on the stage
-			Scene scene = myLevel.initializeScene();
-			stage.setScene(scene);
+	/**
+	 * Constructs a level and preloads its assets. Runs on the level loader thread.
+	 *
+	 * @param levelId      The ID of the level.
+	 * @param screenHeight The height of the game screen.
+	 * @param screenWidth  The width of the game screen.
+	 * @return The level, ready to have its scene initialized.
+	 * @throws IllegalArgumentException If no level is registered under the ID.
+	 */
+	private LevelParent loadLevel(String levelId, double screenHeight, double screenWidth) {
+		// Create an instance of the level and decode its images
+		LevelParent myLevel = levels.create(levelId, screenHeight, screenWidth, stage, this);
+		myLevel.preloadAssets();
+		return myLevel;
+	}
 
-			// Start the level
-			myLevel.startGame();
-		} catch (Exception e) {
-			e.printStackTrace();
+	/**
+	 * Switches the stage to a loaded level and starts it, or reports why loading failed.
+	 * Runs on the JavaFX application thread.
+	 *
+	 * @param levelId The ID of the level.
+	 * @param level   The loaded level, or null if loading failed.
+	 * @param error   The failure, or null if the level loaded.
+	 */
+	private void showLevel(String levelId, LevelParent level, Throwable error) {
+		isLevelChanging = false; // Allow future transitions
+		if (error != null) {
+			Throwable cause = error.getCause() != null ? error.getCause() : error;
+			cause.printStackTrace();
 
 			// Show an error alert if level transition fails
 			Alert alert = new Alert(Alert.AlertType.ERROR);
-			alert.setContentText("Error transitioning to " + className + ": " + e.getMessage());
+			alert.setContentText("Error transitioning to " + levelId + ": " + cause.getMessage());
 			alert.show();
-		} finally {
-			isLevelChanging = false; // Allow future transitions
+			return;
+		}
+		level.addObserver(this);
+
+		// Initialize the scene and set it on the stage
+		Scene scene = level.initializeScene();
+		stage.setScene(scene);
+
+		// Start the level
+		level.startGame();
+	}
+
+	/**
+	 * Shows a plain loading screen while the next level is prepared.
+	 */
+	private void showTransitionScreen() {
+		if (transitionScene == null) {
+			Label loadingLabel = new Label("Loading...");
+			loadingLabel.setFont(Font.font("Arial", FontWeight.BOLD, LOADING_FONT_SIZE));
+			loadingLabel.setStyle("-fx-text-fill: white;");
+			StackPane root = new StackPane(loadingLabel);
+			root.setStyle("-fx-background-color: black;");
+			transitionScene = new Scene(root, stage.getWidth(), stage.getHeight());
 		}
+		stage.setScene(transitionScene);
 	}
 
 	/**
@@ -83,7 +164,7 @@ public class Controller implements Observer {
 	 * Handles level transitions when notified by the current level.
 	 *
 	 * @param observable The observable object.
-	 * @param arg The argument passed by the observable, typically the class name of the next level.
+	 * @param arg The argument passed by the observable, typically the ID of the next level.
 	 */
 	@Override
 	public void update(Observable observable, Object arg) {
@@ -12,6 +12,8 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
+import main.java.com.example.demo.GameWorld;
+import main.java.com.example.demo.LevelRegistry;
 
 /**
  * Main class for the Sky Battle game application.
@@ -20,21 +22,25 @@ import javafx.stage.Stage;
  */
 public class Main extends Application {
 
-	private static final int SCREEN_WIDTH = 1300; // Width of the application window
-	private static final int SCREEN_HEIGHT = 750; // Height of the application window
+	private static final int SCREEN_WIDTH = GameWorld.SCREEN_WIDTH; // Width of the application window
+	private static final int SCREEN_HEIGHT = GameWorld.SCREEN_HEIGHT; // Height of the application window
 	private static final String TITLE = "Sky Battle"; // Title of the game
 	private static final String BACKGROUND_IMAGE_NAME = "/com/example/demo/images/background1.jpg"; // Path to background image
 
 	private Controller myController; // Controller instance to manage game logic and transitions
+	private LevelRegistry levels; // The game's levels, validated at launch
 
 	/**
 	 * The main entry point for JavaFX applications.
+	 * Builds and validates the level registry first, so a level linking to a missing level stops the launch.
 	 *
 	 * @param stage The primary stage for this application, onto which
 	 *              the application scene can be set.
 	 */
 	@Override
 	public void start(Stage stage) {
+		levels = LevelRegistry.createDefault();
+
 		// Set up the main stage properties
 		stage.setTitle(TITLE);
 		stage.setResizable(false);
@@ -106,7 +112,7 @@ public class Main extends Application {
 	private void startGame(Stage stage) {
 		try {
 			// Initialize the controller and launch the game
-			myController = new Controller(stage);
+			myController = new Controller(stage, levels);
 			myController.launchGame();
 		} catch (Exception e) {
 			e.printStackTrace();
@@ -2,8 +2,9 @@ module com.example.demo {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.desktop;
+    requires jdk.management;
 
 
-    opens com.example.demo to javafx.fxml;
-    exports com.example.demo.controller;
+    opens main.java.com.example.demo to javafx.fxml;
+    exports main.java.com.example.demo.controller;
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the registry's swap-removal and the index every actor keeps of itself.
+ */
+class ActorRegistryTest {
+
+	@Test
+	void swapRemoveKeepsIndicesInStep() {
+		ActorRegistry registry = new ActorRegistry();
+		List<ActiveActorDestructible> actors = fill(registry, 40);
+		GameRandom random = new GameRandom(7);
+		List<ActiveActorDestructible> removed = new ArrayList<>();
+		while (registry.size() > 0) {
+			int toDestroy = 1 + random.nextInt(Math.min(5, registry.size()));
+			for (int i = 0; i < toDestroy; i++) {
+				registry.get(random.nextInt(registry.size())).destroy(); // Sometimes twice; queued only once
+			}
+			int before = registry.size();
+			int count = registry.removeDestroyed(removed::add);
+			assertEquals(before - count, registry.size());
+			assertIndices(registry);
+		}
+		assertEquals(actors.size(), removed.size());
+		for (ActiveActorDestructible actor : removed) {
+			assertNull(actor.getRegistry());
+		}
+	}
+
+	@Test
+	void removalOrderDoesNotDependOnDestructionOrder() {
+		ActorRegistry forwards = new ActorRegistry();
+		ActorRegistry backwards = new ActorRegistry();
+		List<ActiveActorDestructible> first = fill(forwards, 10);
+		List<ActiveActorDestructible> second = fill(backwards, 10);
+		int[] doomed = {1, 4, 8, 9};
+		for (int i = 0; i < doomed.length; i++) {
+			first.get(doomed[i]).destroy();
+			second.get(doomed[doomed.length - 1 - i]).destroy();
+		}
+		forwards.removeDestroyed(actor -> { });
+		backwards.removeDestroyed(actor -> { });
+		assertEquals(forwards.size(), backwards.size());
+		for (int i = 0; i < forwards.size(); i++) {
+			assertEquals(first.indexOf(forwards.get(i)), second.indexOf(backwards.get(i)), "index " + i);
+		}
+	}
+
+	@Test
+	void rejectsActorInAnotherRegistry() {
+		ActorRegistry registry = new ActorRegistry();
+		ActiveActorDestructible actor = fill(registry, 1).get(0);
+		assertThrows(IllegalArgumentException.class, () -> new ActorRegistry().add(actor));
+		registry.clear();
+		assertNull(actor.getRegistry());
+		new ActorRegistry().add(actor);
+	}
+
+	/**
+	 * Adds projectiles to a registry.
+	 *
+	 * @param registry the registry.
+	 * @param count    the number of projectiles.
+	 * @return the projectiles, in the order added.
+	 */
+	private static List<ActiveActorDestructible> fill(ActorRegistry registry, int count) {
+		List<ActiveActorDestructible> actors = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			ActiveActorDestructible actor = new UserProjectile(i, 0);
+			registry.add(actor);
+			actors.add(actor);
+		}
+		return actors;
+	}
+
+	/**
+	 * Checks that every actor in a registry belongs to it at the index it is stored at.
+	 *
+	 * @param registry the registry.
+	 */
+	private static void assertIndices(ActorRegistry registry) {
+		for (int i = 0; i < registry.size(); i++) {
+			assertSame(registry, registry.get(i).getRegistry());
+			assertEquals(i, registry.get(i).getRegistryIndex());
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Sends the co-op client hand-made state packets over loopback, from a stand-in for the host.
+ */
+class CoopClientTest {
+
+	private static final long WAIT_MILLIS = 2000; // Loopback delivery is quick, but not instant
+
+	@Test
+	void dropsMalformedStatesAndStrangers() throws IOException, InterruptedException {
+		GameWorld hostWorld = newWorld();
+		for (int i = 0; i < 20; i++) {
+			hostWorld.tick();
+		}
+		GameWorld world = newWorld();
+		int levelHash = world.getLevelId().hashCode();
+		byte[] state = encode(hostWorld);
+		try (DatagramChannel host = open(); DatagramChannel stranger = open();
+				CoopClient client = new CoopClient("localhost", ((InetSocketAddress) host.getLocalAddress()).getPort())) {
+			client.update(world);
+			SocketAddress address = receiveInput(host);
+			byte[] before = encode(world);
+			long sent = 0;
+			sent += send(stranger, address, state(levelHash, 20, CoopProtocol.NONE, state)); // Not the host
+			sent += send(host, address, ByteBuffer.wrap(new byte[] {CoopProtocol.STATE, 1, 2})); // Cut short
+			sent += send(host, address, state(levelHash, 20, 10, new byte[] {1, 2, 3})); // Delta from a tick it never had
+			sent += send(host, address, state(levelHash, 20, 21, state)); // Delta from a later tick
+			receiveAll(client, world, sent);
+			assertFalse(client.isConnected());
+			assertArrayEquals(before, encode(world));
+
+			byte[] truncated = Arrays.copyOf(state, state.length / 2);
+			sent += send(host, address, state(levelHash, 5, CoopProtocol.NONE, truncated)); // Decodes, but does not read
+			receiveAll(client, world, sent);
+			assertArrayEquals(before, encode(world), "the world is put back");
+
+			byte[] huge = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0x7F}; // A delta making a 256 MB state
+			sent += send(host, address, state(levelHash, 6, 5, huge));
+			byte[] overrun = {10, 0, 40, 1}; // Claims 40 changed bytes of a 10-byte state
+			sent += send(host, address, state(levelHash, 7, 5, overrun));
+			receiveAll(client, world, sent);
+			assertEquals(5, client.getNewestTick());
+
+			sent += send(host, address, state(levelHash, 20, CoopProtocol.NONE, state));
+			receiveAll(client, world, sent);
+			assertEquals(20, client.getNewestTick());
+			assertTrue(client.isConnected());
+			assertArrayEquals(state, encode(world));
+		}
+	}
+
+	/**
+	 * Creates a two-player world of the first level.
+	 *
+	 * @return the world.
+	 */
+	private static GameWorld newWorld() {
+		GameWorld world = new WaveWorld(LevelDefinition.load("LevelOne"), GameWorld.SCREEN_HEIGHT, GameWorld.SCREEN_WIDTH, 1);
+		world.addSecondPlayer();
+		return world;
+	}
+
+	/**
+	 * Builds a state packet.
+	 *
+	 * @param levelHash the hash of the level's ID.
+	 * @param tick      the state's host tick.
+	 * @param baseTick  the tick the payload is a delta from, or {@link CoopProtocol#NONE} for a whole state.
+	 * @param payload   the state or delta.
+	 * @return the packet, ready to send.
+	 */
+	private static ByteBuffer state(int levelHash, long tick, long baseTick, byte[] payload) {
+		ByteBuffer packet = ByteBuffer.allocate(CoopProtocol.STATE_HEADER_BYTES + payload.length);
+		packet.put(CoopProtocol.STATE);
+		packet.putInt(levelHash);
+		packet.putLong(tick);
+		packet.putLong(baseTick);
+		packet.putLong(CoopProtocol.NONE);
+		packet.put((byte) 0); // The only fragment
+		packet.put((byte) 1);
+		packet.put(payload);
+		return packet.flip();
+	}
+
+	/**
+	 * Encodes a world's state.
+	 *
+	 * @param world the world.
+	 * @return the encoded state.
+	 */
+	private static byte[] encode(GameWorld world) {
+		ByteBuffer buffer = world.encodeState(ByteBuffer.allocate(4096));
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+
+	/**
+	 * Opens a non-blocking socket on any free port.
+	 *
+	 * @return the socket.
+	 * @throws IOException if it cannot be opened.
+	 */
+	private static DatagramChannel open() throws IOException {
+		DatagramChannel channel = DatagramChannel.open();
+		channel.configureBlocking(false);
+		channel.bind(null);
+		return channel;
+	}
+
+	/**
+	 * Sends a packet.
+	 *
+	 * @param channel the socket to send from.
+	 * @param address where to send to.
+	 * @param packet  the packet.
+	 * @return the bytes sent.
+	 * @throws IOException if the packet cannot be sent.
+	 */
+	private static int send(DatagramChannel channel, SocketAddress address, ByteBuffer packet) throws IOException {
+		return channel.send(packet, address);
+	}
+
+	/**
+	 * Waits for the client's first input packet, to learn where it sends from.
+	 *
+	 * @param host the stand-in host's socket.
+	 * @return the client's address.
+	 * @throws IOException if the socket cannot receive.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	private static SocketAddress receiveInput(DatagramChannel host) throws IOException, InterruptedException {
+		ByteBuffer packet = ByteBuffer.allocate(CoopProtocol.MAX_PACKET_BYTES);
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		SocketAddress address;
+		while ((address = host.receive(packet)) == null && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+		}
+		assertNotNull(address, "the client sends input");
+		return address;
+	}
+
+	/**
+	 * Lets the client update until it has received the given number of bytes.
+	 *
+	 * @param client the client.
+	 * @param world  the client's world.
+	 * @param bytes  the total bytes sent to the client.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	private static void receiveAll(CoopClient client, GameWorld world, long bytes) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		client.update(world);
+		while (client.getBytesReceived() < bytes && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+			client.update(world);
+		}
+		assertEquals(bytes, client.getBytesReceived());
+	}
+}
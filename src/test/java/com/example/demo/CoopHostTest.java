@@ -0,0 +1,192 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Sends the co-op host hand-made input packets over loopback.
+ */
+class CoopHostTest {
+
+	private static final long WAIT_MILLIS = 2000; // Loopback delivery is quick, but not instant
+
+	@Test
+	void dropsMalformedInputAndKeepsTheFirstClient() throws IOException, InterruptedException {
+		GameWorld world = new WaveWorld(LevelDefinition.load("LevelOne"), GameWorld.SCREEN_HEIGHT, GameWorld.SCREEN_WIDTH, 1);
+		world.addSecondPlayer();
+		int levelHash = world.getLevelId().hashCode();
+		try (CoopHost host = new CoopHost(0); DatagramChannel first = open(); DatagramChannel second = open()) {
+			InetSocketAddress address = new InetSocketAddress("localhost", host.getPort());
+			long sent = 0;
+			sent += send(first, address, ByteBuffer.wrap(new byte[] {CoopProtocol.INPUT, 1, 2}));
+			sent += send(first, address, input(levelHash, -1, 5, 8, 0)); // Claims commands it does not carry
+			sent += send(first, address, input(levelHash, -1, -3, 1, 1)); // Negative sequence number
+			sent += send(first, address, input(levelHash, -1, Long.MIN_VALUE, 2, 2)); // Would overflow
+			sent += send(first, address, input(levelHash, -1, 3, CoopProtocol.COMMANDS_PER_INPUT + 1,
+					CoopProtocol.COMMANDS_PER_INPUT + 1)); // More commands than an input packet holds
+			sent += send(first, address, input(levelHash, -7, 3, 1, 1)); // Acknowledges a tick before the first
+			sent += send(first, address, input(levelHash + 1, -1, 0, 1, 1)); // Another level
+			receiveAll(host, world, sent);
+			assertFalse(host.isClientConnected());
+
+			sent += send(first, address, input(levelHash, -1, 0, 1, 1));
+			receiveAll(host, world, sent);
+			assertTrue(host.isClientConnected());
+
+			sent += send(second, address, input(levelHash, -1, 0, 1, 1));
+			receiveAll(host, world, sent);
+			world.tick();
+			host.afterTick(world);
+			assertNotNull(receive(first), "the first client gets the state");
+			assertNull(second.receive(ByteBuffer.allocate(CoopProtocol.MAX_PACKET_BYTES)), "the second sender gets nothing");
+		}
+	}
+
+	@Test
+	void splitsStatesLargerThanAPacket() throws IOException, InterruptedException {
+		GameWorld world = stressWorld();
+		GameWorld clientWorld = stressWorld();
+		while (encode(world).length <= CoopProtocol.FRAGMENT_BYTES * 3 / 2) { // Still more than a packet after the next tick
+			world.tick();
+		}
+		try (CoopHost host = new CoopHost(0); CoopClient client = new CoopClient("localhost", host.getPort())) {
+			client.update(clientWorld);
+			long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+			while (!host.isClientConnected() && System.currentTimeMillis() < deadline) {
+				Thread.sleep(1);
+				host.beforeTick(world);
+			}
+			world.tick();
+			host.afterTick(world);
+			assertEquals(1, host.getWholeStatesSent());
+			assertTrue(host.getBytesSent() > CoopProtocol.MAX_PACKET_BYTES, "the state took more than one packet");
+
+			deadline = System.currentTimeMillis() + WAIT_MILLIS;
+			while (client.getNewestTick() != world.getTickCount() && System.currentTimeMillis() < deadline) {
+				Thread.sleep(1);
+				client.update(clientWorld);
+			}
+			assertEquals(world.getTickCount(), client.getNewestTick());
+			assertArrayEquals(encode(world), encode(clientWorld));
+		}
+	}
+
+	/**
+	 * Creates a two-player world of the stress test level, which soon holds more actors than one packet can carry.
+	 *
+	 * @return the world.
+	 */
+	private static GameWorld stressWorld() {
+		GameWorld world = new WaveWorld(LevelDefinition.load("StressTest"), GameWorld.SCREEN_HEIGHT, GameWorld.SCREEN_WIDTH, 1);
+		world.addSecondPlayer();
+		return world;
+	}
+
+	/**
+	 * Encodes a world's state.
+	 *
+	 * @param world the world.
+	 * @return the encoded state.
+	 */
+	private static byte[] encode(GameWorld world) {
+		ByteBuffer buffer = world.encodeState(ByteBuffer.allocate(4096));
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+
+	/**
+	 * Builds an input packet.
+	 *
+	 * @param levelHash    the hash of the level's ID.
+	 * @param acknowledged the newest state tick received.
+	 * @param lastCommand  the sequence number of the newest command.
+	 * @param count        the command count the packet claims.
+	 * @param commands     the number of commands actually in the packet.
+	 * @return the packet, ready to send.
+	 */
+	private static ByteBuffer input(int levelHash, long acknowledged, long lastCommand, int count, int commands) {
+		ByteBuffer packet = ByteBuffer.allocate(CoopProtocol.INPUT_HEADER_BYTES + commands);
+		packet.put(CoopProtocol.INPUT);
+		packet.putInt(levelHash);
+		packet.putLong(acknowledged);
+		packet.putLong(lastCommand);
+		packet.put((byte) count);
+		packet.position(packet.limit());
+		return packet.flip();
+	}
+
+	/**
+	 * Opens a non-blocking socket on any free port.
+	 *
+	 * @return the socket.
+	 * @throws IOException if it cannot be opened.
+	 */
+	private static DatagramChannel open() throws IOException {
+		DatagramChannel channel = DatagramChannel.open();
+		channel.configureBlocking(false);
+		channel.bind(null);
+		return channel;
+	}
+
+	/**
+	 * Sends a packet.
+	 *
+	 * @param channel the socket to send from.
+	 * @param address where to send to.
+	 * @param packet  the packet.
+	 * @return the bytes sent.
+	 * @throws IOException if the packet cannot be sent.
+	 */
+	private static int send(DatagramChannel channel, InetSocketAddress address, ByteBuffer packet) throws IOException {
+		return channel.send(packet, address);
+	}
+
+	/**
+	 * Lets the host read its input until it has received the given number of bytes.
+	 *
+	 * @param host  the host.
+	 * @param world the host's world.
+	 * @param bytes the total bytes sent to the host.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	private static void receiveAll(CoopHost host, GameWorld world, long bytes) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		host.beforeTick(world);
+		while (host.getBytesReceived() < bytes && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+			host.beforeTick(world);
+		}
+		assertEquals(bytes, host.getBytesReceived());
+	}
+
+	/**
+	 * Waits for a packet.
+	 *
+	 * @param channel the socket to receive on.
+	 * @return the packet, or {@code null} if none came.
+	 * @throws IOException if the socket cannot receive.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	private static ByteBuffer receive(DatagramChannel channel) throws IOException, InterruptedException {
+		ByteBuffer packet = ByteBuffer.allocate(CoopProtocol.MAX_PACKET_BYTES);
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		while (channel.receive(packet) == null) {
+			if (System.currentTimeMillis() > deadline) {
+				return null;
+			}
+			Thread.sleep(1);
+		}
+		return packet.flip();
+	}
+}
@@ -0,0 +1,40 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Feeds the frame budget monitor steady frame intervals and checks when it reports a crossing.
+ */
+class FrameBudgetMonitorTest {
+
+	private static final long MILLIS = 1_000_000L;
+
+	@Test
+	void judgesTheWholePulseRatherThanTheLoopsWork() {
+		GameWorld world = new WaveWorld(LevelDefinition.load("LevelOne"), GameWorld.SCREEN_HEIGHT, GameWorld.SCREEN_WIDTH, 1);
+		FrameBudgetMonitor monitor = new FrameBudgetMonitor();
+		monitor.recordFrame(-1, 0, world, 0); // First frame: no interval yet
+		feed(monitor, world, 16_700_000L, 2 * MILLIS); // Keeping up with a 60 Hz display
+		assertEquals(0, monitor.getBudgetsCrossed());
+		feed(monitor, world, 25 * MILLIS, 2 * MILLIS); // The scene graph, not the loop, is slow
+		assertEquals(1, monitor.getBudgetsCrossed());
+		feed(monitor, world, 50 * MILLIS, 3 * MILLIS);
+		assertEquals(2, monitor.getBudgetsCrossed());
+	}
+
+	/**
+	 * Records a window's worth of identical frames, and a few more.
+	 *
+	 * @param monitor  the monitor.
+	 * @param world    the world reported on a crossing.
+	 * @param interval the time between frames.
+	 * @param work     the game loop's work per frame.
+	 */
+	private static void feed(FrameBudgetMonitor monitor, GameWorld world, long interval, long work) {
+		for (int i = 0; i < 40; i++) {
+			monitor.recordFrame(interval, work, world, 0);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compiles level files and reads them back through {@link LevelDefinition}.
+ */
+class LevelCompilerTest {
+
+	@Test
+	void readsBackEveryKindOfWave() throws IOException {
+		Path dir = Files.createTempDirectory("levels");
+		Files.writeString(dir.resolve("Only.level"), String.join("\n",
+				"# One of each wave",
+				"background background1.jpg",
+				"player-health 5",
+				"wave planes max-enemies=5 spawn-interval=150 kills=10",
+				"wave boss",
+				"wave ramp start-enemies=10 max-enemies=4000 ramp-seconds=240 curve=quadratic spawn-interval=2",
+				""));
+		List<String> levelIds = LevelCompiler.compile(dir, dir.resolve("out"));
+		assertEquals(List.of("Only"), levelIds);
+
+		LevelDefinition definition = read(dir.resolve("out"), "Only");
+		assertEquals("Only", definition.getId());
+		assertNull(definition.getNextLevelId());
+		assertEquals("background1.jpg", definition.getBackgroundImageName());
+		assertEquals(5, definition.getPlayerInitialHealth());
+		assertTrue(definition.hasPlanes());
+		assertTrue(definition.hasBoss());
+		assertTrue(definition.isEndless());
+		assertFalse(definition.isPlayerInvulnerable());
+		assertEquals(3, definition.getWaveCount());
+
+		LevelDefinition.WaveReader waves = definition.openWaves();
+		Wave wave = new Wave();
+		assertTrue(waves.next(wave));
+		assertEquals(Wave.Kind.PLANES, wave.getKind());
+		assertEquals(5, wave.getMaxEnemies());
+		assertEquals(150, wave.getSpawnIntervalMillis());
+		assertEquals(10, wave.getKills());
+
+		assertTrue(waves.next(wave));
+		assertEquals(Wave.Kind.BOSS, wave.getKind());
+
+		assertTrue(waves.next(wave));
+		assertEquals(Wave.Kind.RAMP, wave.getKind());
+		assertEquals(10, wave.getStartEnemies());
+		assertEquals(4000, wave.getMaxEnemies());
+		assertEquals(240_000, wave.getRampMillis());
+		assertEquals(Wave.Curve.QUADRATIC, wave.getCurve());
+		assertEquals(2, wave.getSpawnIntervalMillis());
+
+		assertFalse(waves.next(wave));
+	}
+
+	@Test
+	void ordersTheCampaignAlongItsLinks() throws IOException {
+		Path dir = Files.createTempDirectory("levels");
+		Files.writeString(dir.resolve("B.level"), "next A\nbackground b.jpg\nplayer-health 1\nwave boss\n");
+		Files.writeString(dir.resolve("A.level"), "background a.jpg\nplayer-health 1\nwave boss\n");
+		Files.writeString(dir.resolve("Stress.level"), "standalone\nbackground s.jpg\nplayer-health 1\nwave boss\n");
+		assertEquals(List.of("B", "A", "Stress"), LevelCompiler.compile(dir, dir.resolve("out")));
+		assertEquals("A", read(dir.resolve("out"), "B").getNextLevelId());
+	}
+
+	@Test
+	void namesTheFileAndLineOfABadNumber() throws IOException {
+		Path dir = Files.createTempDirectory("levels");
+		Files.writeString(dir.resolve("Bad.level"), "background a.jpg\nplayer-health 1\nwave planes max-enemies=five spawn-interval=150 kills=10\n");
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> LevelCompiler.compile(dir, dir.resolve("out")));
+		assertTrue(e.getMessage().startsWith("Bad.level:3: five"), e.getMessage());
+	}
+
+	/**
+	 * Reads a compiled level.
+	 *
+	 * @param outputDir the directory the level was compiled into.
+	 * @param levelId   the level's ID.
+	 * @return the level's definition.
+	 * @throws IOException if the file cannot be read.
+	 */
+	private static LevelDefinition read(Path outputDir, String levelId) throws IOException {
+		return new LevelDefinition(ByteBuffer.wrap(Files.readAllBytes(outputDir.resolve(levelId + LevelDefinition.LEVEL_FILE_EXTENSION))));
+	}
+}
@@ -0,0 +1,49 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that recycled projectiles go back to the pool that handed them out.
+ */
+class ProjectilePoolTest {
+
+	@Test
+	void recycledProjectileReturnsToItsOwnPool() {
+		ProjectilePools pools = new ProjectilePools();
+		UserProjectile user = UserProjectile.obtain(pools, 10, 20);
+		EnemyProjectile enemy = EnemyProjectile.obtain(pools, 30, 40);
+		BossProjectile boss = BossProjectile.obtain(pools, 50);
+		user.destroy();
+		user.recycle();
+		enemy.recycle();
+		boss.recycle();
+		assertEquals(1, pools.getUserProjectiles().getReleased());
+		assertEquals(1, pools.getEnemyProjectiles().getReleased());
+		assertEquals(1, pools.getBossProjectiles().getReleased());
+
+		UserProjectile reused = UserProjectile.obtain(pools, 60, 70);
+		assertSame(user, reused);
+		assertFalse(reused.isDestroyed());
+		assertEquals(60, reused.getLayoutX());
+		assertEquals(1, pools.getUserProjectiles().getCreated());
+	}
+
+	@Test
+	void recyclingTwiceReleasesOnce() {
+		ProjectilePools pools = new ProjectilePools();
+		UserProjectile projectile = UserProjectile.obtain(pools, 0, 0);
+		projectile.recycle();
+		projectile.recycle();
+		assertEquals(1, pools.getUserProjectiles().getReleased());
+		assertEquals(0, pools.getUserProjectiles().getInUse());
+	}
+
+	@Test
+	void projectileFromNoPoolIsLeftAlone() {
+		new UserProjectile(0, 0).recycle();
+	}
+}
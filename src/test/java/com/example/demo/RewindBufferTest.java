@@ -0,0 +1,119 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Records a world into rewind buffers and checks that every kept tick comes back exactly.
+ */
+class RewindBufferTest {
+
+	private static final int KEYFRAME_INTERVAL = 20;
+	private static final int TICKS = 400;
+
+	@Test
+	void rewindsToEveryRecordedTickExactly() {
+		RewindBuffer buffer = new RewindBuffer(1 << 22, 60, KEYFRAME_INTERVAL);
+		GameWorld world = newWorld();
+		List<byte[]> states = record(world, buffer);
+		assertEquals(0, buffer.getOldestTick());
+		for (long tick = buffer.getNewestTick(); tick >= 0; tick -= 7) {
+			assertTrue(buffer.rewindTo(tick, world));
+			assertEquals(tick, buffer.getNewestTick());
+			assertArrayEquals(states.get((int) tick), encode(world), "tick " + tick);
+		}
+	}
+
+	@Test
+	void budgetKeepsTheOldestReachableKeyframe() {
+		GameWorld world = newWorld();
+		int stateBytes = encode(world).length;
+		RewindBuffer buffer = new RewindBuffer(stateBytes * 6, 60, KEYFRAME_INTERVAL); // A few keyframes' worth
+		List<byte[]> states = record(world, buffer);
+		assertTrue(buffer.getUsedBytes() <= buffer.getBudgetBytes());
+		long oldest = buffer.getOldestTick();
+		assertTrue(oldest > 0, "nothing was dropped");
+		assertEquals(buffer.getNewestTick() - oldest + 1, buffer.getFrameCount());
+
+		// Every tick left, down to the oldest, must still decode from a keyframe that was kept
+		for (long tick = buffer.getNewestTick(); tick >= oldest; tick--) {
+			assertTrue(buffer.rewindTo(tick, world), "tick " + tick);
+			assertArrayEquals(states.get((int) tick), encode(world), "tick " + tick);
+		}
+	}
+
+	@Test
+	void durationBoundsTheFramesKept() {
+		RewindBuffer buffer = new RewindBuffer(1 << 22, 5, KEYFRAME_INTERVAL);
+		record(newWorld(), buffer);
+		assertTrue(buffer.getFrameCount() <= 5 * 1000 / GameWorld.TICK_MILLIS + 1);
+		assertEquals(TICKS, buffer.getNewestTick());
+	}
+
+	@Test
+	void refusesTicksOlderThanTheOldestKept() {
+		RewindBuffer buffer = new RewindBuffer(1 << 22, 5, KEYFRAME_INTERVAL);
+		GameWorld world = newWorld();
+		assertFalse(buffer.rewindTo(0, world));
+		record(world, buffer);
+		long oldest = buffer.getOldestTick();
+		int frames = buffer.getFrameCount();
+		byte[] before = encode(world);
+		assertFalse(buffer.rewindTo(oldest - 1, world));
+		assertArrayEquals(before, encode(world));
+		assertEquals(frames, buffer.getFrameCount());
+		assertTrue(buffer.rewindTo(oldest, world));
+	}
+
+	/**
+	 * Creates a world of the stress test level, where the player cannot die, so every tick plays.
+	 *
+	 * @return the world.
+	 */
+	private static GameWorld newWorld() {
+		return new WaveWorld(LevelDefinition.load("StressTest"), GameWorld.SCREEN_HEIGHT, GameWorld.SCREEN_WIDTH, 1);
+	}
+
+	/**
+	 * Records the world's start and then each of its ticks into a buffer, with the player flying up and down and firing.
+	 *
+	 * @param world  the world.
+	 * @param buffer the buffer.
+	 * @return the encoded state at each tick, by tick.
+	 */
+	private static List<byte[]> record(GameWorld world, RewindBuffer buffer) {
+		List<byte[]> states = new ArrayList<>();
+		states.add(encode(world));
+		buffer.record(world);
+		for (int i = 0; i < TICKS; i++) {
+			if (i % 30 == 0) {
+				world.applyInput(i % 60 == 0 ? InputControl.UP : InputControl.DOWN, true);
+			}
+			world.applyInput(InputControl.FIRE, i % 4 == 0);
+			world.tick();
+			states.add(encode(world));
+			buffer.record(world);
+		}
+		return states;
+	}
+
+	/**
+	 * Encodes a world's state.
+	 *
+	 * @param world the world.
+	 * @return the encoded state.
+	 */
+	private static byte[] encode(GameWorld world) {
+		ByteBuffer buffer = world.encodeState(ByteBuffer.allocate(4096));
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+}
@@ -0,0 +1,145 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the spatial hash broad phase finds exactly the colliding pairs the brute-force check finds.
+ */
+class SpatialHashGridTest {
+
+	private static final double WIDTH = GameWorld.SCREEN_WIDTH;
+	private static final double HEIGHT = GameWorld.SCREEN_HEIGHT;
+	private static final double CELL_SIZE = 128;
+
+	@Test
+	void reportsTheSamePairsAsBruteForce() {
+		GameRandom random = new GameRandom(42);
+		SpatialHashGrid grid = new SpatialHashGrid(WIDTH, HEIGHT, CELL_SIZE);
+		for (int round = 0; round < 50; round++) {
+			// Spread actors past every edge, so some are clamped into the border cells
+			List<ActiveActorDestructible> planes = place(random, 40, true);
+			List<ActiveActorDestructible> projectiles = place(random, 200, false);
+
+			Set<String> expected = new HashSet<>();
+			for (ActiveActorDestructible plane : planes) {
+				for (ActiveActorDestructible projectile : projectiles) {
+					if (plane.intersects(projectile)) {
+						expected.add(pair(plane, projectile));
+					}
+				}
+			}
+
+			List<String> reported = new ArrayList<>();
+			grid.build(planes);
+			grid.forEachCandidatePair(projectiles, (inserted, query) -> {
+				if (inserted.intersects(query)) {
+					reported.add(pair(inserted, query));
+				}
+			});
+			assertEquals(expected, new HashSet<>(reported), "round " + round);
+			assertEquals(reported.size(), new HashSet<>(reported).size(), "round " + round + " reported a pair twice");
+		}
+	}
+
+	@Test
+	void reportsPairSharingSeveralCellsOnce() {
+		SpatialHashGrid grid = new SpatialHashGrid(WIDTH, HEIGHT, CELL_SIZE);
+		ActiveActorDestructible plane = new EnemyPlane(CELL_SIZE - 10, CELL_SIZE - 10, new GameRandom(1)); // Straddles four cells
+		ActiveActorDestructible projectile = new UserProjectile(CELL_SIZE - 5, CELL_SIZE - 5);
+		plane.updateBounds();
+		projectile.updateBounds();
+		int[] count = new int[1];
+		grid.build(List.of(plane));
+		grid.forEachCandidatePair(List.of(projectile), (inserted, query) -> count[0]++);
+		assertEquals(1, count[0]);
+	}
+
+	@Test
+	void pairsActorsOutsideTheGrid() {
+		SpatialHashGrid grid = new SpatialHashGrid(WIDTH, HEIGHT, CELL_SIZE);
+		ActiveActorDestructible plane = new EnemyPlane(WIDTH + 300, -400, new GameRandom(1));
+		ActiveActorDestructible projectile = new UserProjectile(WIDTH + 310, -390);
+		plane.updateBounds();
+		projectile.updateBounds();
+		assertTrue(plane.intersects(projectile));
+		int[] count = new int[1];
+		grid.build(List.of(plane));
+		grid.forEachCandidatePair(List.of(projectile), (inserted, query) -> count[0]++);
+		assertEquals(1, count[0]);
+	}
+
+	@Test
+	void worldPlaysTheSameWithAndWithoutTheGrid() {
+		LevelDefinition definition = LevelDefinition.load("LevelOne");
+		for (long seed = 1; seed <= 5; seed++) {
+			GameWorld hashed = new WaveWorld(definition, HEIGHT, WIDTH, seed);
+			GameWorld bruteForce = new WaveWorld(definition, HEIGHT, WIDTH, seed);
+			hashed.setSpatialHashEnabled(true);
+			bruteForce.setSpatialHashEnabled(false);
+			InputPolicy hashedInput = new RandomInputPolicy(seed);
+			InputPolicy bruteForceInput = new RandomInputPolicy(seed);
+			while (hashed.getStatus() == GameWorld.Status.IN_PROGRESS && hashed.getTickCount() < 2000) {
+				hashedInput.applyDueInputs(hashed);
+				bruteForceInput.applyDueInputs(bruteForce);
+				hashed.tick();
+				bruteForce.tick();
+				assertArrayEquals(encode(bruteForce), encode(hashed), "seed " + seed + " tick " + hashed.getTickCount());
+			}
+			assertFalse(hashed.getStatus() == GameWorld.Status.IN_PROGRESS, "seed " + seed + " never finished");
+		}
+	}
+
+	/**
+	 * Creates actors at random positions, some of them off screen.
+	 *
+	 * @param random the random source.
+	 * @param count  the number of actors.
+	 * @param planes true for enemy planes, false for projectiles.
+	 * @return the actors, with their bounds up to date.
+	 */
+	private static List<ActiveActorDestructible> place(GameRandom random, int count, boolean planes) {
+		List<ActiveActorDestructible> actors = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			double x = random.nextDouble() * (WIDTH + 600) - 300;
+			double y = random.nextDouble() * (HEIGHT + 600) - 300;
+			ActiveActorDestructible actor = planes ? new EnemyPlane(x, y, random) : new UserProjectile(x, y);
+			actor.updateBounds();
+			actors.add(actor);
+		}
+		return actors;
+	}
+
+	/**
+	 * Names a pair of actors by identity.
+	 *
+	 * @param plane      the actor from the built list.
+	 * @param projectile the actor from the query list.
+	 * @return a key for the pair.
+	 */
+	private static String pair(ActiveActorDestructible plane, ActiveActorDestructible projectile) {
+		return System.identityHashCode(plane) + ":" + System.identityHashCode(projectile);
+	}
+
+	/**
+	 * Encodes a world's state.
+	 *
+	 * @param world the world.
+	 * @return the encoded state.
+	 */
+	private static byte[] encode(GameWorld world) {
+		ByteBuffer buffer = world.encodeState(ByteBuffer.allocate(4096));
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+}
@@ -0,0 +1,68 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the spawn timeline, on its own and as a {@link WaveWorld} moves from wave to wave.
+ */
+class SpawnSchedulerTest {
+
+	@Test
+	void takesSpawnsInTimeThenSchedulingOrder() {
+		SpawnScheduler scheduler = new SpawnScheduler();
+		scheduler.schedule(200, SpawnScheduler.EnemyType.PLANE, 1);
+		scheduler.schedule(100, SpawnScheduler.EnemyType.PLANE, 2);
+		scheduler.schedule(100, SpawnScheduler.EnemyType.BOSS, 3);
+		assertNull(scheduler.peekDue(99));
+		assertEquals(2, scheduler.poll().getY());
+		assertEquals(3, scheduler.poll().getY());
+		assertEquals(1, scheduler.poll().getY());
+		assertEquals(200, scheduler.getLastScheduledMillis());
+	}
+
+	@Test
+	void clearForgetsTheLastScheduledTime() {
+		SpawnScheduler scheduler = new SpawnScheduler();
+		scheduler.schedule(160_000, SpawnScheduler.EnemyType.PLANE, 0);
+		scheduler.clear();
+		assertTrue(scheduler.isEmpty());
+		assertEquals(0, scheduler.getLastScheduledMillis());
+	}
+
+	@Test
+	void fastWaveAfterSlowWaveKeepsSpawning() throws IOException {
+		Path dir = Files.createTempDirectory("levels");
+		Files.writeString(dir.resolve("Waves.level"), String.join("\n",
+				"background background1.jpg",
+				"player-health 5",
+				"player-invulnerable",
+				"wave planes max-enemies=1000 spawn-interval=5000 kills=1",
+				"wave planes max-enemies=1000 spawn-interval=20 kills=30000",
+				""));
+		LevelCompiler.compile(dir, dir.resolve("out"));
+		LevelDefinition definition = new LevelDefinition(ByteBuffer.wrap(Files.readAllBytes(
+				dir.resolve("out").resolve("Waves" + LevelDefinition.LEVEL_FILE_EXTENSION))));
+		GameWorld world = new WaveWorld(definition, GameWorld.SCREEN_HEIGHT, GameWorld.SCREEN_WIDTH, 1);
+		world.tick();
+		world.getUser().incrementKillCount(); // Clears the slow wave long before its planned spawns run out
+		world.tick();
+
+		// The fast wave's first batch of spawns lasts well under a second; its refills must follow straight on
+		int spawned = 0;
+		for (int tick = 0; tick < 3000 / GameWorld.TICK_MILLIS; tick++) {
+			int before = world.getEnemyUnits().size();
+			world.tick();
+			spawned += Math.max(0, world.getEnemyUnits().size() - before);
+		}
+		assertTrue(spawned > 64, "only " + spawned + " planes spawned in three seconds");
+	}
+}
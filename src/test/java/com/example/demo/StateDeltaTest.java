@@ -0,0 +1,94 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round-trips states through the XOR delta codec.
+ */
+class StateDeltaTest {
+
+	@Test
+	void roundTripsStatesOfEveryLength() {
+		GameRandom random = new GameRandom(3);
+		byte[] base = randomBytes(random, 500);
+		for (int length : new int[] {0, 1, 37, 499, 500, 501, 800}) {
+			byte[] state = Arrays.copyOf(base, length);
+			for (int i = 0; i < length; i += 1 + random.nextInt(40)) {
+				state[i] = (byte) random.nextInt(256); // A scattering of changed bytes
+			}
+			assertArrayEquals(state, roundTrip(base, state), "length " + length);
+		}
+	}
+
+	@Test
+	void unchangedStateTakesAFewBytes() {
+		byte[] state = randomBytes(new GameRandom(4), 1000);
+		byte[] out = new byte[1000];
+		int length = StateDelta.encode(state, state.length, state, state.length, out, 0, out.length);
+		assertTrue(length > 0 && length <= 5, "delta of " + length + " bytes");
+		assertEquals(state.length, StateDelta.readLength(out, 0, length));
+	}
+
+	@Test
+	void givesUpPastTheMaximumLength() {
+		GameRandom random = new GameRandom(5);
+		byte[] base = randomBytes(random, 200);
+		byte[] state = randomBytes(random, 200);
+		assertEquals(-1, StateDelta.encode(base, base.length, state, state.length, new byte[200], 0, 199));
+	}
+
+	@Test
+	void rejectsMalformedDeltas() {
+		GameRandom random = new GameRandom(6);
+		byte[] base = randomBytes(random, 300);
+		byte[] state = randomBytes(random, 300);
+		byte[] delta = new byte[400];
+		int deltaLength = StateDelta.encode(base, base.length, state, state.length, delta, 0, delta.length);
+		assertThrows(IllegalArgumentException.class,
+				() -> StateDelta.apply(delta, 0, deltaLength - 1, base.clone(), base.length)); // Cut short
+		assertThrows(IllegalArgumentException.class,
+				() -> StateDelta.apply(delta, 0, deltaLength, new byte[200], 200)); // No room for the new state
+		byte[] endless = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 1};
+		assertThrows(IllegalArgumentException.class, () -> StateDelta.readLength(endless, 0, endless.length));
+		byte[] overrun = {10, 4, 20, 1, 2, 3}; // Skips 4 bytes, then claims 20 changed ones of a 10-byte state
+		assertThrows(IllegalArgumentException.class, () -> StateDelta.apply(overrun, 0, overrun.length, new byte[10], 10));
+	}
+
+	/**
+	 * Encodes the change from a base to a state and applies it to a copy of the base.
+	 *
+	 * @param base  the base state.
+	 * @param state the new state.
+	 * @return the state the delta produced.
+	 */
+	private static byte[] roundTrip(byte[] base, byte[] state) {
+		byte[] delta = new byte[state.length * 3 + 16];
+		int deltaLength = StateDelta.encode(base, base.length, state, state.length, delta, 7, delta.length - 7);
+		assertTrue(deltaLength > 0);
+		byte[] decoded = Arrays.copyOf(base, Math.max(base.length, StateDelta.readLength(delta, 7, deltaLength)));
+		int length = StateDelta.apply(delta, 7, deltaLength, decoded, base.length);
+		return Arrays.copyOf(decoded, length);
+	}
+
+	/**
+	 * Fills an array with random bytes.
+	 *
+	 * @param random the random source.
+	 * @param length the array length.
+	 * @return the array.
+	 */
+	private static byte[] randomBytes(GameRandom random, int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) random.nextInt(256);
+		}
+		return bytes;
+	}
+}
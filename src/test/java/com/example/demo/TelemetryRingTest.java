@@ -0,0 +1,62 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Publishes events into a telemetry ring and drains them back out.
+ */
+class TelemetryRingTest {
+
+	@Test
+	void drainsEventsInOrderAcrossTheWrap() {
+		TelemetryRing ring = new TelemetryRing(8);
+		ByteBuffer out = ByteBuffer.allocate(3 * TelemetryRing.RECORD_BYTES); // Room for three events a drain
+		int next = 0;
+		for (int round = 0; round < 10; round++) {
+			ring.setTick(round);
+			for (int i = 0; i < 5; i++) {
+				assertTrue(ring.publish(TelemetryRing.Event.KILL, TelemetryRing.SOURCE_ENEMY, round * 5 + i));
+			}
+			while (ring.getPendingCount() > 0) {
+				out.clear();
+				int count = ring.drainTo(out);
+				assertEquals(count * TelemetryRing.RECORD_BYTES, out.position());
+				out.flip();
+				for (int i = 0; i < count; i++) {
+					out.getLong(); // Time
+					assertEquals(round, out.getLong());
+					assertEquals(TelemetryRing.Event.KILL.ordinal(), out.get());
+					assertEquals(TelemetryRing.SOURCE_ENEMY, out.get());
+					assertEquals(next++, out.getInt());
+				}
+			}
+		}
+		assertEquals(50, next);
+		assertEquals(0, ring.getDroppedCount());
+	}
+
+	@Test
+	void dropsEventsWhenFull() {
+		TelemetryRing ring = new TelemetryRing(4);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(ring.publish(TelemetryRing.Event.DAMAGE, TelemetryRing.SOURCE_USER, i));
+		}
+		assertFalse(ring.publish(TelemetryRing.Event.DAMAGE, TelemetryRing.SOURCE_USER, 4));
+		assertEquals(1, ring.getDroppedCount());
+		assertEquals(4, ring.drainTo(ByteBuffer.allocate(64 * TelemetryRing.RECORD_BYTES)));
+		assertTrue(ring.publish(TelemetryRing.Event.DAMAGE, TelemetryRing.SOURCE_USER, 5));
+	}
+
+	@Test
+	void rejectsCapacitiesThatAreNotPowersOfTwo() {
+		assertThrows(IllegalArgumentException.class, () -> new TelemetryRing(0));
+		assertThrows(IllegalArgumentException.class, () -> new TelemetryRing(12));
+	}
+}
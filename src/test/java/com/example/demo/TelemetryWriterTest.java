@@ -0,0 +1,69 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Writes events through a telemetry writer with a small file size limit and reads the rolled files back.
+ */
+class TelemetryWriterTest {
+
+	private static final int MAGIC = 0x534B5954; // "SKYT"
+	private static final int HEADER_BYTES = 21;
+	private static final int EVENTS_PER_FILE = 10;
+	private static final int EVENTS = 100;
+	private static final int BATCH = 4; // Events published between drains, so files fill up across several of them
+	private static final long WAIT_MILLIS = 2000;
+
+	@Test
+	void rollsOverWithoutLosingEvents() throws IOException, InterruptedException {
+		Path directory = Files.createTempDirectory("telemetry");
+		TelemetryRing ring = new TelemetryRing(64);
+		TelemetryWriter writer = new TelemetryWriter(ring, directory,
+				HEADER_BYTES + EVENTS_PER_FILE * TelemetryRing.RECORD_BYTES, EVENTS);
+		for (int i = 0; i < EVENTS; i++) {
+			ring.publish(TelemetryRing.Event.KILL, TelemetryRing.SOURCE_ENEMY, i);
+			if (i % BATCH == BATCH - 1) {
+				awaitDrained(ring);
+			}
+		}
+		writer.close();
+
+		int next = 0;
+		int files = 0;
+		for (long number = 1; Files.exists(directory.resolve("telemetry-" + number + ".skylog")); number++) {
+			ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("telemetry-" + number + ".skylog")));
+			assertEquals(MAGIC, in.getInt(), "file " + number);
+			in.position(HEADER_BYTES);
+			assertEquals(0, in.remaining() % TelemetryRing.RECORD_BYTES, "file " + number);
+			assertTrue(in.hasRemaining(), "file " + number + " holds events");
+			while (in.hasRemaining()) {
+				in.position(in.position() + TelemetryRing.RECORD_BYTES - Integer.BYTES);
+				assertEquals(next++, in.getInt(), "file " + number);
+			}
+			files++;
+		}
+		assertEquals(EVENTS, next);
+		assertTrue(files >= EVENTS / EVENTS_PER_FILE, files + " files");
+	}
+
+	/**
+	 * Waits for the writer to drain every published event.
+	 *
+	 * @param ring the writer's ring.
+	 * @throws InterruptedException if interrupted while waiting.
+	 */
+	private static void awaitDrained(TelemetryRing ring) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+		while (ring.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+		}
+	}
+}
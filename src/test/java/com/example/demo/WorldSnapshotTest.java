@@ -0,0 +1,144 @@
+package main.java.com.example.demo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a snapshot restores a world exactly, and that the restored world plays on as the original did.
+ */
+class WorldSnapshotTest {
+
+	private static final int TICKS_BEFORE = 200;
+	private static final int TICKS_AFTER = 300;
+
+	@Test
+	void restoredStateIsByteIdentical() throws IOException {
+		GameWorld original = play(1, TICKS_BEFORE);
+		WorldSnapshot snapshot = WorldSnapshot.capture(original);
+
+		GameWorld copy = newWorld(2);
+		snapshot.restore(copy);
+		assertArrayEquals(encode(original), encode(copy));
+
+		Path file = Files.createTempFile("snapshot", ".skysave");
+		snapshot.write(file);
+		GameWorld fromFile = newWorld(3);
+		WorldSnapshot.read(file).restore(fromFile);
+		assertArrayEquals(encode(original), encode(fromFile));
+	}
+
+	@Test
+	void restoredWorldPlaysOnAsTheOriginal() {
+		GameWorld original = play(1, TICKS_BEFORE);
+		WorldSnapshot snapshot = WorldSnapshot.capture(original);
+		List<byte[]> expected = new ArrayList<>();
+		for (int i = 0; i < TICKS_AFTER; i++) {
+			step(original);
+			expected.add(encode(original));
+		}
+
+		GameWorld fresh = newWorld(2);
+		snapshot.restore(fresh);
+		snapshot.restore(original); // Back in time, in place
+		for (int i = 0; i < TICKS_AFTER; i++) {
+			step(fresh);
+			step(original);
+			assertArrayEquals(expected.get(i), encode(fresh), "fresh world, tick " + fresh.getTickCount());
+			assertArrayEquals(expected.get(i), encode(original), "original world, tick " + original.getTickCount());
+		}
+	}
+
+	@Test
+	void rejectsSnapshotOfAnotherLevel() {
+		WorldSnapshot snapshot = WorldSnapshot.capture(newWorld(1));
+		GameWorld other = new WaveWorld(LevelDefinition.load("LevelTwo"), GameWorld.SCREEN_HEIGHT, GameWorld.SCREEN_WIDTH, 1);
+		byte[] before = encode(other);
+		assertThrows(IllegalArgumentException.class, () -> snapshot.restore(other));
+		assertArrayEquals(before, encode(other));
+	}
+
+	@Test
+	void corruptFileLeavesTheWorldAsItWas() throws IOException {
+		Path file = Files.createTempFile("snapshot", ".skysave");
+		WorldSnapshot.capture(play(1, TICKS_BEFORE)).write(file);
+		byte[] data = Files.readAllBytes(file);
+		GameWorld world = play(2, TICKS_BEFORE / 2);
+		byte[] before = encode(world);
+
+		Files.write(file, Arrays.copyOf(data, data.length * 2 / 3)); // Cut off among the actors
+		WorldSnapshot truncated = WorldSnapshot.read(file);
+		assertThrows(IllegalArgumentException.class, () -> truncated.restore(world));
+		assertArrayEquals(before, encode(world));
+
+		byte[] damaged = data.clone();
+		Arrays.fill(damaged, damaged.length / 2, damaged.length, (byte) 0x7F); // Out-of-range counts and ordinals
+		Files.write(file, damaged);
+		WorldSnapshot garbage = WorldSnapshot.read(file);
+		assertThrows(IllegalArgumentException.class, () -> garbage.restore(world));
+		assertArrayEquals(before, encode(world));
+	}
+
+	/**
+	 * Creates a world of the first level.
+	 *
+	 * @param seed the world's seed.
+	 * @return the world.
+	 */
+	private static GameWorld newWorld(long seed) {
+		return new WaveWorld(LevelDefinition.load("LevelOne"), GameWorld.SCREEN_HEIGHT, GameWorld.SCREEN_WIDTH, seed);
+	}
+
+	/**
+	 * Plays a world of the first level for some ticks.
+	 *
+	 * @param seed  the world's seed.
+	 * @param ticks the number of ticks.
+	 * @return the world.
+	 */
+	private static GameWorld play(long seed, int ticks) {
+		GameWorld world = newWorld(seed);
+		for (int i = 0; i < ticks; i++) {
+			step(world);
+		}
+		return world;
+	}
+
+	/**
+	 * Plays one tick with input that depends only on the tick count, so worlds in the same state get the same input.
+	 *
+	 * @param world the world.
+	 */
+	private static void step(GameWorld world) {
+		long tick = world.getTickCount();
+		if (tick % 40 == 0) {
+			world.applyInput(tick % 80 == 0 ? InputControl.UP : InputControl.DOWN, true);
+		} else if (tick % 40 == 20) {
+			world.applyInput(tick % 80 == 20 ? InputControl.UP : InputControl.DOWN, false);
+		}
+		if (tick % 3 == 0) {
+			world.applyInput(InputControl.FIRE, true);
+		}
+		world.tick();
+	}
+
+	/**
+	 * Encodes a world's state.
+	 *
+	 * @param world the world.
+	 * @return the encoded state.
+	 */
+	private static byte[] encode(GameWorld world) {
+		ByteBuffer buffer = world.encodeState(ByteBuffer.allocate(4096));
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+}